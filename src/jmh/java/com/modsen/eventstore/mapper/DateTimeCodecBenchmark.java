@@ -0,0 +1,73 @@
+package com.modsen.eventstore.mapper;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateTimeCodecBenchmark {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(EventMapper.DATE_FORMAT);
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern(EventMapper.TIME_FORMAT);
+
+    private final LocalDate date = LocalDate.of(2022, 12, 31);
+    private final LocalTime time = LocalTime.of(23, 59);
+    private final String dateString = "31.12.2022";
+    private final String timeString = "23:59";
+
+    @Benchmark
+    public String formatDatePerCallFormatter() {
+        return date.format(DateTimeFormatter.ofPattern(EventMapper.DATE_FORMAT));
+    }
+
+    @Benchmark
+    public String formatDateCachedFormatter() {
+        return DATE_FORMATTER.format(date);
+    }
+
+    @Benchmark
+    public String formatDateCodec() {
+        return DateTimeCodec.formatDate(date);
+    }
+
+    @Benchmark
+    public LocalDate parseDateCachedFormatter() {
+        return LocalDate.parse(dateString, DATE_FORMATTER);
+    }
+
+    @Benchmark
+    public LocalDate parseDateCodec() {
+        return DateTimeCodec.parseDate(dateString);
+    }
+
+    @Benchmark
+    public String formatTimePerCallFormatter() {
+        return time.format(DateTimeFormatter.ofPattern(EventMapper.TIME_FORMAT));
+    }
+
+    @Benchmark
+    public String formatTimeCodec() {
+        return DateTimeCodec.formatTime(time);
+    }
+
+    @Benchmark
+    public LocalTime parseTimeRegexAndPerCallFormatter() {
+        return timeString.matches("^\\d{2}:\\d{2}$")
+                ? LocalTime.parse(timeString, DateTimeFormatter.ofPattern(EventMapper.TIME_FORMAT))
+                : null;
+    }
+
+    @Benchmark
+    public LocalTime parseTimeCodec() {
+        return DateTimeCodec.parseTime(timeString);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.modsen.eventstore.mapper;
+
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventCriteriaMapperBenchmark {
+
+    private final EventCriteriaMapper mapper = new EventCriteriaMapperImpl();
+
+    private final List<EventCriteriaField> filteredFields = List.of(
+            EventCriteriaField.SUBJECT, EventCriteriaField.PLANNER, EventCriteriaField.DATE, EventCriteriaField.TIME
+    );
+    private final List<String> filteredValues = List.of("Subject", "Full Name", "01.01.2222", "10:00");
+    private final List<EventCriteriaField> sortedFields = List.of(EventCriteriaField.DATE, EventCriteriaField.TIME);
+    private final List<SortingDirection> sortedDirections = List.of(SortingDirection.ASC, SortingDirection.DESC);
+
+
+    @Benchmark
+    public List<EventFilterCriteria> mapToListFilterCriteria() {
+        return mapper.mapToListFilterCriteria(filteredFields, filteredValues);
+    }
+
+    @Benchmark
+    public List<EventSortingCriteria> mapToListSortingCriteria() {
+        return mapper.mapToListSortingCriteria(sortedFields, sortedDirections);
+    }
+
+    @Benchmark
+    public PaginationCriteria mapToPaginationCriteria() {
+        return mapper.mapToPaginationCriteria(2, 20, null);
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.modsen.eventstore.mapper;
+
+import com.modsen.eventstore.dto.event.EventResponse;
+import com.modsen.eventstore.model.Event;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventMapperBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private final EventMapper mapper = new EventMapperImpl();
+    private List<Event> events;
+    private int cursor;
+
+
+    @Setup
+    public void setUp() {
+        events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            events.add(new Event((long) i + 1, "Subject " + i, "Description " + i, "Full Name " + (i % 100),
+                    LocalDate.of(2000, 1, 1).plusDays(i % 3650), LocalTime.of(i % 24, i % 60), "Venue " + (i % 10)));
+        }
+    }
+
+    @Benchmark
+    public EventResponse entityToResponseDto() {
+        cursor = cursor + 1 == size ? 0 : cursor + 1;
+        return mapper.entityToResponseDto(events.get(cursor));
+    }
+
+    @Benchmark
+    public void entityListToResponseDtoList(Blackhole blackhole) {
+        blackhole.consume(mapper.entityListToResponseDtoList(events));
+    }
+
+}
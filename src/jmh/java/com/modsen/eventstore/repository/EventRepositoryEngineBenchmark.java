@@ -0,0 +1,114 @@
+package com.modsen.eventstore.repository;
+
+import com.modsen.eventstore.EventStoreApplication;
+import com.modsen.eventstore.containers.PostgresTestContainer;
+import com.modsen.eventstore.dto.criteria.FilterOperator;
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventCursor;
+import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.model.Event;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventRepositoryEngineBenchmark {
+
+    private static final int EVENT_COUNT = 10000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"jpa", "file"})
+    private String engine;
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private Path directory;
+    private long id;
+    private EventCriteria filteredCriteria;
+    private EventCriteria cursorCriteria;
+
+    @Setup
+    public void setUp() throws IOException {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(EventStoreApplication.class)
+                .web(WebApplicationType.NONE);
+
+        List<String> args = new ArrayList<>();
+        if (engine.equals("file")) {
+            directory = Files.createTempDirectory("event-store");
+            builder.profiles("test", "file-store");
+            // Default properties lose to application.yaml, the directory has to come as an argument.
+            args.add("--file-store.directory=" + directory);
+        } else {
+            PostgresTestContainer.getInstance().start();
+            builder.profiles("test");
+        }
+        context = builder.run(args.toArray(new String[0]));
+        eventRepository = context.getBean(EventRepository.class);
+
+        List<Event> events = new ArrayList<>(EVENT_COUNT);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            events.add(new Event(null, "Subject " + i, "Description " + i, "Full Name " + (i % 100),
+                    LocalDate.of(2100, 1, 1).plusDays(i % 3650), LocalTime.of(i % 24, i % 60), "Venue " + (i % 10)));
+        }
+        List<Event> saved = eventRepository.saveAll(events);
+        id = saved.get(EVENT_COUNT / 2).getId();
+
+        List<EventSortingCriteria> sort = List.of(new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.ASC));
+        filteredCriteria = EventCriteria.of(
+                sort,
+                List.of(new EventFilterCriteria(EventCriteriaField.PLANNER, "Full Name 7"),
+                        new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.GTE, "01.01.2105")),
+                new PaginationCriteria(1, PAGE_SIZE)
+        );
+
+        List<Event> firstPage = eventRepository.findAll(EventCriteria.of(sort, null, new PaginationCriteria(1, PAGE_SIZE * 10)));
+        String cursor = EventCursor.of(firstPage.get(firstPage.size() - 1), sort).toToken();
+        cursorCriteria = EventCriteria.of(sort, null, PaginationCriteria.builder().size(PAGE_SIZE).cursor(cursor).build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        if (Objects.nonNull(directory)) {
+            FileSystemUtils.deleteRecursively(directory.toFile());
+        }
+    }
+
+    @Benchmark
+    public Optional<Event> findById() {
+        return eventRepository.findById(id);
+    }
+
+    @Benchmark
+    public List<Event> findFilteredPage() {
+        return eventRepository.findAll(filteredCriteria);
+    }
+
+    @Benchmark
+    public List<Event> findCursorPage() {
+        return eventRepository.findAll(cursorCriteria);
+    }
+
+}
\ No newline at end of file
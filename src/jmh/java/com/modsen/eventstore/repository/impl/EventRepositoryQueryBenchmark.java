@@ -0,0 +1,88 @@
+package com.modsen.eventstore.repository.impl;
+
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventCursor;
+import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.model.Event;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQL10Dialect;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventRepositoryQueryBenchmark {
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private EventRepositoryImpl repository;
+
+    private final List<EventSortingCriteria> sort = List.of(
+            new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.ASC),
+            new EventSortingCriteria(EventCriteriaField.TIME, SortingDirection.ASC)
+    );
+    private final List<EventFilterCriteria> filter = List.of(
+            new EventFilterCriteria(EventCriteriaField.PLANNER, "Full Name"),
+            new EventFilterCriteria(EventCriteriaField.DATE, "01.01.2222")
+    );
+    private final EventCriteria filterCriteria = EventCriteria.of(null, filter, null);
+    private final EventCriteria pageCriteria = EventCriteria.of(sort, filter, new PaginationCriteria(3, 20));
+    private final EventCriteria cursorCriteria = EventCriteria.of(sort, filter, PaginationCriteria.builder()
+            .size(20)
+            .cursor(EventCursor.of(List.of("2222-01-01", "10:00"), 42L).toToken())
+            .build());
+
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new MetadataSources(new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, PostgreSQL10Dialect.class.getName())
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", false)
+                .build())
+                .addAnnotatedClass(Event.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+        // Building queries never reads the archive.
+        repository = new EventRepositoryImpl(null);
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public TypedQuery<Event> createFilterQuery() {
+        return repository.createQuery(filterCriteria);
+    }
+
+    @Benchmark
+    public TypedQuery<Event> createPageQuery() {
+        return repository.createQuery(pageCriteria);
+    }
+
+    @Benchmark
+    public TypedQuery<Event> createCursorQuery() {
+        return repository.createQuery(cursorCriteria);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.modsen.eventstore.service;
+
+import com.modsen.eventstore.EventStoreApplication;
+import com.modsen.eventstore.containers.PostgresTestContainer;
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.dto.event.EventResponse;
+import com.modsen.eventstore.dto.event.EventView;
+import com.modsen.eventstore.mapper.EventMapper;
+import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.repository.EventRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventListingBenchmark {
+
+    private static final int EVENT_COUNT = 10000;
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private EventMapper eventMapper;
+    private EventCriteria criteria;
+
+
+    @Setup
+    public void setUp() {
+        PostgresTestContainer.getInstance().start();
+        context = new SpringApplicationBuilder(EventStoreApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+        eventService = context.getBean(EventService.class);
+        eventMapper = context.getBean(EventMapper.class);
+
+        List<Event> events = new ArrayList<>(EVENT_COUNT);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            events.add(new Event(null, "Subject " + i, "Description " + i, "Full Name " + (i % 100),
+                    LocalDate.of(2100, 1, 1).plusDays(i % 3650), LocalTime.of(i % 24, i % 60), "Venue " + (i % 10)));
+        }
+        context.getBean(EventRepository.class).saveAll(events);
+
+        criteria = EventCriteria.of(
+                List.of(new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.ASC)),
+                null,
+                new PaginationCriteria(1, pageSize)
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EventResponse> readEntitiesAndMap() {
+        return eventMapper.entityListToResponseDtoList(eventService.readAll(criteria));
+    }
+
+    @Benchmark
+    public List<EventView> readProjections() {
+        return eventService.readAllProjections(criteria);
+    }
+
+}
\ No newline at end of file
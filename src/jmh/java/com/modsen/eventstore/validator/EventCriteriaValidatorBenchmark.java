@@ -0,0 +1,66 @@
+package com.modsen.eventstore.validator;
+
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventCriteriaValidatorBenchmark {
+
+    private final EventCriteriaValidator eventCriteriaValidator = new EventCriteriaValidator();
+
+    private final EventCriteria criteria = EventCriteria.of(
+            List.of(new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.ASC)),
+            List.of(
+                    new EventFilterCriteria(EventCriteriaField.SUBJECT, "Subject"),
+                    new EventFilterCriteria(EventCriteriaField.PLANNER, "Full Name"),
+                    new EventFilterCriteria(EventCriteriaField.DATE, "01.01.2222"),
+                    new EventFilterCriteria(EventCriteriaField.TIME, "10:00")
+            ),
+            new PaginationCriteria(1, 10)
+    );
+
+    private ValidatorFactory validatorFactory;
+    private Validator beanValidator;
+
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EventCriteria>> beanValidation() {
+        return beanValidator.validate(criteria);
+    }
+
+    @Benchmark
+    public Optional<String> eventCriteriaValidator() {
+        return eventCriteriaValidator.findViolations(criteria);
+    }
+
+}
\ No newline at end of file
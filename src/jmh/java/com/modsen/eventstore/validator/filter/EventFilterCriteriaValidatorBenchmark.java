@@ -0,0 +1,39 @@
+package com.modsen.eventstore.validator.filter;
+
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventFilterCriteriaValidatorBenchmark {
+
+    private final EventFilterCriteriaValidator validator = new EventFilterCriteriaValidator();
+
+    private final List<EventFilterCriteria> criteria = List.of(
+            new EventFilterCriteria(EventCriteriaField.SUBJECT, "Subject"),
+            new EventFilterCriteria(EventCriteriaField.PLANNER, "Full Name"),
+            new EventFilterCriteria(EventCriteriaField.DATE, "01.01.2222"),
+            new EventFilterCriteria(EventCriteriaField.TIME, "10:00")
+    );
+
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        validator.initialize(EventCriteria.class.getDeclaredField("filter").getAnnotation(EventFilterList.class));
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(criteria, null);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.modsen.eventstore.config;
+
+import com.modsen.eventstore.model.Event;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "hibernate.cache.enabled", havingValue = "true")
+public class CacheConfig {
+
+    private static final String ENTITY_REGION = Event.class.getName();
+    private static final String QUERY_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    private static final String TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Value("${hibernate.cache.entity.max-entries}")
+    private long entityMaxEntries;
+
+    @Value("${hibernate.cache.entity.time-to-live}")
+    private Duration entityTimeToLive;
+
+    @Value("${hibernate.cache.query.max-entries}")
+    private long queryMaxEntries;
+
+    @Value("${hibernate.cache.query.time-to-live}")
+    private Duration queryTimeToLive;
+
+    @Value("${hibernate.cache.timestamps.max-entries}")
+    private long timestampsMaxEntries;
+
+
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        EhcacheCachingProvider cachingProvider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = cachingProvider.getCacheManager(
+                URI.create("urn:event-store-hibernate"), new DefaultConfiguration(getClass().getClassLoader())
+        );
+
+        createCache(cacheManager, ENTITY_REGION, entityMaxEntries, entityTimeToLive);
+        createCache(cacheManager, QUERY_REGION, queryMaxEntries, queryTimeToLive);
+        // Update timestamps drive query cache invalidation, so they must outlive every cached query result.
+        createCache(cacheManager, TIMESTAMPS_REGION, timestampsMaxEntries, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> List.of(ENTITY_REGION, QUERY_REGION, TIMESTAMPS_REGION)
+                .forEach(region -> JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region)));
+    }
+
+    private void createCache(CacheManager cacheManager, String region, long maxEntries, Duration timeToLive) {
+        CacheConfigurationBuilder<Object, Object> configuration = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(timeToLive == null
+                        ? ExpiryPolicyBuilder.noExpiration()
+                        : ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive));
+
+        if (cacheManager.getCache(region) == null) {
+            cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(configuration));
+        }
+        cacheManager.enableStatistics(region, true);
+    }
+
+}
\ No newline at end of file
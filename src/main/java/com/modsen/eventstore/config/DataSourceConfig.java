@@ -0,0 +1,134 @@
+package com.modsen.eventstore.config;
+
+import com.modsen.eventstore.datasource.ReadYourWritesFilter;
+import com.modsen.eventstore.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Configuration
+@Profile("!file-store")
+public class DataSourceConfig {
+
+    @Value("${postgres.driver-class-name}")
+    private String driverClassName;
+
+    @Value("${postgres.url}")
+    private String dbUrl;
+
+    @Value("${postgres.username}")
+    private String dbUsername;
+
+    @Value("${postgres.password}")
+    private String dbPassword;
+
+    @Value("${postgres.pool.name}")
+    private String poolName;
+
+    @Value("${postgres.pool.maximum-pool-size}")
+    private int maximumPoolSize;
+
+    @Value("${postgres.pool.minimum-idle}")
+    private int minimumIdle;
+
+    @Value("${postgres.pool.connection-timeout}")
+    private long connectionTimeout;
+
+    @Value("${postgres.pool.idle-timeout}")
+    private long idleTimeout;
+
+    @Value("${postgres.pool.max-lifetime}")
+    private long maxLifetime;
+
+    @Value("${postgres.pool.leak-detection-threshold}")
+    private long leakDetectionThreshold;
+
+    @Value("${postgres.pool.prepare-threshold}")
+    private int prepareThreshold;
+
+    @Value("${postgres.pool.prepared-statement-cache-queries}")
+    private int preparedStatementCacheQueries;
+
+    @Value("${postgres.pool.prepared-statement-cache-size-mib}")
+    private int preparedStatementCacheSizeMib;
+
+    @Value("${postgres.replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${postgres.replicas.ejection-period:30s}")
+    private Duration replicaEjectionPeriod;
+
+    @Bean
+    public DataSource dataSource(ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = createPool(dbUrl, poolName);
+        List<String> urls = replicaUrls.stream()
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toList());
+        if (urls.isEmpty()) {
+            return primary;
+        }
+
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = createPool(urls.get(i).trim(), poolName + "-replica-" + i);
+            replica.setReadOnly(true);
+            // A replica that is down at startup is ejected by the routing data source instead of failing the context.
+            replica.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(replica);
+        }
+
+        // The lazy proxy defers fetching a physical connection until the first statement, when the read-only flag
+        // of the transaction is already known to the routing data source.
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replicas, replicaEjectionPeriod)
+        );
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "postgres.replicas.read-your-writes.enabled", havingValue = "true")
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${postgres.replicas.read-your-writes.window}") Duration window) {
+        return new ReadYourWritesFilter(window);
+    }
+
+    private HikariDataSource createPool(String url, String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setDriverClassName(driverClassName);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(dbUsername);
+        dataSource.setPassword(dbPassword);
+
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(minimumIdle);
+        dataSource.setConnectionTimeout(connectionTimeout);
+        dataSource.setIdleTimeout(idleTimeout);
+        dataSource.setMaxLifetime(maxLifetime);
+        dataSource.setLeakDetectionThreshold(leakDetectionThreshold);
+
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        dataSource.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        dataSource.addDataSourceProperty("preparedStatementCacheQueries", preparedStatementCacheQueries);
+        dataSource.addDataSourceProperty("preparedStatementCacheSizeMiB", preparedStatementCacheSizeMib);
+        return dataSource;
+    }
+
+}
\ No newline at end of file
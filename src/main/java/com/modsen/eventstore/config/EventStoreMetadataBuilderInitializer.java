@@ -0,0 +1,28 @@
+package com.modsen.eventstore.config;
+
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.spi.MetadataBuilderInitializer;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+// Registers the SQL functions the event queries call through the criteria builder on every metadata build, so the
+// stock PostgreSQL dialect is used as it is. The session factory is built natively, which does not read the JPA-only
+// metadata builder contributor setting, so the initializer is picked up as a service from META-INF/services.
+public class EventStoreMetadataBuilderInitializer implements MetadataBuilderInitializer {
+
+    public static final String FULL_TEXT_MATCH_FUNCTION = "fts_match";
+    public static final String FULL_TEXT_RANK_FUNCTION = "fts_rank";
+    public static final String WINDOW_COUNT_FUNCTION = "count_over";
+
+    @Override
+    public void contribute(MetadataBuilder metadataBuilder, StandardServiceRegistry serviceRegistry) {
+        metadataBuilder.applySqlFunction(FULL_TEXT_MATCH_FUNCTION, new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN,
+                "(?1 @@ websearch_to_tsquery('simple', ?2))"));
+        metadataBuilder.applySqlFunction(FULL_TEXT_RANK_FUNCTION, new SQLFunctionTemplate(StandardBasicTypes.DOUBLE,
+                "ts_rank(?1, websearch_to_tsquery('simple', ?2))"));
+        metadataBuilder.applySqlFunction(WINDOW_COUNT_FUNCTION, new SQLFunctionTemplate(StandardBasicTypes.LONG,
+                "count(?1) over()"));
+    }
+
+}
\ No newline at end of file
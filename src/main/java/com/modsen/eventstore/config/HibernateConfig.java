@@ -1,18 +1,24 @@
 package com.modsen.eventstore.config;
 
-import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.orm.hibernate5.HibernateTransactionManager;
 import org.springframework.orm.hibernate5.LocalSessionFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import javax.cache.CacheManager;
 import javax.sql.DataSource;
+import java.util.Objects;
 import java.util.Properties;
 
 @Configuration
+@Profile("!file-store")
 @EnableTransactionManagement
 public class HibernateConfig {
 
@@ -22,50 +28,43 @@ public class HibernateConfig {
     @Value("${hibernate.dialect}")
     private String hibernateDialect;
 
-    @Value("${postgres.driver-class-name}")
-    private String driverClassName;
-
-    @Value("${postgres.url}")
-    private String dbUrl;
-
-    @Value("${postgres.username}")
-    private String dbUsername;
-
-    @Value("${postgres.password}")
-    private String dbPassword;
+    @Value("${hibernate.jdbc.batch-size}")
+    private String jdbcBatchSize;
 
 
     @Bean
-    public LocalSessionFactoryBean sessionFactory() {
+    public LocalSessionFactoryBean sessionFactory(DataSource dataSource, ObjectProvider<CacheManager> hibernateCacheManager) {
         final String packagesToScan = "com.modsen.eventstore.model";
         LocalSessionFactoryBean sessionFactory = new LocalSessionFactoryBean();
-        sessionFactory.setDataSource(dataSource());
+        sessionFactory.setDataSource(dataSource);
         sessionFactory.setPackagesToScan(packagesToScan);
-        sessionFactory.setHibernateProperties(hibernateProperties());
+        sessionFactory.setHibernateProperties(hibernateProperties(hibernateCacheManager.getIfAvailable()));
         return sessionFactory;
     }
 
     @Bean
-    public DataSource dataSource() {
-        BasicDataSource dataSource = new BasicDataSource();
-        dataSource.setDriverClassName(driverClassName);
-        dataSource.setUrl(dbUrl);
-        dataSource.setUsername(dbUsername);
-        dataSource.setPassword(dbPassword);
-        return dataSource;
-    }
-
-    @Bean
-    public PlatformTransactionManager hibernateTransactionManager() {
+    public PlatformTransactionManager hibernateTransactionManager(SessionFactory sessionFactory) {
         HibernateTransactionManager transactionManager = new HibernateTransactionManager();
-        transactionManager.setSessionFactory(sessionFactory().getObject());
+        transactionManager.setSessionFactory(sessionFactory);
         return transactionManager;
     }
 
-    private Properties hibernateProperties() {
+    private Properties hibernateProperties(CacheManager cacheManager) {
         Properties hibernateProperties = new Properties();
         hibernateProperties.setProperty("hibernate.hbm2ddl.auto", hbm2ddl);
         hibernateProperties.setProperty("hibernate.dialect", hibernateDialect);
+        hibernateProperties.setProperty("hibernate.jdbc.batch_size", jdbcBatchSize);
+        hibernateProperties.setProperty("hibernate.order_inserts", "true");
+        hibernateProperties.setProperty("hibernate.order_updates", "true");
+        hibernateProperties.setProperty("hibernate.criteria.literal_handling_mode", "bind");
+
+        if (Objects.nonNull(cacheManager)) {
+            hibernateProperties.setProperty("hibernate.cache.use_second_level_cache", "true");
+            hibernateProperties.setProperty("hibernate.cache.use_query_cache", "true");
+            hibernateProperties.setProperty("hibernate.cache.region.factory_class", ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        }
+
         return hibernateProperties;
     }
 
@@ -1,30 +1,60 @@
 package com.modsen.eventstore.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.modsen.eventstore.dto.batch.BatchError;
+import com.modsen.eventstore.dto.batch.BatchResult;
+import com.modsen.eventstore.dto.criteria.CountMode;
+import com.modsen.eventstore.dto.criteria.FilterOperator;
 import com.modsen.eventstore.dto.criteria.PaginationCriteria;
 import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventChangeToken;
 import com.modsen.eventstore.dto.criteria.event.EventCriteria;
 import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventCursor;
 import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
 import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.dto.event.EventDelta;
 import com.modsen.eventstore.dto.event.EventRequest;
 import com.modsen.eventstore.dto.event.EventResponse;
+import com.modsen.eventstore.dto.event.EventResponseField;
+import com.modsen.eventstore.dto.event.EventView;
+import com.modsen.eventstore.dto.page.PageResult;
 import com.modsen.eventstore.mapper.EventCriteriaMapper;
 import com.modsen.eventstore.mapper.EventMapper;
 import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.service.EventChangeService;
 import com.modsen.eventstore.service.EventService;
 import com.modsen.eventstore.validator.GlobalValidator;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 
 @RestController
@@ -34,10 +64,20 @@ import java.util.Objects;
 @Api(tags = "Endpoints for events")
 public class EventController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String TOTAL_COUNT_MODE_HEADER = "X-Total-Count-Mode";
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    private static final int MAX_LOOKUP_IDS = 100;
+    private static final int MAX_LOOKUP_BODY_IDS = 10000;
+
     private final EventService eventService;
+    private final EventChangeService eventChangeService;
     private final EventMapper eventMapper;
     private final EventCriteriaMapper criteriaMapper;
     private final GlobalValidator validator;
+    private final ObjectMapper objectMapper;
 
 
     @PostMapping
@@ -48,11 +88,41 @@ public class EventController {
         return eventMapper.entityToResponseDto(eventService.create(event));
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(code = HttpStatus.OK)
+    @ApiOperation(value = "Register a batch of new events")
+    public BatchResult<EventResponse> registerEvents(@RequestBody List<EventRequest> dtos) {
+        List<Integer> positions = new ArrayList<>();
+        List<BatchError> errors = new ArrayList<>();
+        List<Event> events = acceptValidDtos(dtos, eventMapper::requestDtoToEntity, positions, errors);
+
+        BatchResult<Event> result = eventService.createAll(events);
+        return toBatchResponse(eventMapper.entityListToResponseDtoList(result.getProcessed()), result, positions, errors);
+    }
+
+    @GetMapping
+    @ResponseStatus(code = HttpStatus.OK)
+    @ApiOperation(value = "Getting events by a list of ids")
+    public BatchResult<EventView> getEvents(@RequestParam @Size(max = MAX_LOOKUP_IDS) List<Long> ids) {
+        return eventService.readAllProjectionsById(ids);
+    }
+
+    @PostMapping("/lookup")
+    @ResponseStatus(code = HttpStatus.OK)
+    @ApiOperation(value = "Getting events by a large list of ids passed in the body")
+    public BatchResult<EventView> lookupEvents(@RequestBody @Size(max = MAX_LOOKUP_BODY_IDS) List<Long> ids) {
+        return eventService.readAllProjectionsById(ids);
+    }
+
     @GetMapping("/{id}")
     @ResponseStatus(code = HttpStatus.OK)
     @ApiOperation(value = "Getting a specific event by id")
-    public EventResponse getEvent(@PathVariable @NotNull @Min(1) Long id) {
-        return eventMapper.entityToResponseDto(eventService.read(id));
+    public Object getEvent(@PathVariable @NotNull @Min(1) Long id,
+                           @RequestParam(required = false) Set<EventResponseField> fields) {
+        if (Objects.isNull(fields)) {
+            return eventMapper.entityToResponseDto(eventService.read(id));
+        }
+        return withFields(eventService.readProjection(id, fields), fields);
     }
 
     @PutMapping
@@ -63,6 +133,30 @@ public class EventController {
         return eventMapper.entityToResponseDto(eventService.update(event));
     }
 
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @ResponseStatus(code = HttpStatus.NO_CONTENT)
+    @ApiOperation(value = "Changing the supplied fields of an existing event")
+    public void patchEvent(@PathVariable @NotNull @Min(1) Long id, @RequestBody Map<String, Object> patch) {
+        EventResponse dto = objectMapper.convertValue(patch, EventResponse.class);
+        validator.validateProperties(dto, patch.keySet());
+
+        Event event = eventMapper.responseDtoToEntity(dto);
+        event.setId(id);
+        eventService.patch(event, patch.keySet());
+    }
+
+    @PutMapping("/batch")
+    @ResponseStatus(code = HttpStatus.OK)
+    @ApiOperation(value = "Changing information about a batch of existing events")
+    public BatchResult<EventResponse> changeEvents(@RequestBody List<EventResponse> dtos) {
+        List<Integer> positions = new ArrayList<>();
+        List<BatchError> errors = new ArrayList<>();
+        List<Event> events = acceptValidDtos(dtos, eventMapper::responseDtoToEntity, positions, errors);
+
+        BatchResult<Event> result = eventService.updateAll(events);
+        return toBatchResponse(eventMapper.entityListToResponseDtoList(result.getProcessed()), result, positions, errors);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(code = HttpStatus.OK)
     @ApiOperation(value = "Deleting an event by id")
@@ -70,23 +164,158 @@ public class EventController {
         eventService.delete(id);
     }
 
+    @DeleteMapping("/batch")
+    @ResponseStatus(code = HttpStatus.OK)
+    @ApiOperation(value = "Deleting a batch of events by ids")
+    public BatchResult<Long> deleteEvents(@RequestBody List<Long> ids) {
+        return eventService.deleteAll(ids);
+    }
+
+    @DeleteMapping
+    @ResponseStatus(code = HttpStatus.OK)
+    @ApiOperation(value = "Deleting all events matching the filter criteria")
+    public int deleteEventsByCriteria(@RequestParam(required = false) List<EventCriteriaField> filteredFields,
+                                      @RequestParam(required = false) List<FilterOperator> filteredOperators,
+                                      @RequestParam(required = false) List<String> filteredValues,
+                                      @RequestParam(required = false) String q) {
+
+        List<EventFilterCriteria> filterList = criteriaMapper.mapToListFilterCriteria(filteredFields, filteredOperators, filteredValues);
+        EventCriteria criteria = EventCriteria.of(null, filterList, null, q);
+
+        validator.validate(criteria);
+        return eventService.deleteAllByCriteria(criteria);
+    }
+
     @GetMapping("/all")
     @ResponseStatus(code = HttpStatus.OK)
-    public List<EventResponse> getAllEvents(@RequestParam(required = false) List<EventCriteriaField> filteredFields,
-                                            @RequestParam(required = false) List<String> filteredValues,
-                                            @RequestParam(required = false) List<EventCriteriaField> sortedFields,
-                                            @RequestParam(required = false) List<SortingDirection> sortedDirections,
-                                            @RequestParam(required = false) Integer page,
-                                            @RequestParam(required = false) Integer size) {
-
-        List<EventFilterCriteria> filterList = criteriaMapper.mapToListFilterCriteria(filteredFields, filteredValues);
+    public Object getAllEvents(@RequestParam(required = false) List<EventCriteriaField> filteredFields,
+                               @RequestParam(required = false) List<FilterOperator> filteredOperators,
+                               @RequestParam(required = false) List<String> filteredValues,
+                               @RequestParam(required = false) List<EventCriteriaField> sortedFields,
+                               @RequestParam(required = false) List<SortingDirection> sortedDirections,
+                               @RequestParam(required = false) Integer page,
+                               @RequestParam(required = false) Integer size,
+                               @RequestParam(required = false) String cursor,
+                               @RequestParam(required = false) String q,
+                               @RequestParam(defaultValue = "NONE") CountMode count,
+                               @RequestParam(required = false) Set<EventResponseField> fields,
+                               HttpServletResponse response) {
+
+        List<EventFilterCriteria> filterList = criteriaMapper.mapToListFilterCriteria(filteredFields, filteredOperators, filteredValues);
         List<EventSortingCriteria> sortingList = criteriaMapper.mapToListSortingCriteria(sortedFields, sortedDirections);
-        PaginationCriteria pagination = criteriaMapper.mapToPaginationCriteria(page, size);
-        EventCriteria criteria = EventCriteria.of(sortingList, filterList, pagination);
+        PaginationCriteria pagination = criteriaMapper.mapToPaginationCriteria(page, size, cursor);
+        EventCriteria criteria = EventCriteria.of(sortingList, filterList, pagination, q, fields, count);
 
         validator.validate(criteria);
-        List<Event> events = Objects.isNull(criteria) ? eventService.readAll() : eventService.readAll(criteria);
-        return eventMapper.entityListToResponseDtoList(events);
+        PageResult<EventView> result = eventService.readProjectionPage(criteria);
+        List<EventView> events = result.getContent();
+
+        if (Objects.nonNull(pagination) && !events.isEmpty() && events.size() == pagination.getSize()) {
+            EventView last = events.get(events.size() - 1);
+            response.setHeader(NEXT_CURSOR_HEADER, EventCursor.of(last, sortingList).toToken());
+        }
+
+        if (Objects.nonNull(result.getTotalCount())) {
+            response.setHeader(TOTAL_COUNT_HEADER, String.valueOf(result.getTotalCount()));
+            response.setHeader(TOTAL_COUNT_MODE_HEADER, count.name());
+        }
+
+        return withFields(events, fields);
+    }
+
+    @GetMapping("/changes")
+    @ResponseStatus(code = HttpStatus.OK)
+    @ApiOperation(value = "Getting events changed after a change token")
+    public EventDelta<EventView> getEventChanges(@RequestParam(required = false) List<EventCriteriaField> filteredFields,
+                                                 @RequestParam(required = false) List<FilterOperator> filteredOperators,
+                                                 @RequestParam(required = false) List<String> filteredValues,
+                                                 @RequestParam(required = false) String since,
+                                                 @RequestParam(defaultValue = "100") @Min(1) @Max(1000) Integer size) {
+
+        List<EventFilterCriteria> filterList = criteriaMapper.mapToListFilterCriteria(filteredFields, filteredOperators, filteredValues);
+        EventCriteria criteria = EventCriteria.of(null, filterList, null);
+        EventChangeToken token = Objects.isNull(since) ? EventChangeToken.initial() : EventChangeToken.fromToken(since);
+
+        validator.validate(criteria);
+        return eventService.readChanges(criteria, token, size);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(code = HttpStatus.OK)
+    @ApiOperation(value = "Exporting all events as newline delimited JSON")
+    public StreamingResponseBody exportEvents() {
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            eventService.exportAll(event -> writeLine(generator, eventMapper.entityToResponseDto(event)));
+            generator.flush();
+        };
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation(value = "Streaming event changes as server-sent events")
+    public SseEmitter streamEvents(@RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+        return eventChangeService.subscribe(lastEventId);
+    }
+
+    // Only the responses of requests with fields are pruned, every other serialization of the dto stays untouched.
+    private Object withFields(Object body, Set<EventResponseField> fields) {
+        if (Objects.isNull(fields)) {
+            return body;
+        }
+
+        Set<String> propertyNames = new HashSet<>();
+        propertyNames.add(EventResponseField.ID.getName());
+        fields.forEach(field -> propertyNames.add(field.getName()));
+
+        JsonNode tree = objectMapper.valueToTree(body);
+        if (tree.isArray()) {
+            tree.forEach(node -> ((ObjectNode) node).retain(propertyNames));
+        } else {
+            ((ObjectNode) tree).retain(propertyNames);
+        }
+        return tree;
+    }
+
+    private void writeLine(JsonGenerator generator, EventResponse dto) {
+        try {
+            objectMapper.writeValue(generator, dto);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> List<Event> acceptValidDtos(List<T> dtos, Function<T, Event> mapper,
+                                            List<Integer> positions, List<BatchError> errors) {
+        List<Event> events = new ArrayList<>();
+
+        for (int i = 0; i < dtos.size(); i++) {
+            T dto = dtos.get(i);
+            Optional<String> violations = Objects.isNull(dto)
+                    ? Optional.of("The event in the batch cannot be null.")
+                    : validator.findViolations(dto);
+
+            if (violations.isPresent()) {
+                errors.add(new BatchError(i, violations.get()));
+            } else {
+                positions.add(i);
+                events.add(mapper.apply(dto));
+            }
+        }
+
+        return events;
+    }
+
+    private <T> BatchResult<T> toBatchResponse(List<T> processed, BatchResult<?> result,
+                                               List<Integer> positions, List<BatchError> errors) {
+        for (BatchError error : result.getErrors()) {
+            errors.add(new BatchError(positions.get(error.getIndex()), error.getMessage()));
+        }
+        errors.sort(Comparator.comparingInt(BatchError::getIndex));
+
+        return new BatchResult<>(processed, errors);
     }
 
 }
\ No newline at end of file
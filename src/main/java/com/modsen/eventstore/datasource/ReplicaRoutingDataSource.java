@@ -0,0 +1,82 @@
+package com.modsen.eventstore.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long ejectionPeriodMillis;
+    private final AtomicLongArray ejectedUntil;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration ejectionPeriod) {
+        Assert.notNull(primary, "The primary data source cannot be null.");
+        Assert.notEmpty(replicas, "At least one replica data source must be specified.");
+        Assert.notNull(ejectionPeriod, "The replica ejection period cannot be null.");
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.ejectionPeriodMillis = ejectionPeriod.toMillis();
+        this.ejectedUntil = new AtomicLongArray(replicas.size());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReplicaRoutingContext.isPrimaryRequired()) {
+            return primary.getConnection();
+        }
+
+        return getReplicaConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    private Connection getReplicaConnection() throws SQLException {
+        int replicaCount = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicaCount);
+
+        for (int i = 0; i < replicaCount; i++) {
+            int index = (start + i) % replicaCount;
+            long now = System.currentTimeMillis();
+            if (ejectedUntil.get(index) > now) {
+                continue;
+            }
+
+            try {
+                return replicas.get(index).getConnection();
+            } catch (SQLException e) {
+                log.warn("Replica data source #{} is unavailable, it is ejected for {} ms.", index, ejectionPeriodMillis, e);
+                ejectedUntil.set(index, now + ejectionPeriodMillis);
+            }
+        }
+
+        log.warn("There is no healthy replica data source, the read-only transaction is routed to the primary.");
+        return primary.getConnection();
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.modsen.eventstore.dto.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BatchError {
+
+    private int index;
+
+    private String message;
+
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.modsen.eventstore.dto.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BatchResult<T> {
+
+    private List<T> processed;
+
+    private List<BatchError> errors;
+
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.modsen.eventstore.dto.criteria;
+
+public enum CountMode {
+    EXACT,
+    ESTIMATED,
+    NONE
+}
\ No newline at end of file
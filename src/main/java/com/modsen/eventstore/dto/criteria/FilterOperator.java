@@ -0,0 +1,21 @@
+package com.modsen.eventstore.dto.criteria;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum FilterOperator {
+
+    EQ(false),
+    GT(false),
+    GTE(false),
+    LT(false),
+    LTE(false),
+    BETWEEN(true),
+    IN(true),
+    PREFIX(false);
+
+    private final boolean multiValued;
+
+}
\ No newline at end of file
@@ -15,4 +15,10 @@ public class PaginationCriteria {
 
     private Integer size;
 
+    private String cursor;
+
+    public PaginationCriteria(Integer page, Integer size) {
+        this(page, size, null);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.modsen.eventstore.dto.criteria.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Objects;
+
+@Getter
+@ToString
+@AllArgsConstructor(staticName = "of")
+public class EventChangeToken {
+
+    private static final String SEPARATOR = ".";
+    private static final String EMPTY = "";
+
+    // Changes of transactions with a lower id were already synced when the token was issued at floorIssuedAt.
+    private long floor;
+
+    private long floorIssuedAt;
+
+    // While a sync is paged, the horizon captured at its first page becomes the floor once the last page is read.
+    private Long nextFloor;
+
+    private Long nextFloorIssuedAt;
+
+    private Long afterChangeXid;
+
+    private Long afterId;
+
+    public static EventChangeToken initial() {
+        return new EventChangeToken(0L, 0L, null, null, null, null);
+    }
+
+    public static EventChangeToken complete(long floor, long floorIssuedAt) {
+        return new EventChangeToken(floor, floorIssuedAt, null, null, null, null);
+    }
+
+    public static EventChangeToken fromToken(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR, -1);
+            if (parts.length != 6) {
+                throw new IllegalArgumentException();
+            }
+
+            return new EventChangeToken(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parseNullable(parts[2]),
+                    parseNullable(parts[3]), parseNullable(parts[4]), parseNullable(parts[5]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("The change token is malformed.");
+        }
+    }
+
+    public boolean isInitial() {
+        return floor == 0L && !isPaged();
+    }
+
+    public boolean isPaged() {
+        return Objects.nonNull(nextFloor);
+    }
+
+    public boolean isExpired(Duration retention, long now) {
+        return !isInitial() && floorIssuedAt < now - retention.toMillis();
+    }
+
+    public String toToken() {
+        String token = String.join(SEPARATOR, String.valueOf(floor), String.valueOf(floorIssuedAt),
+                formatNullable(nextFloor), formatNullable(nextFloorIssuedAt),
+                formatNullable(afterChangeXid), formatNullable(afterId));
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long parseNullable(String value) {
+        return value.isEmpty() ? null : Long.parseLong(value);
+    }
+
+    private static String formatNullable(Long value) {
+        return Objects.isNull(value) ? EMPTY : String.valueOf(value);
+    }
+
+}
\ No newline at end of file
@@ -1,14 +1,18 @@
 package com.modsen.eventstore.dto.criteria.event;
 
+import com.modsen.eventstore.dto.criteria.CountMode;
 import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.event.EventResponseField;
 import com.modsen.eventstore.validator.filter.EventFilterList;
 import com.modsen.eventstore.validator.pagination.Pagination;
+import com.modsen.eventstore.validator.search.SearchQuery;
 import com.modsen.eventstore.validator.sorting.EventSortingList;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
 import java.util.List;
+import java.util.Set;
 
 @Data
 @Builder
@@ -24,4 +28,28 @@ public class EventCriteria {
     @Pagination
     private PaginationCriteria pagination;
 
+    @SearchQuery
+    private String search;
+
+    private Set<EventResponseField> fields;
+
+    // Kept apart from the pagination, a total can be asked for without paging the events.
+    @Builder.Default
+    private CountMode countMode = CountMode.NONE;
+
+    public static EventCriteria of(List<EventSortingCriteria> sort, List<EventFilterCriteria> filter,
+                                   PaginationCriteria pagination) {
+        return of(sort, filter, pagination, null);
+    }
+
+    public static EventCriteria of(List<EventSortingCriteria> sort, List<EventFilterCriteria> filter,
+                                   PaginationCriteria pagination, String search) {
+        return of(sort, filter, pagination, search, null);
+    }
+
+    public static EventCriteria of(List<EventSortingCriteria> sort, List<EventFilterCriteria> filter,
+                                   PaginationCriteria pagination, String search, Set<EventResponseField> fields) {
+        return new EventCriteria(sort, filter, pagination, search, fields, CountMode.NONE);
+    }
+
 }
\ No newline at end of file
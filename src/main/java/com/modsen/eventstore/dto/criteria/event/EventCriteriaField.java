@@ -1,6 +1,5 @@
 package com.modsen.eventstore.dto.criteria.event;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -11,7 +10,8 @@ public enum EventCriteriaField {
     SUBJECT("subject"),
     PLANNER("plannerFullName"),
     DATE("date"),
-    TIME("time");
+    TIME("time"),
+    STARTS_AT("startsAt");
 
     private final String name;
 
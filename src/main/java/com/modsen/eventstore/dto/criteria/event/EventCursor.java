@@ -0,0 +1,95 @@
+package com.modsen.eventstore.dto.criteria.event;
+
+import com.modsen.eventstore.dto.event.EventView;
+import com.modsen.eventstore.model.Event;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+@Getter
+@ToString
+@AllArgsConstructor(staticName = "of")
+public class EventCursor {
+
+    private static final String SEPARATOR = ".";
+
+    private List<String> values;
+
+    private Long id;
+
+    public static EventCursor of(Event event, List<EventSortingCriteria> sortingCriteriaList) {
+        return of(event.getId(), event.getSubject(), event.getPlannerFullName(), event.getDate(), event.getTime(), sortingCriteriaList);
+    }
+
+    public static EventCursor of(EventView view, List<EventSortingCriteria> sortingCriteriaList) {
+        return of(view.getId(), view.getSubject(), view.getPlannerFullName(), view.getDate(), view.getTime(), sortingCriteriaList);
+    }
+
+    public static EventCursor fromToken(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR, -1);
+
+            List<String> values = new ArrayList<>();
+            for (int i = 0; i < parts.length - 1; i++) {
+                values.add(new String(Base64.getUrlDecoder().decode(parts[i]), StandardCharsets.UTF_8));
+            }
+
+            return new EventCursor(values, Long.parseLong(parts[parts.length - 1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("The pagination cursor is malformed.");
+        }
+    }
+
+    public String toToken() {
+        StringBuilder sb = new StringBuilder();
+        for (String value : values) {
+            sb.append(Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8)))
+                    .append(SEPARATOR);
+        }
+        sb.append(id);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static EventCursor of(Long id, String subject, String plannerFullName, LocalDate date, LocalTime time,
+                                  List<EventSortingCriteria> sortingCriteriaList) {
+        List<String> values = new ArrayList<>();
+
+        if (Objects.nonNull(sortingCriteriaList)) {
+            for (EventSortingCriteria criteria : sortingCriteriaList) {
+                values.add(extractValue(subject, plannerFullName, date, time, criteria.getField()));
+            }
+        }
+
+        return new EventCursor(values, id);
+    }
+
+    private static String extractValue(String subject, String plannerFullName, LocalDate date, LocalTime time,
+                                       EventCriteriaField field) {
+        switch (field) {
+            case SUBJECT:
+                return subject;
+            case PLANNER:
+                return plannerFullName;
+            case DATE:
+                return date.toString();
+            case TIME:
+                return time.toString();
+            case STARTS_AT:
+                return LocalDateTime.of(date, time).toString();
+            default:
+                throw new IllegalArgumentException(String.format("The field %s cannot be used in a cursor.", field));
+        }
+    }
+
+}
\ No newline at end of file
@@ -1,7 +1,11 @@
 package com.modsen.eventstore.dto.criteria.event;
 
+import com.modsen.eventstore.dto.criteria.FilterOperator;
 import lombok.*;
 
+import java.util.List;
+import java.util.Objects;
+
 @Getter
 @Setter
 @Builder
@@ -9,8 +13,27 @@ import lombok.*;
 @AllArgsConstructor
 public class EventFilterCriteria {
 
+    public static final String VALUES_SEPARATOR = ";";
+
     private EventCriteriaField field;
 
+    @Builder.Default
+    private FilterOperator operator = FilterOperator.EQ;
+
     private String value;
 
-}
+    public EventFilterCriteria(EventCriteriaField field, String value) {
+        this(field, FilterOperator.EQ, value);
+    }
+
+    public List<String> getValues() {
+        if (Objects.isNull(value)) {
+            return List.of();
+        }
+
+        return Objects.nonNull(operator) && operator.isMultiValued()
+                ? List.of(value.split(VALUES_SEPARATOR, -1))
+                : List.of(value);
+    }
+
+}
\ No newline at end of file
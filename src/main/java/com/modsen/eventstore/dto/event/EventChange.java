@@ -0,0 +1,20 @@
+package com.modsen.eventstore.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class EventChange {
+
+    private Long id;
+
+    private Long eventId;
+
+    private EventChangeType type;
+
+}
\ No newline at end of file
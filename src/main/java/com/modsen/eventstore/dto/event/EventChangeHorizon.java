@@ -0,0 +1,20 @@
+package com.modsen.eventstore.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+// The last change id handed out when the horizon was taken, and the first transaction id not yet started then.
+// Once every transaction before that id has ended, no change up to the last change id can appear anymore.
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class EventChangeHorizon {
+
+    private Long lastChangeId;
+
+    private Long transactionId;
+
+}
\ No newline at end of file
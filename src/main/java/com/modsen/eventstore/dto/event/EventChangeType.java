@@ -0,0 +1,7 @@
+package com.modsen.eventstore.dto.event;
+
+public enum EventChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
\ No newline at end of file
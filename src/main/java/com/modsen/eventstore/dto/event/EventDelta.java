@@ -0,0 +1,22 @@
+package com.modsen.eventstore.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class EventDelta<T> {
+
+    private List<T> updated;
+
+    private List<Long> deleted;
+
+    private String token;
+
+    private boolean hasMore;
+
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.modsen.eventstore.dto.event;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import lombok.*;
 
 import javax.validation.constraints.*;
@@ -7,7 +8,7 @@ import javax.validation.constraints.*;
 
 @Data
 @Builder
-@AllArgsConstructor
+@AllArgsConstructor(onConstructor_ = @JsonCreator)
 public class EventResponse {
 
     @NotNull(message = "Id must be not null")
@@ -37,4 +38,13 @@ public class EventResponse {
     @Size(message = "Venue must be between 5 to 150 characters and be not blank", min = 3, max = 130)
     private String venue;
 
+    @PositiveOrZero(message = "Version must be not less than 0")
+    @EqualsAndHashCode.Exclude
+    private Long version;
+
+    public EventResponse(Long id, String subject, String description, String plannerFullName,
+                         String date, String time, String venue) {
+        this(id, subject, description, plannerFullName, date, time, venue, null);
+    }
+
 }
\ No newline at end of file
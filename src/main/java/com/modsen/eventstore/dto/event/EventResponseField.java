@@ -0,0 +1,21 @@
+package com.modsen.eventstore.dto.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum EventResponseField {
+
+    ID("id"),
+    SUBJECT("subject"),
+    DESCRIPTION("description"),
+    PLANNER("plannerFullName"),
+    DATE("date"),
+    TIME("time"),
+    VENUE("venue"),
+    VERSION("version");
+
+    private final String name;
+
+}
\ No newline at end of file
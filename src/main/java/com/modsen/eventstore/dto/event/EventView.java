@@ -0,0 +1,35 @@
+package com.modsen.eventstore.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.modsen.eventstore.mapper.EventMapper;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// The read model of the listing paths. It is built straight from the selected columns and serialized as the response,
+// in the same shape and formats as EventResponse, so the fields that were not selected stay null.
+@Value
+@Builder
+public class EventView {
+
+    Long id;
+
+    String subject;
+
+    String description;
+
+    String plannerFullName;
+
+    @JsonFormat(pattern = EventMapper.DATE_FORMAT)
+    LocalDate date;
+
+    @JsonFormat(pattern = EventMapper.TIME_FORMAT)
+    LocalTime time;
+
+    String venue;
+
+    Long version;
+
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.modsen.eventstore.dto.page;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class PageResult<T> {
+
+    private List<T> content;
+
+    private Long totalCount;
+
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.modsen.eventstore.exception;
+
+public class StaleEntityException extends RuntimeException{
+    public StaleEntityException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
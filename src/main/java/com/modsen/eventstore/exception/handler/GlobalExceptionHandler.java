@@ -2,7 +2,9 @@ package com.modsen.eventstore.exception.handler;
 
 import com.modsen.eventstore.exception.BeforeTodayDateException;
 import com.modsen.eventstore.exception.NotExistEntityException;
+import com.modsen.eventstore.exception.StaleEntityException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -28,4 +30,14 @@ public class GlobalExceptionHandler {
         return new ExceptionInfo(e.getMessage());
     }
 
+    @ExceptionHandler({
+            StaleEntityException.class,
+            OptimisticLockingFailureException.class
+    })
+    @ResponseStatus(code = HttpStatus.CONFLICT)
+    protected ExceptionInfo handleConflict(RuntimeException e) {
+        log.error("Error {} with the message {} was intercepted.", e.getClass().getSimpleName(), e.getMessage());
+        return new ExceptionInfo(e.getMessage());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.modsen.eventstore.mapper;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+public final class DateTimeCodec {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(EventMapper.DATE_FORMAT);
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern(EventMapper.TIME_FORMAT);
+
+    private static final int DATE_LENGTH = 10;
+    private static final int TIME_LENGTH = 5;
+    private static final int DATE_TIME_LENGTH = DATE_LENGTH + 1 + TIME_LENGTH;
+    private static final int MAX_FIXED_WIDTH_YEAR = 9999;
+    private static final String DATE_TIME_MISMATCH_MESSAGE = "The date and time must match the template 'dd.MM.yyyy HH:mm'.";
+
+    private DateTimeCodec() {
+    }
+
+    public static String formatDate(LocalDate date) {
+        if (Objects.isNull(date)) {
+            return null;
+        }
+
+        int year = date.getYear();
+        if (year < 0 || year > MAX_FIXED_WIDTH_YEAR) {
+            return DATE_FORMATTER.format(date);
+        }
+
+        char[] chars = new char[DATE_LENGTH];
+        writeTwoDigits(chars, 0, date.getDayOfMonth());
+        chars[2] = '.';
+        writeTwoDigits(chars, 3, date.getMonthValue());
+        chars[5] = '.';
+        writeTwoDigits(chars, 6, year / 100);
+        writeTwoDigits(chars, 8, year % 100);
+        return new String(chars);
+    }
+
+    public static LocalDate parseDate(String string) {
+        if (Objects.isNull(string)) {
+            return null;
+        }
+
+        if (string.length() == DATE_LENGTH && string.charAt(2) == '.' && string.charAt(5) == '.') {
+            int day = readTwoDigits(string, 0);
+            int month = readTwoDigits(string, 3);
+            int century = readTwoDigits(string, 6);
+            int yearOfCentury = readTwoDigits(string, 8);
+            if ((day | month | century | yearOfCentury) >= 0) {
+                try {
+                    return LocalDate.of(century * 100 + yearOfCentury, month, day);
+                } catch (DateTimeException ignored) {
+                }
+            }
+        }
+
+        return LocalDate.parse(string, DATE_FORMATTER);
+    }
+
+    public static String formatTime(LocalTime time) {
+        if (Objects.isNull(time)) {
+            return null;
+        }
+
+        char[] chars = new char[TIME_LENGTH];
+        writeTwoDigits(chars, 0, time.getHour());
+        chars[2] = ':';
+        writeTwoDigits(chars, 3, time.getMinute());
+        return new String(chars);
+    }
+
+    public static LocalTime parseTime(String string) {
+        if (Objects.isNull(string) || string.length() != TIME_LENGTH || string.charAt(2) != ':') {
+            return null;
+        }
+
+        int hour = readTwoDigits(string, 0);
+        int minute = readTwoDigits(string, 3);
+        if ((hour | minute) < 0) {
+            return null;
+        }
+
+        if (hour < 24 && minute < 60) {
+            return LocalTime.of(hour, minute);
+        }
+
+        return LocalTime.parse(string, TIME_FORMATTER);
+    }
+
+    public static LocalDateTime parseDateTime(String string) {
+        if (Objects.isNull(string)) {
+            return null;
+        }
+
+        if (string.length() != DATE_TIME_LENGTH || string.charAt(DATE_LENGTH) != ' ') {
+            throw new DateTimeParseException(DATE_TIME_MISMATCH_MESSAGE, string, 0);
+        }
+
+        LocalTime time = parseTime(string.substring(DATE_LENGTH + 1));
+        if (Objects.isNull(time)) {
+            throw new DateTimeParseException(DATE_TIME_MISMATCH_MESSAGE, string, DATE_LENGTH + 1);
+        }
+
+        return LocalDateTime.of(parseDate(string.substring(0, DATE_LENGTH)), time);
+    }
+
+    private static void writeTwoDigits(char[] chars, int offset, int value) {
+        chars[offset] = (char) ('0' + value / 10);
+        chars[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    private static int readTwoDigits(String string, int offset) {
+        int tens = string.charAt(offset) - '0';
+        int units = string.charAt(offset + 1) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+            return -1;
+        }
+        return tens * 10 + units;
+    }
+
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.modsen.eventstore.mapper;
 
+import com.modsen.eventstore.dto.criteria.FilterOperator;
 import com.modsen.eventstore.dto.criteria.PaginationCriteria;
 import com.modsen.eventstore.dto.criteria.SortingDirection;
 import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
@@ -15,9 +16,14 @@ import java.util.Objects;
 public interface EventCriteriaMapper {
 
     default List<EventFilterCriteria> mapToListFilterCriteria(List<EventCriteriaField> fields, List<String> values) {
+        return mapToListFilterCriteria(fields, null, values);
+    }
+
+    default List<EventFilterCriteria> mapToListFilterCriteria(List<EventCriteriaField> fields, List<FilterOperator> operators,
+                                                              List<String> values) {
         List<EventFilterCriteria> filterCriteriaList = new ArrayList<>();
 
-        if (Objects.isNull(fields) && Objects.isNull(values)) {
+        if (Objects.isNull(fields) && Objects.isNull(values) && Objects.isNull(operators)) {
             return null;
         }
 
@@ -29,8 +35,13 @@ public interface EventCriteriaMapper {
             throw new IllegalArgumentException("The number of fields to filter and their values must match.");
         }
 
+        if (Objects.nonNull(operators) && operators.size() != fields.size()) {
+            throw new IllegalArgumentException("The number of fields to filter and their operators must match.");
+        }
+
         for (int i = 0; i < fields.size(); i++) {
-            filterCriteriaList.add(new EventFilterCriteria(fields.get(0), values.get(0)));
+            FilterOperator operator = Objects.isNull(operators) ? FilterOperator.EQ : operators.get(i);
+            filterCriteriaList.add(new EventFilterCriteria(fields.get(i), operator, values.get(i)));
         }
 
         return filterCriteriaList;
@@ -52,14 +63,18 @@ public interface EventCriteriaMapper {
         }
 
         for (int i = 0; i < fields.size(); i++) {
-            sortingCriteriaList.add(new EventSortingCriteria(fields.get(0), directions.get(0)));
+            sortingCriteriaList.add(new EventSortingCriteria(fields.get(i), directions.get(i)));
         }
 
         return sortingCriteriaList;
     }
 
-    default PaginationCriteria mapToPaginationCriteria(Integer page, Integer size) {
-        return Objects.isNull(page) && Objects.isNull(size) ? null : new PaginationCriteria(page, size);
+    default PaginationCriteria mapToPaginationCriteria(Integer page, Integer size, String cursor) {
+        if (Objects.isNull(page) && Objects.isNull(size) && Objects.isNull(cursor)) {
+            return null;
+        }
+
+        return new PaginationCriteria(page, size, cursor);
     }
 
 }
@@ -8,27 +8,33 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Objects;
 
 @Mapper(componentModel = "spring")
 public interface EventMapper {
 
     String DATE_FORMAT = "dd.MM.yyyy";
     String TIME_FORMAT = "HH:mm";
-    String TIME_REGEX_PATTERN = "^\\d{2}:\\d{2}$";
 
-    @Mapping(target = "date", source = "date", dateFormat = DATE_FORMAT)
+    @Mapping(target = "date", source = "date", qualifiedByName = "stringToDate")
     @Mapping(target = "time", source = "time", qualifiedByName = "stringToTime")
+    @Mapping(target = "startsAt", ignore = true)
+    @Mapping(target = "searchVector", ignore = true)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "changeXid", ignore = true)
     Event requestDtoToEntity(EventRequest dto);
 
-    @Mapping(target = "date", source = "date", dateFormat = DATE_FORMAT)
+    @Mapping(target = "date", source = "date", qualifiedByName = "stringToDate")
     @Mapping(target = "time", source = "time", qualifiedByName = "stringToTime")
+    @Mapping(target = "startsAt", ignore = true)
+    @Mapping(target = "searchVector", ignore = true)
+    @Mapping(target = "changeXid", ignore = true)
     Event responseDtoToEntity(EventResponse dto);
 
-    @Mapping(target = "date", source = "date", dateFormat = DATE_FORMAT)
+    @Mapping(target = "date", source = "date", qualifiedByName = "dateToString")
     @Mapping(target = "time", source = "time", qualifiedByName = "timeToString")
     @Named("entityToWithIdDto")
     EventResponse entityToResponseDto(Event entity);
@@ -36,16 +42,24 @@ public interface EventMapper {
     @IterableMapping(qualifiedByName = "entityToWithIdDto")
     List<EventResponse> entityListToResponseDtoList(List<Event> entity);
 
+    @Named("dateToString")
+    default String dateToString(LocalDate date) {
+        return DateTimeCodec.formatDate(date);
+    }
+
+    @Named("stringToDate")
+    default LocalDate stringToDate(String string) {
+        return DateTimeCodec.parseDate(string);
+    }
+
     @Named("timeToString")
     default String timeToString(LocalTime time) {
-        return Objects.nonNull(time) ? time.format(DateTimeFormatter.ofPattern(TIME_FORMAT)) : null;
+        return DateTimeCodec.formatTime(time);
     }
 
     @Named("stringToTime")
     default LocalTime stringToTime(String string) {
-        return (!Objects.isNull(string) && string.matches(TIME_REGEX_PATTERN))
-                ? LocalTime.parse(string, DateTimeFormatter.ofPattern(TIME_FORMAT))
-                : null;
+        return DateTimeCodec.parseTime(string);
     }
 
 }
\ No newline at end of file
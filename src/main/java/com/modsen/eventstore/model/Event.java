@@ -1,13 +1,18 @@
 package com.modsen.eventstore.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
 @Table(name = "events")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @Builder
 @AllArgsConstructor
@@ -15,7 +20,8 @@ import java.time.LocalTime;
 public class Event {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_id_generator")
+    @SequenceGenerator(name = "events_id_generator", sequenceName = "events_id_pooled_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "subject", nullable = false)
@@ -36,4 +42,28 @@ public class Event {
     @Column(name = "venue", nullable = false)
     private String venue;
 
+    @Column(name = "starts_at", insertable = false, updatable = false)
+    @EqualsAndHashCode.Exclude
+    private LocalDateTime startsAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    @EqualsAndHashCode.Exclude
+    private Long version;
+
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    @EqualsAndHashCode.Exclude
+    private Long changeXid;
+
+    // Maintained by the database from the text columns, it is only read by the full text search predicates.
+    @Column(name = "search_vector", insertable = false, updatable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String searchVector;
+
+    public Event(Long id, String subject, String description, String plannerFullName,
+                 LocalDate date, LocalTime time, String venue) {
+        this(id, subject, description, plannerFullName, date, time, venue, null, null, null, null);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.modsen.eventstore.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// The filterable fields of an event as they were before a transaction changed them.
+@Entity
+@Immutable
+@IdClass(EventDeparture.Key.class)
+@Table(name = "event_departures")
+@Getter
+@NoArgsConstructor
+public class EventDeparture {
+
+    @Id
+    @Column(name = "change_xid")
+    private Long changeXid;
+
+    @Id
+    private Long id;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "planner_full_name")
+    private String plannerFullName;
+
+    @Column(name = "date")
+    private LocalDate date;
+
+    @Column(name = "time")
+    private LocalTime time;
+
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name = "departed_at")
+    private LocalDateTime departedAt;
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long changeXid;
+
+        private Long id;
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.modsen.eventstore.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Entity
+@Immutable
+@Table(name = "event_tombstones")
+@Getter
+@NoArgsConstructor
+public class EventTombstone {
+
+    @Id
+    private Long id;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "planner_full_name")
+    private String plannerFullName;
+
+    @Column(name = "date")
+    private LocalDate date;
+
+    @Column(name = "time")
+    private LocalTime time;
+
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name = "change_xid")
+    private Long changeXid;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.modsen.eventstore.repository;
+
+import com.modsen.eventstore.model.Event;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventArchiveRepository {
+
+    List<String> findSegmentNames();
+
+    String findCollation();
+
+    void saveSegment(String name, LocalDate minDate, LocalDate maxDate, int eventCount);
+
+    Optional<LocalDate> findOldestDateBefore(LocalDate date);
+
+    List<Event> findAllByDateBetween(LocalDate from, LocalDate to, Event after, int limit);
+
+    int deleteAllByDateBetween(LocalDate from, LocalDate to);
+
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.modsen.eventstore.repository;
+
+import com.modsen.eventstore.dto.event.EventChange;
+import com.modsen.eventstore.dto.event.EventChangeHorizon;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventChangeRepository {
+
+    List<EventChange> findAllAfter(Long id, Long upToId, int limit);
+
+    EventChangeHorizon findHorizon();
+
+    boolean isSettled(EventChangeHorizon horizon);
+
+    int deleteAllCreatedBefore(LocalDateTime createdAt);
+
+}
\ No newline at end of file
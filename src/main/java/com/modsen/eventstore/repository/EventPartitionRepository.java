@@ -0,0 +1,20 @@
+package com.modsen.eventstore.repository;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface EventPartitionRepository {
+
+    boolean tryLockMaintenance();
+
+    List<YearMonth> findMonthlyPartitions();
+
+    void createMonthlyPartition(YearMonth month);
+
+    void detachMonthlyPartition(YearMonth month);
+
+    void dropMonthlyPartition(YearMonth month);
+
+    void lockMonthlyPartition(YearMonth month);
+
+}
\ No newline at end of file
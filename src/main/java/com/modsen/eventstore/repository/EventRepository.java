@@ -1,23 +1,60 @@
 package com.modsen.eventstore.repository;
 
+import com.modsen.eventstore.dto.criteria.event.EventChangeToken;
 import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.event.EventDelta;
+import com.modsen.eventstore.dto.event.EventResponseField;
+import com.modsen.eventstore.dto.event.EventView;
+import com.modsen.eventstore.dto.page.PageResult;
 import com.modsen.eventstore.model.Event;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EventRepository {
 
     Event save(Event event);
 
+    List<Event> saveAll(List<Event> events);
+
     Optional<Event> findById(Long id);
 
+    Optional<EventView> findProjectionById(Long id, Set<EventResponseField> fields);
+
+    List<Event> findAllById(Collection<Long> ids);
+
+    List<EventView> findAllProjectionsById(Collection<Long> ids);
+
+    List<Long> findExistingIds(Collection<Long> ids);
+
     Event update(Event event);
 
+    List<Event> updateAll(List<Event> events, Collection<Event> currentEvents);
+
+    void patch(Event event, Set<String> fieldNames);
+
     void delete(Long id);
 
+    void deleteAll(Collection<Long> ids);
+
+    int deleteAllByCriteria(EventCriteria criteria);
+
     List<Event> findAll();
 
     List<Event> findAll(EventCriteria criteria);
 
+    List<EventView> findAllProjections(EventCriteria criteria);
+
+    PageResult<EventView> findProjectionPage(EventCriteria criteria);
+
+    EventDelta<EventView> findChanges(EventCriteria criteria, EventChangeToken token, int limit);
+
+    int deleteTombstonesBefore(LocalDateTime deletedAt);
+
+    void scrollAll(Consumer<Event> consumer);
+
 }
\ No newline at end of file
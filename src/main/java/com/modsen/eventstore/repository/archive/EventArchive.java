@@ -0,0 +1,301 @@
+package com.modsen.eventstore.repository.archive;
+
+import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.repository.EventArchiveRepository;
+import com.modsen.eventstore.repository.impl.EventCriteriaEvaluator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.Collator;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// The segments of archived events on local disk. Only segments registered in event_archive_segments are served,
+// so a segment whose archiving transaction never committed is ignored.
+@Slf4j
+@Component
+@Profile("!file-store")
+public class EventArchive implements SmartInitializingSingleton {
+
+    private static final String SEGMENT_NAME_FORMAT = "events-%s-%s.seg";
+    private static final Set<String> BYTEWISE_COLLATIONS = Set.of("C", "POSIX");
+
+    private final EventArchiveRepository eventArchiveRepository;
+    private final Path directory;
+    private final Map<String, Long> segmentCounts;
+    private volatile List<EventSegment> segments = List.of();
+    private volatile IdRangeIndex idRangeIndex = new IdRangeIndex(List.of());
+    private volatile Locale collationLocale;
+
+    public EventArchive(EventArchiveRepository eventArchiveRepository, @Value("${event-archive.directory}") String directory,
+                        @Value("${event-archive.count-cache-size}") int countCacheSize) {
+        this.eventArchiveRepository = eventArchiveRepository;
+        this.directory = Paths.get(directory);
+        this.segmentCounts = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > countCacheSize;
+            }
+
+        });
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        collationLocale = toLocale(eventArchiveRepository.findCollation());
+        refreshSegments();
+    }
+
+    // Segments archived by other nodes are picked up here. A registered segment is never unregistered,
+    // so the refresh only adds the segments that are not served yet.
+    @Scheduled(fixedDelayString = "${event-archive.refresh-interval}", initialDelayString = "${event-archive.refresh-interval}")
+    public synchronized void refreshSegments() {
+        Set<String> served = segments.stream()
+                .map(segment -> segment.getFile().getFileName().toString())
+                .collect(Collectors.toSet());
+        List<EventSegment> loaded = new ArrayList<>();
+
+        for (String name : eventArchiveRepository.findSegmentNames()) {
+            if (served.contains(name)) {
+                continue;
+            }
+
+            Path file = directory.resolve(name);
+            if (!Files.exists(file)) {
+                log.warn("The archive segment {} is registered but missing from {}.", name, directory);
+                continue;
+            }
+
+            try {
+                loaded.add(EventSegment.open(file));
+            } catch (IOException | IllegalStateException e) {
+                log.error("The archive segment {} cannot be opened.", file, e);
+            }
+        }
+
+        if (!loaded.isEmpty()) {
+            List<EventSegment> updated = new ArrayList<>(segments);
+            updated.addAll(loaded);
+            setSegments(updated);
+            log.info("Loaded {} archive segments from {}.", loaded.size(), directory);
+        }
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    // Archived events are merged with live ones, so their strings are ordered by the collation of the database.
+    public Comparator<String> getTextOrder() {
+        Locale locale = collationLocale;
+        if (Objects.isNull(locale)) {
+            return Comparator.naturalOrder();
+        }
+
+        Collator collator = Collator.getInstance(locale);
+        return collator::compare;
+    }
+
+    public Optional<Event> findById(Long id) {
+        Assert.notNull(id, "The id to search for an entity cannot be null.");
+
+        return idRangeIndex.findById(id);
+    }
+
+    public List<Event> findAllById(Collection<Long> ids) {
+        Assert.notNull(ids, "The ids to search for entities cannot be null.");
+
+        List<Event> events = new ArrayList<>();
+        for (Long id : ids) {
+            findById(id).ifPresent(events::add);
+        }
+        return events;
+    }
+
+    // Full-text search is served by the search documents of live events only, so archived events never match it.
+    public boolean mayContain(EventCriteriaEvaluator evaluator) {
+        if (evaluator.hasSearch()) {
+            return false;
+        }
+
+        for (EventSegment segment : segments) {
+            if (isMatching(segment, evaluator)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Only the leading events a page can be cut from are kept, so a broad query does not materialize the whole archive.
+    public List<Event> findAll(EventCriteriaEvaluator evaluator) {
+        int limit = evaluator.getFetchLimit();
+        PriorityQueue<Event> events = new PriorityQueue<>(evaluator.getComparator().reversed());
+
+        for (EventSegment segment : segments) {
+            if (isMatching(segment, evaluator)) {
+                segment.forEach(evaluator.getMinDate(), evaluator.getMaxDate(), evaluator.getPlanners(), event -> {
+                    if (evaluator.matches(event) && evaluator.isAfterCursor(event)) {
+                        events.add(event);
+                        if (events.size() > limit) {
+                            events.poll();
+                        }
+                    }
+                });
+            }
+        }
+
+        return new ArrayList<>(events);
+    }
+
+    public long count(EventCriteriaEvaluator evaluator) {
+        long count = 0;
+
+        for (EventSegment segment : segments) {
+            if (isMatching(segment, evaluator)) {
+                count += count(segment, evaluator);
+            }
+        }
+
+        return count;
+    }
+
+    public EventSegment writeSegment(YearMonth month, List<Event> events) {
+        Path file = directory.resolve(String.format(SEGMENT_NAME_FORMAT, month, UUID.randomUUID()));
+
+        try {
+            Files.createDirectories(directory);
+            EventSegmentWriter.write(file, events);
+            return EventSegment.open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("The archive segment %s cannot be written.", file), e);
+        }
+    }
+
+    public synchronized void publish(Collection<EventSegment> published) {
+        List<EventSegment> updated = new ArrayList<>(segments);
+        updated.addAll(published);
+        setSegments(updated);
+    }
+
+    public synchronized void discard(Collection<EventSegment> discarded) {
+        List<EventSegment> updated = new ArrayList<>(segments);
+        updated.removeAll(discarded);
+        setSegments(updated);
+
+        for (EventSegment segment : discarded) {
+            try {
+                Files.deleteIfExists(segment.getFile());
+            } catch (IOException e) {
+                log.warn("The discarded archive segment {} cannot be deleted.", segment.getFile(), e);
+            }
+        }
+    }
+
+    private void setSegments(List<EventSegment> updated) {
+        idRangeIndex = new IdRangeIndex(updated);
+        segments = List.copyOf(updated);
+    }
+
+    // Segments never change, so the count of a filter in a segment is only computed once.
+    private long count(EventSegment segment, EventCriteriaEvaluator evaluator) {
+        String key = segment.getFile().getFileName() + "?" + evaluator.getFilterKey();
+        Long cached = segmentCounts.get(key);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+
+        long[] count = new long[1];
+        segment.forEach(evaluator.getMinDate(), evaluator.getMaxDate(), evaluator.getPlanners(), event -> {
+            if (evaluator.matches(event)) {
+                count[0]++;
+            }
+        });
+
+        segmentCounts.put(key, count[0]);
+        return count[0];
+    }
+
+    private boolean isMatching(EventSegment segment, EventCriteriaEvaluator evaluator) {
+        return evaluator.isDateRangeMatching(segment.getMinDate(), segment.getMaxDate())
+                && evaluator.isPlannerMatching(segment.getPlanners());
+    }
+
+    // Database collations are named after a libc locale such as en_US.UTF-8, only the language and country are used.
+    private Locale toLocale(String collation) {
+        if (Objects.isNull(collation) || BYTEWISE_COLLATIONS.contains(collation)) {
+            return null;
+        }
+
+        String name = collation.split("[.@]", 2)[0];
+        Locale locale = Locale.forLanguageTag(name.replace('_', '-'));
+        return locale.getLanguage().isEmpty() ? null : locale;
+    }
+
+    // The segments ordered by their smallest id, together with the largest id of every prefix of that order. A lookup
+    // starts at the last segment beginning at or before the id and stops as soon as no earlier segment can reach it.
+    private static final class IdRangeIndex {
+
+        private final EventSegment[] segments;
+        private final long[] maxIds;
+
+        IdRangeIndex(Collection<EventSegment> segments) {
+            this.segments = segments.stream()
+                    .sorted(Comparator.comparingLong(EventSegment::getMinId))
+                    .toArray(EventSegment[]::new);
+            this.maxIds = new long[this.segments.length];
+
+            long maxId = Long.MIN_VALUE;
+            for (int i = 0; i < this.segments.length; i++) {
+                maxId = Math.max(maxId, this.segments[i].getMaxId());
+                maxIds[i] = maxId;
+            }
+        }
+
+        Optional<Event> findById(long id) {
+            int low = 0;
+            int high = segments.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (segments[middle].getMinId() <= id) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            for (int i = low - 1; i >= 0 && maxIds[i] >= id; i--) {
+                Optional<Event> event = segments[i].findById(id);
+                if (event.isPresent()) {
+                    return event;
+                }
+            }
+            return Optional.empty();
+        }
+
+    }
+
+}
\ No newline at end of file
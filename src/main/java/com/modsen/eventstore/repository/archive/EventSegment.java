@@ -0,0 +1,266 @@
+package com.modsen.eventstore.repository.archive;
+
+import com.modsen.eventstore.model.Event;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// A read-only, memory-mapped segment of archived events. Rows are sorted by date, numeric columns are stored
+// uncompressed so they can be scanned in place, planners are dictionary-encoded and the text columns are deflated
+// in blocks that are only inflated for rows that pass the column filters.
+@Getter
+public final class EventSegment {
+
+    static final int MAGIC = 0x45565347;
+    static final int FORMAT_VERSION = 1;
+    static final int ROWS_PER_TEXT_BLOCK = 128;
+    static final int NULL_LENGTH = -1;
+
+    static final int PLANNER_DICTIONARY_SECTION = 0;
+    static final int ID_SECTION = 1;
+    static final int DATE_SECTION = 2;
+    static final int TIME_SECTION = 3;
+    static final int PLANNER_SECTION = 4;
+    static final int VERSION_SECTION = 5;
+    static final int ID_INDEX_SECTION = 6;
+    static final int TEXT_BLOCK_INDEX_SECTION = 7;
+    static final int TEXT_DATA_SECTION = 8;
+    static final int SECTION_COUNT = 9;
+    static final int HEADER_SIZE = 7 * Integer.BYTES + 3 * Long.BYTES + SECTION_COUNT * Integer.BYTES;
+
+    private static final int CHECKSUM_POSITION = 7 * Integer.BYTES + 2 * Long.BYTES;
+    private static final int ID_INDEX_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int TEXT_BLOCK_INDEX_ENTRY_SIZE = 3 * Integer.BYTES;
+
+    private final Path file;
+    private final int rowCount;
+    private final LocalDate minDate;
+    private final LocalDate maxDate;
+    private final long minId;
+    private final long maxId;
+
+    @Getter(AccessLevel.NONE)
+    private final List<String> planners;
+
+    @Getter(AccessLevel.NONE)
+    private final MappedByteBuffer buffer;
+
+    @Getter(AccessLevel.NONE)
+    private final int[] offsets;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Integer> plannerCodes;
+
+    private EventSegment(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException(String.format("The file %s is not an archive segment.", file));
+        }
+        if (buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new IllegalStateException(String.format("The archive segment %s has an unsupported format version.", file));
+        }
+
+        rowCount = buffer.getInt(2 * Integer.BYTES);
+        int plannerCount = buffer.getInt(3 * Integer.BYTES);
+        minDate = LocalDate.ofEpochDay(buffer.getInt(5 * Integer.BYTES));
+        maxDate = LocalDate.ofEpochDay(buffer.getInt(6 * Integer.BYTES));
+        minId = buffer.getLong(7 * Integer.BYTES);
+        maxId = buffer.getLong(7 * Integer.BYTES + Long.BYTES);
+
+        offsets = new int[SECTION_COUNT];
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            offsets[i] = buffer.getInt(CHECKSUM_POSITION + Long.BYTES + i * Integer.BYTES);
+        }
+
+        CRC32 checksum = new CRC32();
+        checksum.update(slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE));
+        if (checksum.getValue() != buffer.getLong(CHECKSUM_POSITION)) {
+            throw new IllegalStateException(String.format("The archive segment %s is corrupted.", file));
+        }
+
+        List<String> dictionary = new ArrayList<>(plannerCount);
+        Map<String, Integer> codes = new HashMap<>();
+        ByteBuffer plannerBuffer = slice(offsets[PLANNER_DICTIONARY_SECTION], offsets[ID_SECTION] - offsets[PLANNER_DICTIONARY_SECTION]);
+        for (int i = 0; i < plannerCount; i++) {
+            String planner = readString(plannerBuffer);
+            dictionary.add(planner);
+            codes.put(planner, i);
+        }
+        planners = Collections.unmodifiableList(dictionary);
+        plannerCodes = codes;
+    }
+
+    public static EventSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new EventSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public Set<String> getPlanners() {
+        return Collections.unmodifiableSet(plannerCodes.keySet());
+    }
+
+    public Optional<Event> findById(long id) {
+        if (id < minId || id > maxId) {
+            return Optional.empty();
+        }
+
+        int low = 0;
+        int high = rowCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int position = offsets[ID_INDEX_SECTION] + middle * ID_INDEX_ENTRY_SIZE;
+            long middleId = buffer.getLong(position);
+
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                int row = buffer.getInt(position + Long.BYTES);
+                return Optional.of(readEvent(row, readTextBlock(row / ROWS_PER_TEXT_BLOCK)));
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    // Streams the rows dated within [from, to] whose planner is one of the given ones; null bounds are open.
+    public void forEach(LocalDate from, LocalDate to, Collection<String> planners, Consumer<Event> consumer) {
+        boolean[] plannerMask = null;
+        if (Objects.nonNull(planners)) {
+            plannerMask = new boolean[plannerCodes.size()];
+            for (String planner : planners) {
+                Integer code = plannerCodes.get(planner);
+                if (Objects.nonNull(code)) {
+                    plannerMask[code] = true;
+                }
+            }
+        }
+
+        int firstRow = Objects.isNull(from) ? 0 : findFirstRowOnOrAfter(from.toEpochDay());
+        int lastRow = Objects.isNull(to) ? rowCount : findFirstRowOnOrAfter(to.toEpochDay() + 1);
+        int blockIndex = -1;
+        String[][] block = null;
+
+        for (int row = firstRow; row < lastRow; row++) {
+            if (Objects.nonNull(plannerMask) && !plannerMask[buffer.getInt(offsets[PLANNER_SECTION] + row * Integer.BYTES)]) {
+                continue;
+            }
+
+            if (row / ROWS_PER_TEXT_BLOCK != blockIndex) {
+                blockIndex = row / ROWS_PER_TEXT_BLOCK;
+                block = readTextBlock(blockIndex);
+            }
+            consumer.accept(readEvent(row, block));
+        }
+    }
+
+    private int findFirstRowOnOrAfter(long epochDay) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (buffer.getInt(offsets[DATE_SECTION] + middle * Integer.BYTES) < epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private Event readEvent(int row, String[][] block) {
+        int blockRow = row % ROWS_PER_TEXT_BLOCK;
+        LocalDate date = LocalDate.ofEpochDay(buffer.getInt(offsets[DATE_SECTION] + row * Integer.BYTES));
+        LocalTime time = LocalTime.ofSecondOfDay(buffer.getInt(offsets[TIME_SECTION] + row * Integer.BYTES));
+
+        return new Event(
+                buffer.getLong(offsets[ID_SECTION] + row * Long.BYTES),
+                block[0][blockRow],
+                block[1][blockRow],
+                planners.get(buffer.getInt(offsets[PLANNER_SECTION] + row * Integer.BYTES)),
+                date,
+                time,
+                block[2][blockRow],
+                LocalDateTime.of(date, time),
+                buffer.getLong(offsets[VERSION_SECTION] + row * Long.BYTES),
+                null,
+                null
+        );
+    }
+
+    private String[][] readTextBlock(int blockIndex) {
+        int position = offsets[TEXT_BLOCK_INDEX_SECTION] + blockIndex * TEXT_BLOCK_INDEX_ENTRY_SIZE;
+        int dataOffset = buffer.getInt(position);
+        int compressedLength = buffer.getInt(position + Integer.BYTES);
+        int rawLength = buffer.getInt(position + 2 * Integer.BYTES);
+
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(slice(offsets[TEXT_DATA_SECTION] + dataOffset, compressedLength));
+            int inflated = 0;
+            while (inflated < rawLength && !inflater.finished()) {
+                inflated += inflater.inflate(raw, inflated, rawLength - inflated);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException(String.format("The archive segment %s is corrupted.", file), e);
+        } finally {
+            inflater.end();
+        }
+
+        int rows = Math.min(ROWS_PER_TEXT_BLOCK, rowCount - blockIndex * ROWS_PER_TEXT_BLOCK);
+        String[][] block = new String[3][rows];
+        ByteBuffer rawBuffer = ByteBuffer.wrap(raw);
+        for (int i = 0; i < rows; i++) {
+            block[0][i] = readString(rawBuffer);
+            block[1][i] = readString(rawBuffer);
+            block[2][i] = readString(rawBuffer);
+        }
+        return block;
+    }
+
+    private ByteBuffer slice(int position, int length) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(position).limit(position + length);
+        return slice.slice();
+    }
+
+    private static String readString(ByteBuffer source) {
+        int length = source.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
\ No newline at end of file
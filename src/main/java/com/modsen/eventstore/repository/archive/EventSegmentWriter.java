@@ -0,0 +1,189 @@
+package com.modsen.eventstore.repository.archive;
+
+import com.modsen.eventstore.model.Event;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+final class EventSegmentWriter {
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private EventSegmentWriter() {
+    }
+
+    static void write(Path file, List<Event> events) throws IOException {
+        if (events.isEmpty()) {
+            throw new IllegalArgumentException("An archive segment must contain at least one event.");
+        }
+
+        List<Event> rows = new ArrayList<>(events);
+        rows.sort(Comparator.comparing(Event::getDate).thenComparing(Event::getTime).thenComparing(Event::getId));
+
+        List<String> planners = rows.stream()
+                .map(Event::getPlannerFullName)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        Map<String, Integer> plannerCodes = new HashMap<>();
+        for (int i = 0; i < planners.size(); i++) {
+            plannerCodes.put(planners.get(i), i);
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        int[] offsets = new int[EventSegment.SECTION_COUNT];
+
+        offsets[EventSegment.PLANNER_DICTIONARY_SECTION] = out.size();
+        for (String planner : planners) {
+            writeString(out, planner);
+        }
+
+        offsets[EventSegment.ID_SECTION] = out.size();
+        for (Event event : rows) {
+            out.writeLong(event.getId());
+        }
+
+        offsets[EventSegment.DATE_SECTION] = out.size();
+        for (Event event : rows) {
+            out.writeInt((int) event.getDate().toEpochDay());
+        }
+
+        offsets[EventSegment.TIME_SECTION] = out.size();
+        for (Event event : rows) {
+            out.writeInt(event.getTime().toSecondOfDay());
+        }
+
+        offsets[EventSegment.PLANNER_SECTION] = out.size();
+        for (Event event : rows) {
+            out.writeInt(plannerCodes.get(event.getPlannerFullName()));
+        }
+
+        offsets[EventSegment.VERSION_SECTION] = out.size();
+        for (Event event : rows) {
+            out.writeLong(Objects.isNull(event.getVersion()) ? 0L : event.getVersion());
+        }
+
+        offsets[EventSegment.ID_INDEX_SECTION] = out.size();
+        List<Integer> rowsById = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            rowsById.add(i);
+        }
+        rowsById.sort(Comparator.comparing(row -> rows.get(row).getId()));
+        for (int row : rowsById) {
+            out.writeLong(rows.get(row).getId());
+            out.writeInt(row);
+        }
+
+        ByteArrayOutputStream textData = new ByteArrayOutputStream();
+        offsets[EventSegment.TEXT_BLOCK_INDEX_SECTION] = out.size();
+        for (int from = 0; from < rows.size(); from += EventSegment.ROWS_PER_TEXT_BLOCK) {
+            byte[] raw = encodeTextBlock(rows.subList(from, Math.min(rows.size(), from + EventSegment.ROWS_PER_TEXT_BLOCK)));
+            byte[] compressed = deflate(raw);
+
+            out.writeInt(textData.size());
+            out.writeInt(compressed.length);
+            out.writeInt(raw.length);
+            textData.write(compressed);
+        }
+
+        offsets[EventSegment.TEXT_DATA_SECTION] = out.size();
+        textData.writeTo(out);
+        out.flush();
+
+        byte[] bodyBytes = body.toByteArray();
+        CRC32 checksum = new CRC32();
+        checksum.update(bodyBytes);
+
+        ByteBuffer header = ByteBuffer.allocate(EventSegment.HEADER_SIZE);
+        header.putInt(EventSegment.MAGIC)
+                .putInt(EventSegment.FORMAT_VERSION)
+                .putInt(rows.size())
+                .putInt(planners.size())
+                .putInt((rows.size() + EventSegment.ROWS_PER_TEXT_BLOCK - 1) / EventSegment.ROWS_PER_TEXT_BLOCK)
+                .putInt((int) rows.get(0).getDate().toEpochDay())
+                .putInt((int) rows.get(rows.size() - 1).getDate().toEpochDay())
+                .putLong(rows.get(rowsById.get(0)).getId())
+                .putLong(rows.get(rowsById.get(rowsById.size() - 1)).getId())
+                .putLong(checksum.getValue());
+        for (int offset : offsets) {
+            header.putInt(EventSegment.HEADER_SIZE + offset);
+        }
+        header.flip();
+
+        // The segment only becomes visible under its final name once it is fully on disk.
+        Path temporary = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer data = ByteBuffer.wrap(bodyBytes);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] encodeTextBlock(List<Event> events) throws IOException {
+        ByteArrayOutputStream block = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(block);
+
+        for (Event event : events) {
+            writeString(out, event.getSubject());
+            writeString(out, event.getDescription());
+            writeString(out, event.getVenue());
+        }
+
+        out.flush();
+        return block.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (Objects.isNull(value)) {
+            out.writeInt(EventSegment.NULL_LENGTH);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+}
\ No newline at end of file
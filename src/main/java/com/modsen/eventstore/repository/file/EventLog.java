@@ -0,0 +1,302 @@
+package com.modsen.eventstore.repository.file;
+
+import com.modsen.eventstore.model.Event;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+// An append-only log of event records. Every record is framed by its length and the CRC32 of its payload, so recovery
+// stops at the first torn or corrupted record. The file is preallocated in doubling steps and read through a
+// read-only memory mapping, while appends go through the channel.
+@Slf4j
+final class EventLog implements Closeable {
+
+    static final int MAGIC = 0x45564C47;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 2 * Integer.BYTES;
+    static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final int NULL_LENGTH = -1;
+    private static final int COPY_BUFFER_SIZE = 1 << 20;
+    private static final String COMPACTION_SUFFIX = ".compacting";
+
+    private final Path file;
+    private final long initialCapacity;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    @Getter
+    private long size;
+
+    private EventLog(Path file, long initialCapacity) {
+        this.file = file;
+        this.initialCapacity = initialCapacity;
+    }
+
+    static EventLog open(Path file, long initialCapacity) throws IOException {
+        Files.deleteIfExists(getCompactionFile(file));
+
+        EventLog eventLog = new EventLog(file, initialCapacity);
+        eventLog.openChannel();
+        return eventLog;
+    }
+
+    // Replays the intact records to the consumer with their positions and truncates the log after the last of them.
+    void recover(BiConsumer<Long, EventLogRecord> consumer) throws IOException {
+        long position = HEADER_SIZE;
+
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt((int) position);
+            if (length == 0) {
+                break;
+            }
+
+            if (length < 0 || position + RECORD_HEADER_SIZE + length > buffer.capacity() || !isIntact(position, length)) {
+                // A record cut short by a crash is dropped together with anything after it.
+                log.warn("The event log {} has a torn record at {}, it is truncated there.", file, position);
+                long capacity = buffer.capacity();
+                channel.truncate(position);
+                map(capacity);
+                break;
+            }
+
+            consumer.accept(position, read(position));
+            position += RECORD_HEADER_SIZE + length;
+        }
+
+        size = position;
+    }
+
+    long[] append(List<EventLogRecord> records, boolean sync) throws IOException {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        long[] positions = new long[records.size()];
+
+        for (int i = 0; i < records.size(); i++) {
+            positions[i] = size + batch.size();
+            batch.write(encode(records.get(i)));
+        }
+
+        long required = size + batch.size();
+        if (required > buffer.capacity()) {
+            long capacity = buffer.capacity();
+            while (capacity < required) {
+                capacity *= 2;
+            }
+            map(capacity);
+        }
+
+        writeFully(channel, ByteBuffer.wrap(batch.toByteArray()), size);
+        if (sync) {
+            channel.force(false);
+        }
+
+        size = required;
+        return positions;
+    }
+
+    EventLogRecord read(long position) {
+        ByteBuffer source = slice(position + RECORD_HEADER_SIZE, buffer.getInt((int) position));
+        EventLogRecord.Type type = EventLogRecord.Type.values()[source.get()];
+        long sequence = source.getLong();
+
+        if (type == EventLogRecord.Type.META) {
+            return EventLogRecord.meta(sequence, source.getLong());
+        }
+
+        long id = source.getLong();
+        long version = source.getLong();
+        LocalDate date = LocalDate.ofEpochDay(source.getInt());
+        LocalTime time = LocalTime.ofNanoOfDay(source.getLong());
+        Event event = new Event(id, readString(source), readString(source), readString(source), date, time, readString(source),
+                LocalDateTime.of(date, time), version, sequence, null);
+
+        if (type == EventLogRecord.Type.DELETE) {
+            return EventLogRecord.delete(sequence, event, LocalDateTime.ofEpochSecond(source.getLong(), source.getInt(), ZoneOffset.UTC));
+        }
+        if (type == EventLogRecord.Type.DEPART) {
+            return EventLogRecord.depart(sequence, event, LocalDateTime.ofEpochSecond(source.getLong(), source.getInt(), ZoneOffset.UTC));
+        }
+        return EventLogRecord.put(sequence, event);
+    }
+
+    int getRecordSize(long position) {
+        return RECORD_HEADER_SIZE + buffer.getInt((int) position);
+    }
+
+    // Copies the records at the given positions, in order, into a fresh log behind the meta record and atomically
+    // replaces this log with it. Returns the positions of the copied records in the new log.
+    long[] rewrite(EventLogRecord meta, long[] positions) throws IOException {
+        Path compactionFile = getCompactionFile(file);
+        long[] rewritten = new long[positions.length];
+        byte[] metaRecord = encode(meta);
+        long rewrittenSize = HEADER_SIZE + metaRecord.length;
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(compactionFile), COPY_BUFFER_SIZE)) {
+            out.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).array());
+            out.write(metaRecord);
+
+            for (int i = 0; i < positions.length; i++) {
+                byte[] record = new byte[getRecordSize(positions[i])];
+                slice(positions[i], record.length).get(record);
+                out.write(record);
+
+                rewritten[i] = rewrittenSize;
+                rewrittenSize += record.length;
+            }
+        }
+        try (FileChannel compacted = FileChannel.open(compactionFile, StandardOpenOption.WRITE)) {
+            compacted.force(true);
+        }
+
+        Files.move(compactionFile, file, StandardCopyOption.ATOMIC_MOVE);
+        channel.close();
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        long capacity = initialCapacity;
+        while (capacity < rewrittenSize) {
+            capacity *= 2;
+        }
+        map(capacity);
+        size = rewrittenSize;
+        return rewritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void openChannel() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() < HEADER_SIZE) {
+            writeFully(channel, ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip(), 0);
+            channel.force(true);
+        }
+
+        map(Math.max(channel.size(), initialCapacity));
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException(String.format("The file %s is not an event log.", file));
+        }
+        if (buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new IllegalStateException(String.format("The event log %s has an unsupported format version.", file));
+        }
+    }
+
+    private boolean isIntact(long position, int length) {
+        CRC32 checksum = new CRC32();
+        checksum.update(slice(position + RECORD_HEADER_SIZE, length));
+        return (int) checksum.getValue() == buffer.getInt((int) position + Integer.BYTES);
+    }
+
+    private void map(long capacity) throws IOException {
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException(String.format("The event log %s outgrew the size of a memory mapping.", file));
+        }
+
+        if (channel.size() < capacity) {
+            writeFully(channel, ByteBuffer.allocate(1), capacity - 1);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, capacity);
+    }
+
+    private ByteBuffer slice(long position, int length) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.position((int) position).limit((int) position + length);
+        return slice.slice();
+    }
+
+    private static byte[] encode(EventLogRecord record) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+
+        out.writeByte(record.getType().ordinal());
+        out.writeLong(record.getSequence());
+
+        if (record.getType() == EventLogRecord.Type.META) {
+            out.writeLong(record.getNextId());
+        } else {
+            Event event = record.getEvent();
+            out.writeLong(event.getId());
+            out.writeLong(Objects.isNull(event.getVersion()) ? 0L : event.getVersion());
+            out.writeInt((int) event.getDate().toEpochDay());
+            out.writeLong(event.getTime().toNanoOfDay());
+            writeString(out, event.getSubject());
+            writeString(out, event.getDescription());
+            writeString(out, event.getPlannerFullName());
+            writeString(out, event.getVenue());
+
+            if (record.getType() == EventLogRecord.Type.DELETE || record.getType() == EventLogRecord.Type.DEPART) {
+                out.writeLong(record.getDeletedAt().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(record.getDeletedAt().getNano());
+            }
+        }
+        out.flush();
+
+        byte[] payload = body.toByteArray();
+        CRC32 checksum = new CRC32();
+        checksum.update(payload);
+
+        return ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length)
+                .putInt(payload.length)
+                .putInt((int) checksum.getValue())
+                .put(payload)
+                .array();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (Objects.isNull(value)) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer source) {
+        int length = source.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer source, long position) throws IOException {
+        while (source.hasRemaining()) {
+            position += target.write(source, position);
+        }
+    }
+
+    private static Path getCompactionFile(Path file) {
+        return file.resolveSibling(file.getFileName() + COMPACTION_SUFFIX);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.modsen.eventstore.repository.file;
+
+import com.modsen.eventstore.model.Event;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class EventLogRecord {
+
+    enum Type {
+        PUT,
+        DELETE,
+        META,
+        DEPART
+    }
+
+    private final Type type;
+
+    private final long sequence;
+
+    // The full event of a put, the filterable fields of the deleted event of a delete, the event before the update of
+    // a departure.
+    private final Event event;
+
+    // The time of a delete or a departure.
+    private final LocalDateTime deletedAt;
+
+    private final long nextId;
+
+    static EventLogRecord put(long sequence, Event event) {
+        return new EventLogRecord(Type.PUT, sequence, event, null, 0L);
+    }
+
+    static EventLogRecord delete(long sequence, Event event, LocalDateTime deletedAt) {
+        return new EventLogRecord(Type.DELETE, sequence, event, deletedAt, 0L);
+    }
+
+    // Written before the put of an update that changes the filterable fields, see FileEventRepository.findChanges.
+    static EventLogRecord depart(long sequence, Event event, LocalDateTime departedAt) {
+        return new EventLogRecord(Type.DEPART, sequence, event, departedAt, 0L);
+    }
+
+    // Carries the id and sequence counters over a compaction that drops the records they were derived from.
+    static EventLogRecord meta(long nextSequence, long nextId) {
+        return new EventLogRecord(Type.META, nextSequence, null, null, nextId);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.modsen.eventstore.repository.file;
+
+import com.modsen.eventstore.model.Event;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Evaluates a search query the way websearch_to_tsquery('simple', ...) does against the search documents: words are
+// ANDed, "or" separates alternatives, a leading "-" negates a word and quotes form a phrase. The rank weighs matches
+// like ts_rank does for the weights of the subject, the description and the venue.
+final class EventSearchQuery {
+
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("\"([^\"]*)\"?|(\\S+)");
+    private static final Pattern WORD_SEPARATOR_PATTERN = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String OR_OPERATOR = "or";
+    private static final String NOT_OPERATOR = "-";
+    private static final double[] FIELD_WEIGHTS = {1.0, 0.4, 0.2};
+
+    private final List<List<Term>> alternatives;
+
+    private EventSearchQuery(List<List<Term>> alternatives) {
+        this.alternatives = alternatives;
+    }
+
+    static EventSearchQuery parse(String search) {
+        List<List<Term>> alternatives = new ArrayList<>();
+        List<Term> terms = new ArrayList<>();
+        Matcher matcher = TOKEN_PATTERN.matcher(search);
+
+        while (matcher.find()) {
+            boolean quoted = Objects.nonNull(matcher.group(1));
+            String token = quoted ? matcher.group(1) : matcher.group(2);
+
+            if (!quoted && token.equalsIgnoreCase(OR_OPERATOR)) {
+                if (!terms.isEmpty()) {
+                    alternatives.add(terms);
+                    terms = new ArrayList<>();
+                }
+                continue;
+            }
+
+            boolean negated = !quoted && token.startsWith(NOT_OPERATOR);
+            List<String> words = tokenize(negated ? token.substring(NOT_OPERATOR.length()) : token);
+            if (!words.isEmpty()) {
+                terms.add(new Term(words, negated));
+            }
+        }
+
+        if (!terms.isEmpty()) {
+            alternatives.add(terms);
+        }
+        return new EventSearchQuery(alternatives);
+    }
+
+    boolean matches(Event event) {
+        List<List<String>> document = getDocument(event);
+
+        for (List<Term> terms : alternatives) {
+            if (terms.stream().allMatch(term -> term.occursIn(document) != term.negated)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    double rank(Event event) {
+        List<List<String>> document = getDocument(event);
+        double rank = 0.0;
+
+        for (List<Term> terms : alternatives) {
+            for (Term term : terms) {
+                if (!term.negated) {
+                    for (int i = 0; i < FIELD_WEIGHTS.length; i++) {
+                        rank += FIELD_WEIGHTS[i] * term.countIn(document.get(i));
+                    }
+                }
+            }
+        }
+        return rank;
+    }
+
+    private static List<List<String>> getDocument(Event event) {
+        return List.of(tokenize(event.getSubject()), tokenize(event.getDescription()), tokenize(event.getVenue()));
+    }
+
+    private static List<String> tokenize(String text) {
+        if (Objects.isNull(text)) {
+            return List.of();
+        }
+
+        return Arrays.stream(WORD_SEPARATOR_PATTERN.split(text.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    @AllArgsConstructor
+    private static class Term {
+
+        private final List<String> words;
+        private final boolean negated;
+
+        boolean occursIn(List<List<String>> document) {
+            return document.stream().anyMatch(tokens -> countIn(tokens) > 0);
+        }
+
+        int countIn(List<String> tokens) {
+            int count = 0;
+            for (int i = 0; i + words.size() <= tokens.size(); i++) {
+                if (tokens.subList(i, i + words.size()).equals(words)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+    }
+
+}
\ No newline at end of file
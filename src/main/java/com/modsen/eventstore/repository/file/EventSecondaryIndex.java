@@ -0,0 +1,57 @@
+package com.modsen.eventstore.repository.file;
+
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// A sorted index of event ids by the value of one field, the ids sharing a value form a group.
+final class EventSecondaryIndex<K extends Comparable<? super K>> {
+
+    private final NavigableMap<K, Set<Long>> groups = new TreeMap<>();
+
+    void add(K key, long id) {
+        groups.computeIfAbsent(key, value -> new TreeSet<>()).add(id);
+    }
+
+    void remove(K key, long id) {
+        Set<Long> group = groups.get(key);
+        if (Objects.nonNull(group)) {
+            group.remove(id);
+            if (group.isEmpty()) {
+                groups.remove(key);
+            }
+        }
+    }
+
+    Set<Long> get(K key) {
+        return groups.getOrDefault(key, Set.of());
+    }
+
+    // The groups within [from, to] in the order of their values; null bounds are open.
+    NavigableMap<K, Set<Long>> range(K from, K to, boolean descending) {
+        NavigableMap<K, Set<Long>> range = groups;
+        if (Objects.nonNull(from) && Objects.nonNull(to) && from.compareTo(to) > 0) {
+            return new TreeMap<>();
+        }
+        if (Objects.nonNull(from)) {
+            range = range.tailMap(from, true);
+        }
+        if (Objects.nonNull(to)) {
+            range = range.headMap(to, true);
+        }
+
+        return descending ? range.descendingMap() : range;
+    }
+
+    Collection<Set<Long>> range(K from, K to) {
+        return range(from, to, false).values();
+    }
+
+    void clear() {
+        groups.clear();
+    }
+
+}
\ No newline at end of file
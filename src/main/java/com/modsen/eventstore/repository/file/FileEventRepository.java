@@ -0,0 +1,862 @@
+package com.modsen.eventstore.repository.file;
+
+import com.modsen.eventstore.dto.criteria.CountMode;
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventChangeToken;
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.dto.event.EventChange;
+import com.modsen.eventstore.dto.event.EventChangeHorizon;
+import com.modsen.eventstore.dto.event.EventChangeType;
+import com.modsen.eventstore.dto.event.EventDelta;
+import com.modsen.eventstore.dto.event.EventResponseField;
+import com.modsen.eventstore.dto.event.EventView;
+import com.modsen.eventstore.dto.page.PageResult;
+import com.modsen.eventstore.exception.NotExistEntityException;
+import com.modsen.eventstore.exception.StaleEntityException;
+import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.repository.EventChangeRepository;
+import com.modsen.eventstore.repository.EventRepository;
+import com.modsen.eventstore.repository.impl.EventCriteriaEvaluator;
+import com.modsen.eventstore.repository.impl.EventProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+// An embedded engine for deployments without Postgres. Every change is appended to the event log, the current
+// version of each event is located through an in-memory index of log positions and read back through the log's
+// memory mapping, and sorted secondary indexes on date, time and planner narrow the events a query has to read.
+@Slf4j
+@Repository
+@Profile("file-store")
+public class FileEventRepository implements EventRepository, EventChangeRepository {
+
+    private static final String LOG_FILE_NAME = "events.log";
+    private static final long BYTES_PER_MIB = 1024L * 1024L;
+    private static final int SCROLL_BATCH_SIZE = 1000;
+    private static final String VERSION_FIELD_NAME = "version";
+    private static final Map<String, BiConsumer<Event, Event>> UPDATABLE_FIELD_SETTERS = new LinkedHashMap<>();
+
+    static {
+        UPDATABLE_FIELD_SETTERS.put("subject", (target, source) -> target.setSubject(source.getSubject()));
+        UPDATABLE_FIELD_SETTERS.put("description", (target, source) -> target.setDescription(source.getDescription()));
+        UPDATABLE_FIELD_SETTERS.put("plannerFullName", (target, source) -> target.setPlannerFullName(source.getPlannerFullName()));
+        UPDATABLE_FIELD_SETTERS.put("date", (target, source) -> target.setDate(source.getDate()));
+        UPDATABLE_FIELD_SETTERS.put("time", (target, source) -> target.setTime(source.getTime()));
+        UPDATABLE_FIELD_SETTERS.put("venue", (target, source) -> target.setVenue(source.getVenue()));
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Long> positions = new HashMap<>();
+    private final Map<Long, Long> tombstones = new HashMap<>();
+    private final NavigableMap<Long, Long> changes = new TreeMap<>();
+    private final Map<Long, Long> departures = new HashMap<>();
+    private final EventSecondaryIndex<LocalDate> dateIndex = new EventSecondaryIndex<>();
+    private final EventSecondaryIndex<LocalTime> timeIndex = new EventSecondaryIndex<>();
+    private final EventSecondaryIndex<String> plannerIndex = new EventSecondaryIndex<>();
+    private final boolean syncOnWrite;
+    private final double compactionThreshold;
+    private final EventLog eventLog;
+    private long nextId = 1L;
+    private long nextSequence = 1L;
+    private long garbageSize;
+
+    public FileEventRepository(@Value("${file-store.directory}") String directory,
+                               @Value("${file-store.sync-on-write}") boolean syncOnWrite,
+                               @Value("${file-store.initial-capacity-mib}") int initialCapacityMib,
+                               @Value("${file-store.compaction-threshold}") double compactionThreshold) {
+        this.syncOnWrite = syncOnWrite;
+        this.compactionThreshold = compactionThreshold;
+
+        Path file = Paths.get(directory).resolve(LOG_FILE_NAME);
+        try {
+            Files.createDirectories(file.getParent());
+            eventLog = EventLog.open(file, initialCapacityMib * BYTES_PER_MIB);
+            eventLog.recover(this::apply);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("The event log %s cannot be opened.", file), e);
+        }
+
+        log.info("Loaded {} events and {} tombstones from {}.", positions.size(), tombstones.size(), file);
+    }
+
+    @PreDestroy
+    public void close() {
+        withWriteLock(() -> {
+            try {
+                eventLog.close();
+            } catch (IOException e) {
+                log.warn("The event log cannot be closed.", e);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Event save(Event event) {
+        log.info("Try to save entity {} in file store.", event);
+        checkNewEntity(event);
+
+        return withWriteLock(() -> {
+            write(List.of(createRecord(event, nextId, nextSequence)));
+            return event;
+        });
+    }
+
+    @Override
+    public List<Event> saveAll(List<Event> events) {
+        log.info("Try to save a batch of entities in file store.");
+        Assert.notNull(events, "The entities being saved cannot be null.");
+        events.forEach(this::checkNewEntity);
+
+        return withWriteLock(() -> {
+            List<EventLogRecord> records = new ArrayList<>(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                records.add(createRecord(events.get(i), nextId + i, nextSequence + i));
+            }
+
+            write(records);
+            return events;
+        });
+    }
+
+    @Override
+    public Optional<Event> findById(Long id) {
+        log.info("Try to find event entity with id = {}.", id);
+        Assert.notNull(id, "The id to search for an entity cannot be null.");
+
+        return withReadLock(() -> Optional.ofNullable(positions.get(id)).map(this::readEvent));
+    }
+
+    @Override
+    public Optional<EventView> findProjectionById(Long id, Set<EventResponseField> fields) {
+        log.info("Try to find event projection with id = {} and fields {}.", id, fields);
+        Assert.notNull(id, "The id to search for an entity cannot be null.");
+
+        Set<EventResponseField> selectedFields = EventProjection.getSelectedFields(fields, null);
+        return findById(id).map(event -> EventProjection.project(event, selectedFields));
+    }
+
+    @Override
+    public List<Event> findAllById(Collection<Long> ids) {
+        log.info("Try to find event entities with ids = {}.", ids);
+        Assert.notNull(ids, "The ids to search for entities cannot be null.");
+
+        return withReadLock(() -> ids.stream()
+                .distinct()
+                .map(positions::get)
+                .filter(Objects::nonNull)
+                .map(this::readEvent)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<EventView> findAllProjectionsById(Collection<Long> ids) {
+        log.info("Try to find event projections with ids = {}.", ids);
+        Assert.notNull(ids, "The ids to search for entities cannot be null.");
+
+        Set<EventResponseField> fields = EnumSet.allOf(EventResponseField.class);
+        return findAllById(ids).stream()
+                .map(event -> EventProjection.project(event, fields))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Long> findExistingIds(Collection<Long> ids) {
+        log.info("Try to find existing event ids among {}.", ids);
+        Assert.notNull(ids, "The ids to search for entities cannot be null.");
+
+        return withReadLock(() -> ids.stream()
+                .distinct()
+                .filter(positions::containsKey)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public Event update(Event event) {
+        log.info("Try to update entity {} in file store.", event);
+        Assert.notNull(event, "The entity being updated cannot be null.");
+        Assert.notNull(event.getId(), "The id of the entity being updated cannot be null.");
+
+        Long version = withWriteLock(() -> {
+            Event current = getCurrent(event);
+            Event updated = copy(event);
+            updated.setVersion(current.getVersion() + 1);
+
+            List<EventLogRecord> records = new ArrayList<>(2);
+            addDeparture(records, current, updated);
+            records.add(EventLogRecord.put(nextSequence + records.size(), updated));
+            write(records);
+            return updated.getVersion();
+        });
+
+        event.setStartsAt(LocalDateTime.of(event.getDate(), event.getTime()));
+        event.setVersion(version);
+        return event;
+    }
+
+    @Override
+    public void patch(Event event, Set<String> fieldNames) {
+        log.info("Try to patch fields {} of entity {} in file store.", fieldNames, event);
+        Assert.notNull(event, "The entity being patched cannot be null.");
+        Assert.notNull(event.getId(), "The id of the entity being patched cannot be null.");
+        Assert.notNull(fieldNames, "The fields being patched cannot be null.");
+
+        Set<String> patchedFieldNames = fieldNames.stream()
+                .filter(fieldName -> !fieldName.equals(VERSION_FIELD_NAME))
+                .collect(Collectors.toSet());
+
+        if (patchedFieldNames.isEmpty()) {
+            throw new IllegalArgumentException("The patch must contain at least one field to change.");
+        }
+
+        for (String fieldName : patchedFieldNames) {
+            if (!UPDATABLE_FIELD_SETTERS.containsKey(fieldName)) {
+                throw new IllegalArgumentException(String.format("The field %s cannot be patched.", fieldName));
+            }
+        }
+
+        withWriteLock(() -> {
+            Event current = getCurrent(event);
+            Event patched = copy(current);
+            patchedFieldNames.forEach(fieldName -> UPDATABLE_FIELD_SETTERS.get(fieldName).accept(patched, event));
+            patched.setVersion(current.getVersion() + 1);
+
+            List<EventLogRecord> records = new ArrayList<>(2);
+            addDeparture(records, current, patched);
+            records.add(EventLogRecord.put(nextSequence + records.size(), patched));
+            write(records);
+            return patched;
+        });
+    }
+
+    @Override
+    public List<Event> updateAll(List<Event> events, Collection<Event> currentEvents) {
+        log.info("Try to update a batch of entities in file store.");
+        Assert.notNull(events, "The entities being updated cannot be null.");
+        Assert.notNull(currentEvents, "The current entities of the batch cannot be null.");
+        Assert.noNullElements(events.stream().map(Event::getId).collect(Collectors.toList()),
+                "The id of the entity being updated cannot be null.");
+
+        return withWriteLock(() -> {
+            List<EventLogRecord> records = new ArrayList<>(events.size());
+            List<Event> updated = new ArrayList<>(events.size());
+
+            // The versions are checked against the log under the lock rather than against the loaded entities, which
+            // may already be stale. Every version is checked before the first record is written, so a conflict leaves
+            // the batch unapplied.
+            for (Event event : events) {
+                Event current = getCurrent(event);
+                Event next = copy(event);
+                next.setVersion(current.getVersion() + 1);
+                addDeparture(records, current, next);
+                next.setChangeXid(nextSequence + records.size());
+
+                records.add(EventLogRecord.put(next.getChangeXid(), next));
+                updated.add(next);
+            }
+
+            write(records);
+            return updated;
+        });
+    }
+
+    @Override
+    public void delete(Long id) {
+        log.info("Try to delete event with id = {}.", id);
+        Assert.notNull(id, "The id of the entity being deleted cannot be null.");
+
+        withWriteLock(() -> {
+            Long position = positions.get(id);
+            if (Objects.isNull(position)) {
+                throw new NotExistEntityException(String.format("The entity being deleted with id = %s does not exist in the database", id));
+            }
+
+            writeDeletes(List.of(readEvent(position)));
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll(Collection<Long> ids) {
+        log.info("Try to delete events with ids = {}.", ids);
+        Assert.notNull(ids, "The ids of the entities being deleted cannot be null.");
+
+        withWriteLock(() -> {
+            writeDeletes(ids.stream()
+                    .distinct()
+                    .map(positions::get)
+                    .filter(Objects::nonNull)
+                    .map(this::readEvent)
+                    .collect(Collectors.toList()));
+            return null;
+        });
+    }
+
+    @Override
+    public int deleteAllByCriteria(EventCriteria criteria) {
+        log.info("Try to delete events by criteria {}.", criteria);
+        Assert.notNull(criteria, "The criteria for deleting values can't be null.");
+
+        boolean hasFilter = Objects.nonNull(criteria.getFilter()) && !criteria.getFilter().isEmpty();
+        if (!hasFilter && Objects.isNull(criteria.getSearch())) {
+            throw new IllegalArgumentException("The criteria for deleting events must contain a filter or a search query.");
+        }
+
+        return withWriteLock(() -> {
+            List<Event> deleted = new ArrayList<>();
+            forEachMatching(criteria, deleted::add);
+
+            writeDeletes(deleted);
+            return deleted.size();
+        });
+    }
+
+    @Override
+    public EventDelta<EventView> findChanges(EventCriteria criteria, EventChangeToken token, int limit) {
+        log.info("Try to find event changes by criteria {} after token {}.", criteria, token);
+        Assert.notNull(criteria, "The criteria for finding values can't be null");
+        Assert.notNull(token, "The change token cannot be null.");
+
+        EventCriteriaEvaluator evaluator = EventCriteriaEvaluator.of(EventCriteria.of(null, criteria.getFilter(), null));
+        Set<EventResponseField> fields = EnumSet.allOf(EventResponseField.class);
+        boolean filtered = Objects.nonNull(criteria.getFilter()) && !criteria.getFilter().isEmpty();
+
+        return withReadLock(() -> {
+            // Log sequences stand in for transaction ids: every change below the next sequence is already visible.
+            long nextFloor = token.isPaged() ? token.getNextFloor() : nextSequence;
+            long nextFloorIssuedAt = token.isPaged() ? token.getNextFloorIssuedAt() : System.currentTimeMillis();
+            long from = Objects.isNull(token.getAfterChangeXid()) ? token.getFloor() : Math.max(token.getFloor(), token.getAfterChangeXid() + 1);
+
+            List<EventView> updated = new ArrayList<>();
+            List<Long> deleted = new ArrayList<>();
+            EventLogRecord last = null;
+            boolean hasMore = false;
+
+            for (Map.Entry<Long, Long> change : changes.tailMap(from, true).entrySet()) {
+                EventLogRecord record = eventLog.read(change.getValue());
+                Event event = record.getEvent();
+
+                if (!isCurrentChange(record, change.getValue(), token, filtered, evaluator) || !evaluator.matches(event)) {
+                    continue;
+                }
+                if (updated.size() + deleted.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+
+                last = record;
+                if (record.getType() == EventLogRecord.Type.PUT) {
+                    updated.add(EventProjection.project(event, fields));
+                } else if (!deleted.contains(event.getId())) {
+                    deleted.add(event.getId());
+                }
+            }
+
+            EventChangeToken nextToken = hasMore
+                    ? EventChangeToken.of(token.getFloor(), token.getFloorIssuedAt(), nextFloor, nextFloorIssuedAt, last.getSequence(),
+                    last.getEvent().getId())
+                    : EventChangeToken.complete(nextFloor, nextFloorIssuedAt);
+
+            return new EventDelta<>(updated, deleted, nextToken.toToken(), hasMore);
+        });
+    }
+
+    @Override
+    public int deleteTombstonesBefore(LocalDateTime deletedAt) {
+        log.info("Try to delete event tombstones older than {}.", deletedAt);
+        Assert.notNull(deletedAt, "The deletion time to delete tombstones before cannot be null.");
+
+        return withWriteLock(() -> {
+            int deleted = 0;
+            Iterator<Long> iterator = tombstones.values().iterator();
+
+            while (iterator.hasNext()) {
+                long position = iterator.next();
+                if (eventLog.read(position).getDeletedAt().isBefore(deletedAt)) {
+                    garbageSize += eventLog.getRecordSize(position);
+                    iterator.remove();
+                    deleted++;
+                }
+            }
+
+            Iterator<Long> departureIterator = departures.values().iterator();
+            while (departureIterator.hasNext()) {
+                long position = departureIterator.next();
+                if (eventLog.read(position).getDeletedAt().isBefore(deletedAt)) {
+                    garbageSize += eventLog.getRecordSize(position);
+                    departureIterator.remove();
+                    deleted++;
+                }
+            }
+
+            return deleted;
+        });
+    }
+
+    @Override
+    public List<Event> findAll() {
+        log.info("Try read all events.");
+
+        return withReadLock(() -> positions.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> readEvent(entry.getValue()))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Event> findAll(EventCriteria criteria) {
+        log.info("Try to find event by criteria {}", criteria);
+        Assert.notNull(criteria, "The criteria for finding values can't be null");
+
+        return withReadLock(() -> query(criteria));
+    }
+
+    @Override
+    public List<EventView> findAllProjections(EventCriteria criteria) {
+        log.info("Try to find event projections by criteria {}", criteria);
+        Assert.notNull(criteria, "The criteria for finding values can't be null");
+
+        Set<EventResponseField> fields = EventProjection.getSelectedFields(criteria.getFields(), criteria.getSort());
+        return withReadLock(() -> query(criteria)).stream()
+                .map(event -> EventProjection.project(event, fields))
+                .collect(Collectors.toList());
+    }
+
+    // Counting reads the same indexes a query does, so an estimate would cost as much as the exact count.
+    @Override
+    public PageResult<EventView> findProjectionPage(EventCriteria criteria) {
+        log.info("Try to find a page of event projections by criteria {}", criteria);
+        Assert.notNull(criteria, "The criteria for finding values can't be null");
+
+        CountMode countMode = Objects.isNull(criteria.getCountMode()) ? CountMode.NONE : criteria.getCountMode();
+
+        return withReadLock(() -> {
+            List<EventView> events = findAllProjections(criteria);
+            if (countMode == CountMode.NONE) {
+                return new PageResult<>(events, null);
+            }
+
+            long[] count = new long[1];
+            forEachMatching(criteria, event -> count[0]++);
+            return new PageResult<>(events, count[0]);
+        });
+    }
+
+    @Override
+    public void scrollAll(Consumer<Event> consumer) {
+        log.info("Try to scroll all events.");
+        Assert.notNull(consumer, "The consumer of the scrolled events cannot be null.");
+
+        List<Long> ids = withReadLock(() -> new ArrayList<>(positions.keySet()));
+        ids.sort(Comparator.naturalOrder());
+
+        // The lock is only held per batch, so a slow consumer does not block writers for the whole scroll.
+        for (int from = 0; from < ids.size(); from += SCROLL_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + SCROLL_BATCH_SIZE));
+            withReadLock(() -> batch.stream()
+                    .map(positions::get)
+                    .filter(Objects::nonNull)
+                    .map(this::readEvent)
+                    .collect(Collectors.toList()))
+                    .forEach(consumer);
+        }
+    }
+
+    @Override
+    public List<EventChange> findAllAfter(Long id, Long upToId, int limit) {
+        log.info("Try to find event changes after id = {} up to id = {} with limit {}.", id, upToId, limit);
+        Assert.notNull(id, "The id to search for changes after cannot be null.");
+        Assert.notNull(upToId, "The id to search for changes up to cannot be null.");
+
+        if (upToId <= id) {
+            return new ArrayList<>();
+        }
+
+        return withReadLock(() -> changes.subMap(id, false, upToId, true).entrySet().stream()
+                .filter(change -> !departures.containsKey(change.getKey()))
+                .map(Map.Entry::getValue)
+                .limit(limit)
+                .map(eventLog::read)
+                .map(this::toChange)
+                .collect(Collectors.toList()));
+    }
+
+    // Changes are appended under the write lock in the order of their ids, so every horizon is settled at once.
+    @Override
+    public EventChangeHorizon findHorizon() {
+        return withReadLock(() -> new EventChangeHorizon(changes.isEmpty() ? 0L : changes.lastKey(), 0L));
+    }
+
+    @Override
+    public boolean isSettled(EventChangeHorizon horizon) {
+        Assert.notNull(horizon, "The horizon of event changes cannot be null.");
+        return true;
+    }
+
+    // Superseded changes leave the log with the compaction that drops their records, there is no outbox to trim.
+    @Override
+    public int deleteAllCreatedBefore(LocalDateTime createdAt) {
+        return 0;
+    }
+
+    // Rewrites the log with only the current events and retained tombstones once superseded records take up
+    // the configured share of it. The records keep their sequences, so change tokens stay valid.
+    @Scheduled(fixedDelayString = "${file-store.compaction-interval}", initialDelayString = "${file-store.compaction-interval}")
+    public void compact() {
+        withWriteLock(() -> {
+            long size = eventLog.getSize() - EventLog.HEADER_SIZE;
+            if (garbageSize == 0 || garbageSize < compactionThreshold * size) {
+                return null;
+            }
+
+            log.info("Try to compact the event log, {} of its {} bytes are superseded.", garbageSize, size);
+            long[] live = LongStream.concat(LongStream.concat(positions.values().stream().mapToLong(Long::longValue),
+                    tombstones.values().stream().mapToLong(Long::longValue)),
+                    departures.values().stream().mapToLong(Long::longValue)).sorted().toArray();
+
+            long[] rewritten;
+            try {
+                rewritten = eventLog.rewrite(EventLogRecord.meta(nextSequence, nextId), live);
+            } catch (IOException e) {
+                throw new UncheckedIOException("The event log cannot be compacted.", e);
+            }
+
+            Map<Long, Long> moved = new HashMap<>(live.length * 2);
+            for (int i = 0; i < live.length; i++) {
+                moved.put(live[i], rewritten[i]);
+            }
+            positions.replaceAll((id, position) -> moved.get(position));
+            tombstones.replaceAll((id, position) -> moved.get(position));
+            departures.replaceAll((sequence, position) -> moved.get(position));
+            changes.values().removeIf(position -> !moved.containsKey(position));
+            changes.replaceAll((sequence, position) -> moved.get(position));
+            garbageSize = 0;
+
+            log.info("Compacted the event log to {} bytes.", eventLog.getSize());
+            return null;
+        });
+    }
+
+    private List<Event> query(EventCriteria criteria) {
+        EventCriteriaEvaluator evaluator = EventCriteriaEvaluator.of(criteria);
+        EventSearchQuery search = Objects.isNull(criteria.getSearch()) ? null : EventSearchQuery.parse(criteria.getSearch());
+        List<EventSortingCriteria> sort = Objects.isNull(criteria.getSort()) ? List.of() : criteria.getSort();
+
+        if (Objects.isNull(search) || !sort.isEmpty()) {
+            return evaluator.page(collect(evaluator, search, sort));
+        }
+
+        PaginationCriteria pagination = criteria.getPagination();
+        if (Objects.nonNull(pagination) && Objects.nonNull(pagination.getCursor())) {
+            throw new IllegalArgumentException("The pagination cursor cannot be used when the search results are ordered by relevance.");
+        }
+
+        List<Event> events = collect(evaluator, search, sort);
+        Map<Long, Double> ranks = events.stream().collect(Collectors.toMap(Event::getId, search::rank));
+        return evaluator.page(events, Comparator.comparing((Event event) -> ranks.get(event.getId()))
+                .reversed()
+                .thenComparing(Event::getId));
+    }
+
+    // When the leading sort field is indexed its groups are read in sort order, and the read stops as soon as
+    // the complete groups read so far hold the requested page.
+    private List<Event> collect(EventCriteriaEvaluator evaluator, EventSearchQuery search, List<EventSortingCriteria> sort) {
+        int limit = evaluator.getFetchLimit();
+        Collection<Set<Long>> sortedGroups = limit == Integer.MAX_VALUE || sort.isEmpty() ? null : getSortedGroups(sort.get(0), evaluator);
+        Collection<Set<Long>> groups = Objects.isNull(sortedGroups) ? getCandidateGroups(evaluator) : sortedGroups;
+        List<Event> events = new ArrayList<>();
+
+        for (Set<Long> group : groups) {
+            for (Long id : group) {
+                Event event = readEvent(positions.get(id));
+                if (isMatching(event, evaluator, search) && evaluator.isAfterCursor(event)) {
+                    events.add(event);
+                }
+            }
+
+            if (Objects.nonNull(sortedGroups) && events.size() >= limit) {
+                break;
+            }
+        }
+
+        return events;
+    }
+
+    private void forEachMatching(EventCriteria criteria, Consumer<Event> consumer) {
+        EventCriteriaEvaluator evaluator = EventCriteriaEvaluator.of(EventCriteria.of(null, criteria.getFilter(), null));
+        EventSearchQuery search = Objects.isNull(criteria.getSearch()) ? null : EventSearchQuery.parse(criteria.getSearch());
+
+        for (Set<Long> group : getCandidateGroups(evaluator)) {
+            for (Long id : group) {
+                Event event = readEvent(positions.get(id));
+                if (isMatching(event, evaluator, search)) {
+                    consumer.accept(event);
+                }
+            }
+        }
+    }
+
+    private boolean isMatching(Event event, EventCriteriaEvaluator evaluator, EventSearchQuery search) {
+        return evaluator.matches(event) && (Objects.isNull(search) || search.matches(event));
+    }
+
+    private Collection<Set<Long>> getSortedGroups(EventSortingCriteria leading, EventCriteriaEvaluator evaluator) {
+        boolean descending = leading.getDirection() == SortingDirection.DESC;
+        Comparable<?> cursorValue = evaluator.getLeadingCursorValue().orElse(null);
+
+        switch (leading.getField()) {
+            case DATE:
+            case STARTS_AT:
+                LocalDate cursorDate = cursorValue instanceof LocalDateTime ? ((LocalDateTime) cursorValue).toLocalDate() : (LocalDate) cursorValue;
+                return getSortedGroups(dateIndex, evaluator.getMinDate(), evaluator.getMaxDate(), cursorDate, descending).values();
+            case TIME:
+                return getSortedGroups(timeIndex, evaluator.getMinTime(), evaluator.getMaxTime(), (LocalTime) cursorValue, descending).values();
+            case PLANNER:
+                Set<String> planners = evaluator.getPlanners();
+                return getSortedGroups(plannerIndex, null, null, (String) cursorValue, descending).entrySet().stream()
+                        .filter(group -> Objects.isNull(planners) || planners.contains(group.getKey()))
+                        .map(Map.Entry::getValue)
+                        .collect(Collectors.toList());
+            default:
+                return null;
+        }
+    }
+
+    // The cursor moves the bound the sort order starts from up to its own value.
+    private <K extends Comparable<? super K>> NavigableMap<K, Set<Long>> getSortedGroups(EventSecondaryIndex<K> index, K from, K to,
+                                                                                        K cursor, boolean descending) {
+        if (Objects.nonNull(cursor)) {
+            if (descending && (Objects.isNull(to) || cursor.compareTo(to) < 0)) {
+                to = cursor;
+            }
+            if (!descending && (Objects.isNull(from) || cursor.compareTo(from) > 0)) {
+                from = cursor;
+            }
+        }
+
+        return index.range(from, to, descending);
+    }
+
+    private Collection<Set<Long>> getCandidateGroups(EventCriteriaEvaluator evaluator) {
+        if (Objects.nonNull(evaluator.getMinDate()) || Objects.nonNull(evaluator.getMaxDate())) {
+            return dateIndex.range(evaluator.getMinDate(), evaluator.getMaxDate());
+        }
+        if (Objects.nonNull(evaluator.getPlanners())) {
+            return evaluator.getPlanners().stream().map(plannerIndex::get).collect(Collectors.toList());
+        }
+        if (Objects.nonNull(evaluator.getMinTime()) || Objects.nonNull(evaluator.getMaxTime())) {
+            return timeIndex.range(evaluator.getMinTime(), evaluator.getMaxTime());
+        }
+
+        return List.of(positions.keySet());
+    }
+
+    private Event getCurrent(Event event) {
+        Long position = positions.get(event.getId());
+        if (Objects.isNull(position)) {
+            throw new NotExistEntityException(
+                    String.format("Entity of type Event with id = %d not exist in data base.", event.getId())
+            );
+        }
+
+        Event current = readEvent(position);
+        if (Objects.nonNull(event.getVersion()) && !event.getVersion().equals(current.getVersion())) {
+            throw new StaleEntityException(String.format(
+                    "Entity of type Event with id = %d was modified concurrently, its version %d is stale.", event.getId(), event.getVersion()
+            ));
+        }
+        return current;
+    }
+
+    private EventLogRecord createRecord(Event event, long id, long sequence) {
+        event.setId(id);
+        event.setVersion(0L);
+        event.setStartsAt(LocalDateTime.of(event.getDate(), event.getTime()));
+        event.setChangeXid(sequence);
+        return EventLogRecord.put(sequence, event);
+    }
+
+    private void writeDeletes(List<Event> events) {
+        LocalDateTime deletedAt = LocalDateTime.now();
+        List<EventLogRecord> records = new ArrayList<>(events.size());
+
+        for (Event event : events) {
+            records.add(EventLogRecord.delete(nextSequence + records.size(), event, deletedAt));
+        }
+
+        if (!records.isEmpty()) {
+            write(records);
+        }
+    }
+
+    // Keeps the filterable fields an update moves the event away from, so that a filtered sync can remove the event
+    // from its view. It is written before the put and takes the sequence just below it.
+    private void addDeparture(List<EventLogRecord> records, Event current, Event next) {
+        if (Objects.equals(current.getSubject(), next.getSubject())
+                && Objects.equals(current.getPlannerFullName(), next.getPlannerFullName())
+                && Objects.equals(current.getDate(), next.getDate())
+                && Objects.equals(current.getTime(), next.getTime())) {
+            return;
+        }
+
+        records.add(EventLogRecord.depart(nextSequence + records.size(), current, LocalDateTime.now()));
+    }
+
+    // A departure is only reported to a filtered sync and only while the current event does not match the filter,
+    // otherwise the event is reported as updated.
+    private boolean isCurrentChange(EventLogRecord record, Long position, EventChangeToken token, boolean filtered,
+                                    EventCriteriaEvaluator evaluator) {
+        long id = record.getEvent().getId();
+
+        if (record.getType() == EventLogRecord.Type.PUT) {
+            return position.equals(positions.get(id));
+        }
+        if (record.getType() == EventLogRecord.Type.DELETE) {
+            return !token.isInitial() && position.equals(tombstones.get(id));
+        }
+
+        Long currentPosition = positions.get(id);
+        return !token.isInitial() && filtered && departures.containsKey(record.getSequence())
+                && (Objects.isNull(currentPosition) || !evaluator.matches(readEvent(currentPosition)));
+    }
+
+    private void write(List<EventLogRecord> records) {
+        long[] written;
+        try {
+            written = eventLog.append(records, syncOnWrite);
+        } catch (IOException e) {
+            throw new UncheckedIOException("The event log cannot be written.", e);
+        }
+
+        for (int i = 0; i < records.size(); i++) {
+            apply(written[i], records.get(i));
+        }
+    }
+
+    private void apply(long position, EventLogRecord record) {
+        if (record.getType() == EventLogRecord.Type.META) {
+            nextId = Math.max(nextId, record.getNextId());
+            nextSequence = Math.max(nextSequence, record.getSequence());
+            return;
+        }
+
+        if (record.getType() == EventLogRecord.Type.DEPART) {
+            departures.put(record.getSequence(), position);
+            changes.put(record.getSequence(), position);
+            nextSequence = Math.max(nextSequence, record.getSequence() + 1);
+            return;
+        }
+
+        Event event = record.getEvent();
+        unindex(event.getId());
+
+        if (record.getType() == EventLogRecord.Type.PUT) {
+            positions.put(event.getId(), position);
+            dateIndex.add(event.getDate(), event.getId());
+            timeIndex.add(event.getTime(), event.getId());
+            plannerIndex.add(event.getPlannerFullName(), event.getId());
+        } else {
+            tombstones.put(event.getId(), position);
+        }
+
+        changes.put(record.getSequence(), position);
+        nextId = Math.max(nextId, event.getId() + 1);
+        nextSequence = Math.max(nextSequence, record.getSequence() + 1);
+    }
+
+    private void unindex(long id) {
+        Long position = positions.remove(id);
+        if (Objects.isNull(position)) {
+            return;
+        }
+
+        Event event = readEvent(position);
+        dateIndex.remove(event.getDate(), id);
+        timeIndex.remove(event.getTime(), id);
+        plannerIndex.remove(event.getPlannerFullName(), id);
+        garbageSize += eventLog.getRecordSize(position);
+    }
+
+    private Event readEvent(long position) {
+        return eventLog.read(position).getEvent();
+    }
+
+    private EventChange toChange(EventLogRecord record) {
+        EventChangeType type;
+        if (record.getType() == EventLogRecord.Type.DELETE) {
+            type = EventChangeType.DELETED;
+        } else {
+            type = record.getEvent().getVersion() == 0L ? EventChangeType.CREATED : EventChangeType.UPDATED;
+        }
+
+        return new EventChange(record.getSequence(), record.getEvent().getId(), type);
+    }
+
+    private Event copy(Event event) {
+        return new Event(event.getId(), event.getSubject(), event.getDescription(), event.getPlannerFullName(), event.getDate(),
+                event.getTime(), event.getVenue(), LocalDateTime.of(event.getDate(), event.getTime()), event.getVersion(), null,
+                null);
+    }
+
+    private void checkNewEntity(Event event) {
+        Assert.notNull(event, "The entity being saved cannot be null.");
+
+        if (Objects.nonNull(event.getId()) && !event.getId().equals(0L)) {
+            throw new IllegalArgumentException("The id of the entity being saved must be null or zero.");
+        }
+    }
+
+    private <T> T withReadLock(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T withWriteLock(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+}
\ No newline at end of file
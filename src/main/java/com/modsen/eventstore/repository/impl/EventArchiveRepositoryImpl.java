@@ -0,0 +1,135 @@
+package com.modsen.eventstore.repository.impl;
+
+import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.repository.EventArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Slf4j
+@Repository
+@Profile("!file-store")
+@Transactional
+public class EventArchiveRepositoryImpl implements EventArchiveRepository {
+
+    private static final String ID_FIELD_NAME = "id";
+    private static final String DATE_FIELD_NAME = "date";
+    private static final String FIND_SEGMENT_NAMES_SQL = "SELECT file_name FROM event_archive_segments ORDER BY min_date, file_name";
+    private static final String SAVE_SEGMENT_SQL = "INSERT INTO event_archive_segments (file_name, min_date, max_date, event_count) "
+            + "VALUES (:name, :minDate, :maxDate, :eventCount)";
+    private static final String FIND_COLLATION_SQL = "SELECT datcollate::text FROM pg_database WHERE datname = current_database()";
+    private static final String DISABLE_CHANGE_TRACKING_SQL = "SELECT set_config('eventstore.change_tracking', 'off', true)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<String> findSegmentNames() {
+        return entityManager.createNativeQuery(FIND_SEGMENT_NAMES_SQL).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String findCollation() {
+        return (String) entityManager.createNativeQuery(FIND_COLLATION_SQL).getSingleResult();
+    }
+
+    @Override
+    public void saveSegment(String name, LocalDate minDate, LocalDate maxDate, int eventCount) {
+        log.info("Try to register the archive segment {} with {} events from {} to {}.", name, eventCount, minDate, maxDate);
+        Assert.notNull(name, "The name of the archive segment cannot be null.");
+
+        entityManager.createNativeQuery(SAVE_SEGMENT_SQL)
+                .setParameter("name", name)
+                .setParameter("minDate", minDate)
+                .setParameter("maxDate", maxDate)
+                .setParameter("eventCount", eventCount)
+                .executeUpdate();
+    }
+
+    @Override
+    public Optional<LocalDate> findOldestDateBefore(LocalDate date) {
+        Assert.notNull(date, "The date to search for events before cannot be null.");
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LocalDate> criteriaQuery = builder.createQuery(LocalDate.class);
+        Root<Event> root = criteriaQuery.from(Event.class);
+        Path<LocalDate> eventDate = root.get(DATE_FIELD_NAME);
+        criteriaQuery.select(builder.least(eventDate)).where(builder.lessThan(eventDate, date));
+
+        return Optional.ofNullable(entityManager.createQuery(criteriaQuery).getSingleResult());
+    }
+
+    @Override
+    public List<Event> findAllByDateBetween(LocalDate from, LocalDate to, Event after, int limit) {
+        log.info("Try to find events dated from {} until {} after {}.", from, to, after);
+        Assert.notNull(from, "The start of the date range cannot be null.");
+        Assert.notNull(to, "The end of the date range cannot be null.");
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> criteriaQuery = builder.createQuery(Event.class);
+        Root<Event> root = criteriaQuery.from(Event.class);
+        Path<LocalDate> date = root.get(DATE_FIELD_NAME);
+        Path<Long> id = root.get(ID_FIELD_NAME);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.greaterThanOrEqualTo(date, from));
+        predicates.add(builder.lessThan(date, to));
+        if (Objects.nonNull(after)) {
+            predicates.add(builder.or(
+                    builder.greaterThan(date, after.getDate()),
+                    builder.and(builder.equal(date, after.getDate()), builder.greaterThan(id, after.getId()))
+            ));
+        }
+
+        criteriaQuery.select(root)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.asc(date), builder.asc(id));
+
+        List<Event> events = entityManager.createQuery(criteriaQuery)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setMaxResults(limit)
+                .getResultList();
+        events.forEach(entityManager::detach);
+        return events;
+    }
+
+    // Archived events are moved rather than deleted, so change tracking is switched off to keep them out of the
+    // tombstones and the outbox.
+    @Override
+    public int deleteAllByDateBetween(LocalDate from, LocalDate to) {
+        log.info("Try to delete archived events dated from {} until {}.", from, to);
+        Assert.notNull(from, "The start of the date range cannot be null.");
+        Assert.notNull(to, "The end of the date range cannot be null.");
+
+        entityManager.createNativeQuery(DISABLE_CHANGE_TRACKING_SQL).getSingleResult();
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Event> criteriaDelete = builder.createCriteriaDelete(Event.class);
+        Root<Event> root = criteriaDelete.from(Event.class);
+        Path<LocalDate> date = root.get(DATE_FIELD_NAME);
+        criteriaDelete.where(builder.greaterThanOrEqualTo(date, from), builder.lessThan(date, to));
+        return entityManager.createQuery(criteriaDelete).executeUpdate();
+    }
+
+}
\ No newline at end of file
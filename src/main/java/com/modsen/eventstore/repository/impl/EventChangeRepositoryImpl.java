@@ -0,0 +1,88 @@
+package com.modsen.eventstore.repository.impl;
+
+import com.modsen.eventstore.dto.event.EventChange;
+import com.modsen.eventstore.dto.event.EventChangeHorizon;
+import com.modsen.eventstore.dto.event.EventChangeType;
+import com.modsen.eventstore.repository.EventChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Repository
+@Profile("!file-store")
+@Transactional
+public class EventChangeRepositoryImpl implements EventChangeRepository {
+
+    private static final String FIND_CHANGES_AFTER_SQL =
+            "SELECT id, event_id, change_type FROM event_outbox WHERE id > :id AND id <= :upToId ORDER BY id LIMIT :limit";
+    private static final String FIND_LAST_CHANGE_ID_SQL =
+            "SELECT COALESCE(pg_sequence_last_value(pg_get_serial_sequence('event_outbox', 'id')::regclass), 0)";
+    private static final String FIND_NEXT_TRANSACTION_ID_SQL = "SELECT pg_snapshot_xmax(pg_current_snapshot())::text::bigint";
+    private static final String FIND_OLDEST_TRANSACTION_ID_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+    private static final String DELETE_CHANGES_BEFORE_SQL = "DELETE FROM event_outbox WHERE created_at < :createdAt";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Not read-only on purpose: a replica may lag behind the notifications that the primary has already sent.
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<EventChange> findAllAfter(Long id, Long upToId, int limit) {
+        log.info("Try to find event changes after id = {} up to id = {} with limit {}.", id, upToId, limit);
+        Assert.notNull(id, "The id to search for changes after cannot be null.");
+        Assert.notNull(upToId, "The id to search for changes up to cannot be null.");
+
+        List<Object[]> rows = entityManager.createNativeQuery(FIND_CHANGES_AFTER_SQL)
+                .setParameter("id", id)
+                .setParameter("upToId", upToId)
+                .setParameter("limit", limit)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new EventChange(
+                        ((Number) row[0]).longValue(),
+                        ((Number) row[1]).longValue(),
+                        EventChangeType.valueOf((String) row[2])
+                ))
+                .collect(Collectors.toList());
+    }
+
+    // Outbox ids follow the insert order while the rows become visible in the commit order, so a reader past some
+    // id could skip a lower one that commits later. The outbox trigger runs after the event row is written, hence
+    // every transaction holding an id up to the last one already has a transaction id below the next one. Both are
+    // read by separate statements, each of them taking a new snapshot.
+    @Override
+    public EventChangeHorizon findHorizon() {
+        Long lastChangeId = ((Number) entityManager.createNativeQuery(FIND_LAST_CHANGE_ID_SQL).getSingleResult()).longValue();
+        Long transactionId = ((Number) entityManager.createNativeQuery(FIND_NEXT_TRANSACTION_ID_SQL).getSingleResult()).longValue();
+        return new EventChangeHorizon(lastChangeId, transactionId);
+    }
+
+    @Override
+    public boolean isSettled(EventChangeHorizon horizon) {
+        Assert.notNull(horizon, "The horizon of event changes cannot be null.");
+
+        long oldestTransactionId = ((Number) entityManager.createNativeQuery(FIND_OLDEST_TRANSACTION_ID_SQL).getSingleResult()).longValue();
+        return oldestTransactionId >= horizon.getTransactionId();
+    }
+
+    @Override
+    public int deleteAllCreatedBefore(LocalDateTime createdAt) {
+        log.info("Try to delete event changes created before {}.", createdAt);
+        Assert.notNull(createdAt, "The creation time to delete changes before cannot be null.");
+
+        return entityManager.createNativeQuery(DELETE_CHANGES_BEFORE_SQL)
+                .setParameter("createdAt", createdAt)
+                .executeUpdate();
+    }
+
+}
\ No newline at end of file
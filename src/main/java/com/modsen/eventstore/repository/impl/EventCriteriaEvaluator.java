@@ -0,0 +1,455 @@
+package com.modsen.eventstore.repository.impl;
+
+import com.modsen.eventstore.dto.criteria.FilterOperator;
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventCursor;
+import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.mapper.DateTimeCodec;
+import com.modsen.eventstore.model.Event;
+import lombok.Getter;
+import org.springframework.util.Assert;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Evaluates the filter, sort and page contract of EventCriteria against events held in memory,
+// the same way EventRepositoryImpl translates it into a query.
+public final class EventCriteriaEvaluator {
+
+    private final Comparator<String> textOrder;
+    private final List<FilterCondition> conditions;
+    private final List<EventSortingCriteria> sort;
+    private final SortingDirection idDirection;
+    private final List<Comparable<?>> cursorValues;
+    private final Long cursorId;
+    private final int offset;
+    private final int limit;
+    private final boolean search;
+
+    @Getter
+    private final LocalDate minDate;
+
+    @Getter
+    private final LocalDate maxDate;
+
+    @Getter
+    private final LocalTime minTime;
+
+    @Getter
+    private final LocalTime maxTime;
+
+    @Getter
+    private final Set<String> planners;
+
+    @Getter
+    private final Comparator<Event> comparator;
+
+    // Identifies the filter alone, so that counts of a filter can be reused across pages and sort orders.
+    @Getter
+    private final String filterKey;
+
+    private EventCriteriaEvaluator(EventCriteria criteria, Comparator<String> textOrder) {
+        this.textOrder = textOrder;
+        sort = Objects.isNull(criteria.getSort()) ? List.of() : criteria.getSort();
+        idDirection = sort.isEmpty() ? SortingDirection.ASC : sort.get(sort.size() - 1).getDirection();
+        conditions = Objects.isNull(criteria.getFilter())
+                ? List.of()
+                : criteria.getFilter().stream().map(FilterCondition::new).collect(Collectors.toList());
+        filterKey = conditions.stream().map(FilterCondition::getKey).sorted().collect(Collectors.joining("&"));
+        search = Objects.nonNull(criteria.getSearch());
+
+        PaginationCriteria pagination = criteria.getPagination();
+        if (Objects.nonNull(pagination) && Objects.nonNull(pagination.getCursor())) {
+            EventCursor cursor = EventCursor.fromToken(pagination.getCursor());
+            if (sort.size() != cursor.getValues().size()) {
+                throw new IllegalArgumentException("The pagination cursor does not match the sorting criteria.");
+            }
+
+            cursorValues = new ArrayList<>();
+            for (int i = 0; i < sort.size(); i++) {
+                cursorValues.add(parseCursorValue(sort.get(i).getField(), cursor.getValues().get(i)));
+            }
+            cursorId = cursor.getId();
+        } else {
+            cursorValues = null;
+            cursorId = null;
+        }
+
+        offset = Objects.isNull(pagination) || Objects.nonNull(pagination.getCursor()) ? 0 : pagination.getPage() - 1;
+        limit = Objects.isNull(pagination) ? Integer.MAX_VALUE : pagination.getSize();
+        // Same messages as the query of the JPA engine gives for such a page.
+        Assert.isTrue(offset >= 0, "The first-result value cannot be negative.");
+        Assert.isTrue(limit >= 0, "The max-results cannot be negative.");
+
+        LocalDate from = null;
+        LocalDate to = null;
+        LocalTime fromTime = null;
+        LocalTime toTime = null;
+        Set<String> plannerValues = null;
+        for (FilterCondition condition : conditions) {
+            from = max(from, condition.getMinDate());
+            to = min(to, condition.getMaxDate());
+            fromTime = max(fromTime, condition.getMinTime());
+            toTime = min(toTime, condition.getMaxTime());
+
+            Set<String> conditionPlanners = condition.getPlanners();
+            if (Objects.nonNull(conditionPlanners)) {
+                if (Objects.isNull(plannerValues)) {
+                    plannerValues = new HashSet<>(conditionPlanners);
+                } else {
+                    plannerValues.retainAll(conditionPlanners);
+                }
+            }
+        }
+        minDate = from;
+        maxDate = to;
+        minTime = fromTime;
+        maxTime = toTime;
+        planners = plannerValues;
+        comparator = buildComparator();
+    }
+
+    public static EventCriteriaEvaluator of(EventCriteria criteria) {
+        return of(criteria, Comparator.naturalOrder());
+    }
+
+    // Strings are compared in the given order, which has to be the one of the source the evaluated events are merged with.
+    public static EventCriteriaEvaluator of(EventCriteria criteria, Comparator<String> textOrder) {
+        Assert.notNull(criteria, "The criteria for finding values can't be null");
+        Assert.notNull(textOrder, "The order of strings cannot be null.");
+        return new EventCriteriaEvaluator(criteria, textOrder);
+    }
+
+    public boolean hasSearch() {
+        return search;
+    }
+
+    public boolean matches(Event event) {
+        for (FilterCondition condition : conditions) {
+            if (!condition.test(event)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean isAfterCursor(Event event) {
+        if (Objects.isNull(cursorId)) {
+            return true;
+        }
+
+        for (int i = 0; i < sort.size(); i++) {
+            int result = compareValues(getValue(event, sort.get(i).getField()), cursorValues.get(i), sort.get(i).getDirection());
+            if (result != 0) {
+                return result > 0;
+            }
+        }
+
+        return compareValues(event.getId(), cursorId, idDirection) > 0;
+    }
+
+    public boolean isDateRangeMatching(LocalDate from, LocalDate to) {
+        return (Objects.isNull(minDate) || !to.isBefore(minDate)) && (Objects.isNull(maxDate) || !from.isAfter(maxDate));
+    }
+
+    public boolean isPlannerMatching(Collection<String> candidates) {
+        if (Objects.isNull(planners)) {
+            return true;
+        }
+
+        for (String planner : planners) {
+            if (candidates.contains(planner)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Optional<Comparable<?>> getLeadingCursorValue() {
+        return Objects.isNull(cursorValues) || cursorValues.isEmpty() ? Optional.empty() : Optional.of(cursorValues.get(0));
+    }
+
+    // Number of leading results a source must supply for the requested page to be cut from a merge of several sources.
+    public int getFetchLimit() {
+        return limit == Integer.MAX_VALUE ? limit : offset + limit;
+    }
+
+    public List<Event> merge(List<Event> primary, List<Event> secondary) {
+        Map<Long, Event> merged = new LinkedHashMap<>();
+        for (Event event : primary) {
+            merged.put(event.getId(), event);
+        }
+        for (Event event : secondary) {
+            merged.putIfAbsent(event.getId(), event);
+        }
+
+        return page(new ArrayList<>(merged.values()));
+    }
+
+    public List<Event> page(List<Event> events) {
+        return page(events, comparator);
+    }
+
+    public List<Event> page(List<Event> events, Comparator<Event> order) {
+        events.sort(order);
+
+        if (offset >= events.size()) {
+            return new ArrayList<>();
+        }
+
+        return new ArrayList<>(events.subList(offset, (int) Math.min(events.size(), (long) offset + limit)));
+    }
+
+    static Comparable<?> parseFilterValue(EventCriteriaField field, String value) {
+        try {
+            if (field == EventCriteriaField.DATE) {
+                return DateTimeCodec.parseDate(value);
+            }
+            if (field == EventCriteriaField.TIME) {
+                return Optional.ofNullable(DateTimeCodec.parseTime(value)).orElseThrow(() ->
+                        new IllegalArgumentException(String.format("The filter value %s is not a valid time.", value))
+                );
+            }
+            if (field == EventCriteriaField.STARTS_AT) {
+                return DateTimeCodec.parseDateTime(value);
+            }
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(String.format("The filter value %s is not a valid date.", value));
+        }
+
+        return value;
+    }
+
+    static Comparable<?> parseCursorValue(EventCriteriaField field, String value) {
+        try {
+            if (field == EventCriteriaField.DATE) {
+                return LocalDate.parse(value);
+            }
+            if (field == EventCriteriaField.TIME) {
+                return LocalTime.parse(value);
+            }
+            if (field == EventCriteriaField.STARTS_AT) {
+                return LocalDateTime.parse(value);
+            }
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("The pagination cursor is malformed.");
+        }
+
+        return value;
+    }
+
+    static Comparable<?> getValue(Event event, EventCriteriaField field) {
+        switch (field) {
+            case SUBJECT:
+                return event.getSubject();
+            case PLANNER:
+                return event.getPlannerFullName();
+            case DATE:
+                return event.getDate();
+            case TIME:
+                return event.getTime();
+            case STARTS_AT:
+                return LocalDateTime.of(event.getDate(), event.getTime());
+            default:
+                throw new IllegalArgumentException(String.format("The field %s cannot be evaluated.", field));
+        }
+    }
+
+    private Comparator<Event> buildComparator() {
+        return (left, right) -> {
+            for (EventSortingCriteria criteria : sort) {
+                int result = compareValues(getValue(left, criteria.getField()), getValue(right, criteria.getField()), criteria.getDirection());
+                if (result != 0) {
+                    return result;
+                }
+            }
+
+            return compareValues(left.getId(), right.getId(), idDirection);
+        };
+    }
+
+    private int compareValues(Comparable<?> left, Comparable<?> right, SortingDirection direction) {
+        int result = compareValues(left, right);
+        return direction == SortingDirection.DESC ? -result : result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int compareValues(Comparable left, Comparable right) {
+        // Like a deterministic database collation, strings the collation considers equal are still ordered by their characters.
+        if (left instanceof String && right instanceof String) {
+            int result = textOrder.compare((String) left, (String) right);
+            return result != 0 ? result : left.compareTo(right);
+        }
+
+        return left.compareTo(right);
+    }
+
+    private static <T extends Comparable<? super T>> T max(T left, T right) {
+        return Objects.isNull(left) || (Objects.nonNull(right) && right.compareTo(left) > 0) ? right : left;
+    }
+
+    private static <T extends Comparable<? super T>> T min(T left, T right) {
+        return Objects.isNull(left) || (Objects.nonNull(right) && right.compareTo(left) < 0) ? right : left;
+    }
+
+    private class FilterCondition {
+
+        private final EventCriteriaField field;
+        private final FilterOperator operator;
+        private final List<Comparable<?>> values;
+        private final String prefix;
+
+        @Getter
+        private final String key;
+
+        FilterCondition(EventFilterCriteria criteria) {
+            field = criteria.getField();
+            operator = criteria.getOperator();
+            key = field + " " + operator + " " + criteria.getValue();
+
+            if (operator == FilterOperator.PREFIX) {
+                values = List.of();
+                prefix = criteria.getValue();
+            } else {
+                values = criteria.getValues().stream()
+                        .map(value -> parseFilterValue(field, value))
+                        .collect(Collectors.toList());
+                prefix = null;
+            }
+        }
+
+        boolean test(Event event) {
+            Comparable<?> value = getValue(event, field);
+
+            switch (operator) {
+                case EQ:
+                    return compareValues(value, values.get(0)) == 0;
+                case GT:
+                    return compareValues(value, values.get(0)) > 0;
+                case GTE:
+                    return compareValues(value, values.get(0)) >= 0;
+                case LT:
+                    return compareValues(value, values.get(0)) < 0;
+                case LTE:
+                    return compareValues(value, values.get(0)) <= 0;
+                case BETWEEN:
+                    return compareValues(value, values.get(0)) >= 0 && compareValues(value, values.get(1)) <= 0;
+                case IN:
+                    return values.stream().anyMatch(candidate -> compareValues(value, candidate) == 0);
+                case PREFIX:
+                    return value.toString().startsWith(prefix);
+                default:
+                    return true;
+            }
+        }
+
+        LocalDate getMinDate() {
+            if (field != EventCriteriaField.DATE && field != EventCriteriaField.STARTS_AT) {
+                return null;
+            }
+
+            switch (operator) {
+                case EQ:
+                case GTE:
+                case BETWEEN:
+                    return toDate(values.get(0));
+                case GT:
+                    return field == EventCriteriaField.DATE ? toDate(values.get(0)).plusDays(1) : toDate(values.get(0));
+                case IN:
+                    return values.stream().map(this::toDate).min(Comparator.naturalOrder()).orElse(null);
+                default:
+                    return null;
+            }
+        }
+
+        LocalDate getMaxDate() {
+            if (field != EventCriteriaField.DATE && field != EventCriteriaField.STARTS_AT) {
+                return null;
+            }
+
+            switch (operator) {
+                case EQ:
+                case LTE:
+                    return toDate(values.get(0));
+                case LT:
+                    return field == EventCriteriaField.DATE ? toDate(values.get(0)).minusDays(1) : toDate(values.get(0));
+                case BETWEEN:
+                    return toDate(values.get(1));
+                case IN:
+                    return values.stream().map(this::toDate).max(Comparator.naturalOrder()).orElse(null);
+                default:
+                    return null;
+            }
+        }
+
+        // Strict time bounds are kept inclusive, the conditions themselves still drop the bound.
+        LocalTime getMinTime() {
+            if (field != EventCriteriaField.TIME) {
+                return null;
+            }
+
+            switch (operator) {
+                case EQ:
+                case GT:
+                case GTE:
+                case BETWEEN:
+                    return (LocalTime) values.get(0);
+                case IN:
+                    return values.stream().map(LocalTime.class::cast).min(Comparator.naturalOrder()).orElse(null);
+                default:
+                    return null;
+            }
+        }
+
+        LocalTime getMaxTime() {
+            if (field != EventCriteriaField.TIME) {
+                return null;
+            }
+
+            switch (operator) {
+                case EQ:
+                case LT:
+                case LTE:
+                    return (LocalTime) values.get(0);
+                case BETWEEN:
+                    return (LocalTime) values.get(1);
+                case IN:
+                    return values.stream().map(LocalTime.class::cast).max(Comparator.naturalOrder()).orElse(null);
+                default:
+                    return null;
+            }
+        }
+
+        Set<String> getPlanners() {
+            if (field != EventCriteriaField.PLANNER || (operator != FilterOperator.EQ && operator != FilterOperator.IN)) {
+                return null;
+            }
+
+            return values.stream().map(String.class::cast).collect(Collectors.toSet());
+        }
+
+        private LocalDate toDate(Comparable<?> value) {
+            return value instanceof LocalDateTime ? ((LocalDateTime) value).toLocalDate() : (LocalDate) value;
+        }
+
+    }
+
+}
\ No newline at end of file
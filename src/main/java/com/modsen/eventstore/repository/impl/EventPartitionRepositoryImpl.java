@@ -0,0 +1,133 @@
+package com.modsen.eventstore.repository.impl;
+
+import com.modsen.eventstore.repository.EventPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Repository
+@Profile("!file-store")
+@Transactional
+public class EventPartitionRepositoryImpl implements EventPartitionRepository {
+
+    private static final String PARTITION_PREFIX = "events_";
+    private static final String DEFAULT_PARTITION = "events_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX_FORMATTER = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String EVENT_COLUMNS = "id, subject, description, planner_full_name, date, time, venue, version, change_xid, starts_at";
+    private static final long MAINTENANCE_LOCK_KEY = 18102026L;
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(:key)";
+    private static final String DISABLE_CHANGE_TRACKING_SQL = "SELECT set_config('eventstore.change_tracking', 'off', true)";
+    private static final String FIND_PARTITIONS_SQL = "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = 'events'::regclass";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public boolean tryLockMaintenance() {
+        return Boolean.TRUE.equals(entityManager.createNativeQuery(TRY_LOCK_SQL)
+                .setParameter("key", MAINTENANCE_LOCK_KEY)
+                .getSingleResult());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<YearMonth> findMonthlyPartitions() {
+        List<String> names = entityManager.createNativeQuery(FIND_PARTITIONS_SQL).getResultList();
+
+        return names.stream()
+                .map(this::parseMonth)
+                .filter(Objects::nonNull)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    // Rows of the month that were parked in the default partition are moved into the new partition before it is attached,
+    // with change tracking switched off because the events themselves do not change.
+    @Override
+    public void createMonthlyPartition(YearMonth month) {
+        log.info("Try to create the partition of events for {}.", month);
+        Assert.notNull(month, "The month of the partition cannot be null.");
+
+        String partition = getPartitionName(month);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+
+        entityManager.createNativeQuery(DISABLE_CHANGE_TRACKING_SQL).getSingleResult();
+        executeStatement(String.format(
+                "CREATE TABLE %s (LIKE events INCLUDING DEFAULTS INCLUDING GENERATED INCLUDING STORAGE)", partition
+        ));
+        executeStatement(String.format(
+                "WITH moved AS (DELETE FROM %s WHERE date >= DATE '%s' AND date < DATE '%s' RETURNING %s) "
+                        + "INSERT INTO %s (%s) SELECT %s FROM moved",
+                DEFAULT_PARTITION, from, to, EVENT_COLUMNS, partition, EVENT_COLUMNS, EVENT_COLUMNS
+        ));
+        executeStatement(String.format(
+                "ALTER TABLE events ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')", partition, from, to
+        ));
+    }
+
+    @Override
+    public void detachMonthlyPartition(YearMonth month) {
+        log.info("Try to detach the partition of events for {}.", month);
+        Assert.notNull(month, "The month of the partition cannot be null.");
+
+        String partition = getPartitionName(month);
+        executeStatement(String.format("ALTER TABLE events DETACH PARTITION %s", partition));
+        executeStatement(String.format("ALTER TABLE %s RENAME TO %s_detached", partition, partition));
+    }
+
+    @Override
+    public void dropMonthlyPartition(YearMonth month) {
+        log.info("Try to drop the partition of events for {}.", month);
+        Assert.notNull(month, "The month of the partition cannot be null.");
+
+        executeStatement(String.format("DROP TABLE %s", getPartitionName(month)));
+    }
+
+    // SHARE mode holds off writers until the transaction ends while reads go on. A month without its own partition
+    // lives in the default partition, which is locked instead.
+    @Override
+    public void lockMonthlyPartition(YearMonth month) {
+        log.info("Try to lock the partition of events for {}.", month);
+        Assert.notNull(month, "The month of the partition cannot be null.");
+
+        String partition = findMonthlyPartitions().contains(month) ? getPartitionName(month) : DEFAULT_PARTITION;
+        executeStatement(String.format("LOCK TABLE %s IN SHARE MODE", partition));
+    }
+
+    private void executeStatement(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+
+    private String getPartitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX_FORMATTER);
+    }
+
+    private YearMonth parseMonth(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.modsen.eventstore.repository.impl;
+
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.dto.event.EventResponseField;
+import com.modsen.eventstore.dto.event.EventView;
+import com.modsen.eventstore.model.Event;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+// Projects events held in memory onto the sparse fields of a response, the same way the projection queries select them.
+public final class EventProjection {
+
+    private EventProjection() {
+    }
+
+    // The fields a cursor is built from are always selected, so a sparse page can still be continued.
+    public static Set<EventResponseField> getSelectedFields(Set<EventResponseField> fields, List<EventSortingCriteria> sortingCriteriaList) {
+        if (Objects.isNull(fields)) {
+            return EnumSet.allOf(EventResponseField.class);
+        }
+
+        Set<EventResponseField> selectedFields = EnumSet.of(EventResponseField.ID);
+        selectedFields.addAll(fields);
+
+        if (Objects.nonNull(sortingCriteriaList)) {
+            for (EventSortingCriteria criteria : sortingCriteriaList) {
+                selectedFields.addAll(getCursorFields(criteria.getField()));
+            }
+        }
+
+        return selectedFields;
+    }
+
+    public static EventView project(Event event, Set<EventResponseField> fields) {
+        EventView.EventViewBuilder projection = EventView.builder();
+
+        for (EventResponseField field : fields) {
+            switch (field) {
+                case ID:
+                    projection.id(event.getId());
+                    break;
+                case SUBJECT:
+                    projection.subject(event.getSubject());
+                    break;
+                case DESCRIPTION:
+                    projection.description(event.getDescription());
+                    break;
+                case PLANNER:
+                    projection.plannerFullName(event.getPlannerFullName());
+                    break;
+                case DATE:
+                    projection.date(event.getDate());
+                    break;
+                case TIME:
+                    projection.time(event.getTime());
+                    break;
+                case VENUE:
+                    projection.venue(event.getVenue());
+                    break;
+                case VERSION:
+                    projection.version(event.getVersion());
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return projection.build();
+    }
+
+    private static Set<EventResponseField> getCursorFields(EventCriteriaField field) {
+        switch (field) {
+            case SUBJECT:
+                return EnumSet.of(EventResponseField.SUBJECT);
+            case PLANNER:
+                return EnumSet.of(EventResponseField.PLANNER);
+            case DATE:
+                return EnumSet.of(EventResponseField.DATE);
+            case TIME:
+                return EnumSet.of(EventResponseField.TIME);
+            default:
+                return EnumSet.of(EventResponseField.DATE, EventResponseField.TIME);
+        }
+    }
+
+}
\ No newline at end of file
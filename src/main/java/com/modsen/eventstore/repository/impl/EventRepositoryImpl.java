@@ -1,55 +1,259 @@
 package com.modsen.eventstore.repository.impl;
 
+import com.modsen.eventstore.config.EventStoreMetadataBuilderInitializer;
+import com.modsen.eventstore.dto.criteria.CountMode;
+import com.modsen.eventstore.dto.criteria.FilterOperator;
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
 import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventChangeToken;
 import com.modsen.eventstore.dto.criteria.event.EventCriteria;
 import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventCursor;
 import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
 import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.dto.event.EventDelta;
+import com.modsen.eventstore.dto.event.EventResponseField;
+import com.modsen.eventstore.dto.event.EventView;
+import com.modsen.eventstore.dto.page.PageResult;
 import com.modsen.eventstore.exception.NotExistEntityException;
+import com.modsen.eventstore.exception.StaleEntityException;
 import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.model.EventDeparture;
+import com.modsen.eventstore.model.EventTombstone;
 import com.modsen.eventstore.repository.EventRepository;
+import com.modsen.eventstore.repository.archive.EventArchive;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import org.hibernate.type.LocalDateTimeType;
+import org.hibernate.type.LocalDateType;
+import org.hibernate.type.LocalTimeType;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.*;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Repository
+@Profile("!file-store")
 @Transactional
+@RequiredArgsConstructor
 public class EventRepositoryImpl implements EventRepository {
 
+    private static final String ID_FIELD_NAME = "id";
+    private static final String SUBJECT_FIELD_NAME = "subject";
+    private static final String DESCRIPTION_FIELD_NAME = "description";
+    private static final String PLANNER_FIELD_NAME = "plannerFullName";
+    private static final String DATE_FIELD_NAME = "date";
+    private static final String TIME_FIELD_NAME = "time";
+    private static final String VENUE_FIELD_NAME = "venue";
+    private static final String STARTS_AT_FIELD_NAME = "startsAt";
+    private static final String VERSION_FIELD_NAME = "version";
+    private static final String SEARCH_VECTOR_FIELD_NAME = "searchVector";
+    private static final String TOTAL_COUNT_ALIAS = "totalCount";
+    private static final String ESTIMATE_COUNT_SQL = "EXPLAIN (FORMAT JSON) SELECT id FROM events";
+    private static final String SEARCH_CONDITION = "search_vector @@ websearch_to_tsquery('simple', ?)";
+    private static final Pattern PLAN_ROWS_PATTERN = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+    private static final char LIKE_ESCAPE_CHARACTER = '\\';
+    private static final Map<String, UpdatableColumn> UPDATABLE_COLUMNS = new LinkedHashMap<>();
+    private static final String VERSIONED_UPDATE_SQL = "UPDATE events SET %s, version = version + 1 WHERE id = :id%s "
+            + "RETURNING version, starts_at";
+    private static final String VERSION_CONDITION = " AND version = :version";
+    private static final String FIND_PROJECTIONS_BY_IDS_SQL = "SELECT id, subject, description, planner_full_name, date, time, venue, version "
+            + "FROM events WHERE id = ANY(?)";
+    private static final int SCROLL_FETCH_SIZE = 1000;
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final String CHANGE_XID_FIELD_NAME = "changeXid";
+    private static final String DELETED_AT_FIELD_NAME = "deletedAt";
+    private static final String DEPARTED_AT_FIELD_NAME = "departedAt";
+    private static final String SNAPSHOT_HORIZON_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    static {
+        UPDATABLE_COLUMNS.put(SUBJECT_FIELD_NAME, new UpdatableColumn("subject", StandardBasicTypes.STRING, Event::getSubject));
+        UPDATABLE_COLUMNS.put(DESCRIPTION_FIELD_NAME, new UpdatableColumn("description", StandardBasicTypes.STRING, Event::getDescription));
+        UPDATABLE_COLUMNS.put(PLANNER_FIELD_NAME, new UpdatableColumn("planner_full_name", StandardBasicTypes.STRING, Event::getPlannerFullName));
+        UPDATABLE_COLUMNS.put(DATE_FIELD_NAME, new UpdatableColumn("date", LocalDateType.INSTANCE, Event::getDate));
+        UPDATABLE_COLUMNS.put(TIME_FIELD_NAME, new UpdatableColumn("time", LocalTimeType.INSTANCE, Event::getTime));
+        UPDATABLE_COLUMNS.put(VENUE_FIELD_NAME, new UpdatableColumn("venue", StandardBasicTypes.STRING, Event::getVenue));
+    }
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final EventArchive eventArchive;
+
+    @Value("${hibernate.jdbc.batch-size}")
+    private int jdbcBatchSize;
+
 
     @Override
     public Event save(Event event) {
         log.info("Try to save entity {} in data base.", event);
-        Assert.notNull(event, "The entity being saved cannot be null.");
-
-        if (Objects.nonNull(event.getId()) && !event.getId().equals(0L)) {
-            throw new IllegalArgumentException("The id of the entity being saved must be null or zero.");
-        }
+        checkNewEntity(event);
 
         entityManager.persist(event);
         return event;
     }
 
     @Override
+    public List<Event> saveAll(List<Event> events) {
+        log.info("Try to save a batch of entities in data base.");
+        Assert.notNull(events, "The entities being saved cannot be null.");
+
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            checkNewEntity(event);
+            entityManager.persist(event);
+            flushAndClearIfBatchIsFull(i + 1);
+        }
+
+        entityManager.flush();
+        return events;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Event> findById(Long id) {
         log.info("Try to find event entity with id = {}.", id);
         Assert.notNull(id, "The id to search for an entity cannot be null.");
-        return Optional.ofNullable(entityManager.find(Event.class, id));
+        return Optional.ofNullable(entityManager.find(Event.class, id))
+                .or(() -> eventArchive.findById(id));
+    }
+
+    @Override
+    public List<Event> findAllById(Collection<Long> ids) {
+        log.info("Try to find event entities with ids = {}.", ids);
+        Assert.notNull(ids, "The ids to search for entities cannot be null.");
+
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        CriteriaQuery<Event> criteriaQuery = entityManager.getCriteriaBuilder().createQuery(Event.class);
+        Root<Event> root = criteriaQuery.from(Event.class);
+        criteriaQuery.select(root).where(root.get(ID_FIELD_NAME).in(ids));
+        return entityManager.createQuery(criteriaQuery).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventView> findAllProjectionsById(Collection<Long> ids) {
+        log.info("Try to find event projections with ids = {}.", ids);
+        Assert.notNull(ids, "The ids to search for entities cannot be null.");
+
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // A large lookup is split into chunks, so no single array parameter and result set grows with the request.
+        List<Long> idList = new ArrayList<>(ids);
+        List<EventView> events = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            List<EventView> found = new ArrayList<>(idList.size());
+            try (PreparedStatement statement = connection.prepareStatement(FIND_PROJECTIONS_BY_IDS_SQL)) {
+                for (int from = 0; from < idList.size(); from += LOOKUP_CHUNK_SIZE) {
+                    Array idArray = connection.createArrayOf("bigint",
+                            idList.subList(from, Math.min(idList.size(), from + LOOKUP_CHUNK_SIZE)).toArray());
+                    try {
+                        statement.setArray(1, idArray);
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            while (resultSet.next()) {
+                                found.add(rowToView(resultSet));
+                            }
+                        }
+                    } finally {
+                        idArray.free();
+                    }
+                }
+            }
+            return found;
+        });
+
+        // Ids missing from the live table may belong to events moved to the archive.
+        if (events.size() < ids.size() && !eventArchive.isEmpty()) {
+            Set<Long> foundIds = events.stream().map(EventView::getId).collect(Collectors.toSet());
+            Set<EventResponseField> fields = EnumSet.allOf(EventResponseField.class);
+            eventArchive.findAllById(ids.stream().filter(id -> !foundIds.contains(id)).collect(Collectors.toList()))
+                    .forEach(event -> events.add(EventProjection.project(event, fields)));
+        }
+        return events;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EventView> findProjectionById(Long id, Set<EventResponseField> fields) {
+        log.info("Try to find event projection with id = {} and fields {}.", id, fields);
+        Assert.notNull(id, "The id to search for an entity cannot be null.");
+
+        Set<EventResponseField> selectedFields = EventProjection.getSelectedFields(fields, null);
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = builder.createTupleQuery();
+        Root<Event> root = criteriaQuery.from(Event.class);
+        criteriaQuery.multiselect(buildSelections(selectedFields, root))
+                .where(builder.equal(root.get(ID_FIELD_NAME), id));
+
+        return entityManager.createQuery(criteriaQuery)
+                .setHint(QueryHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> tupleToView(tuple, selectedFields))
+                .or(() -> eventArchive.findById(id).map(event -> EventProjection.project(event, selectedFields)));
+    }
+
+    @Override
+    public List<Long> findExistingIds(Collection<Long> ids) {
+        log.info("Try to find existing event ids among {}.", ids);
+        Assert.notNull(ids, "The ids to search for entities cannot be null.");
+
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        CriteriaQuery<Long> criteriaQuery = entityManager.getCriteriaBuilder().createQuery(Long.class);
+        Root<Event> root = criteriaQuery.from(Event.class);
+        criteriaQuery.select(root.get(ID_FIELD_NAME)).where(root.get(ID_FIELD_NAME).in(ids));
+        return entityManager.createQuery(criteriaQuery).getResultList();
     }
 
     @Override
@@ -58,13 +262,55 @@ public class EventRepositoryImpl implements EventRepository {
         Assert.notNull(event, "The entity being updated cannot be null.");
         Assert.notNull(event.getId(), "The id of the entity being updated cannot be null.");
 
-        if (Objects.isNull(entityManager.find(Event.class, event.getId()))) {
-            throw new NotExistEntityException(
-                    String.format("Entity of type Event with id = %d not exist in data base.", event.getId())
-            );
+        executeVersionedUpdate(event, UPDATABLE_COLUMNS.keySet());
+        return event;
+    }
+
+    @Override
+    public void patch(Event event, Set<String> fieldNames) {
+        log.info("Try to patch fields {} of entity {} in data base.", fieldNames, event);
+        Assert.notNull(event, "The entity being patched cannot be null.");
+        Assert.notNull(event.getId(), "The id of the entity being patched cannot be null.");
+        Assert.notNull(fieldNames, "The fields being patched cannot be null.");
+
+        Set<String> patchedFieldNames = new HashSet<>(fieldNames);
+        patchedFieldNames.remove(VERSION_FIELD_NAME);
+
+        if (patchedFieldNames.isEmpty()) {
+            throw new IllegalArgumentException("The patch must contain at least one field to change.");
+        }
+
+        for (String fieldName : patchedFieldNames) {
+            if (!UPDATABLE_COLUMNS.containsKey(fieldName)) {
+                throw new IllegalArgumentException(String.format("The field %s cannot be patched.", fieldName));
+            }
+        }
+
+        executeVersionedUpdate(event, patchedFieldNames);
+    }
+
+    @Override
+    public List<Event> updateAll(List<Event> events, Collection<Event> currentEvents) {
+        log.info("Try to update a batch of entities in data base.");
+        Assert.notNull(events, "The entities being updated cannot be null.");
+        Assert.notNull(currentEvents, "The current entities of the batch cannot be null.");
+        Assert.noNullElements(events.stream().map(Event::getId).collect(Collectors.toList()),
+                "The id of the entity being updated cannot be null.");
+
+        // The current entities were loaded by the caller, merging onto them takes no further select.
+        Map<Long, Event> existingEvents = currentEvents.stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+
+        List<Event> updated = new ArrayList<>();
+        for (Event event : events) {
+            Event existing = existingEvents.get(event.getId());
+            checkCurrentVersion(event, existing);
+            event.setVersion(existing.getVersion());
+            updated.add(entityManager.merge(event));
         }
 
-        return entityManager.merge(event);
+        entityManager.flush();
+        return updated;
     }
 
     @Override
@@ -72,14 +318,122 @@ public class EventRepositoryImpl implements EventRepository {
         log.info("Try to delete event with id = {}.", id);
         Assert.notNull(id, "The id of the entity being deleted cannot be null.");
 
-        Event event = Optional.ofNullable(entityManager.find(Event.class, id)).orElseThrow(() ->
-                new NotExistEntityException(String.format("The entity being deleted with id = %s does not exist in the database", id))
-        );
+        CriteriaDelete<Event> criteriaDelete = entityManager.getCriteriaBuilder().createCriteriaDelete(Event.class);
+        Root<Event> root = criteriaDelete.from(Event.class);
+        criteriaDelete.where(entityManager.getCriteriaBuilder().equal(root.get(ID_FIELD_NAME), id));
+
+        if (entityManager.createQuery(criteriaDelete).executeUpdate() == 0) {
+            throw new NotExistEntityException(String.format("The entity being deleted with id = %s does not exist in the database", id));
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<Long> ids) {
+        log.info("Try to delete events with ids = {}.", ids);
+        Assert.notNull(ids, "The ids of the entities being deleted cannot be null.");
+
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        CriteriaDelete<Event> criteriaDelete = entityManager.getCriteriaBuilder().createCriteriaDelete(Event.class);
+        Root<Event> root = criteriaDelete.from(Event.class);
+        criteriaDelete.where(root.get(ID_FIELD_NAME).in(ids));
+        entityManager.createQuery(criteriaDelete).executeUpdate();
+    }
+
+    @Override
+    public int deleteAllByCriteria(EventCriteria criteria) {
+        log.info("Try to delete events by criteria {}.", criteria);
+        Assert.notNull(criteria, "The criteria for deleting values can't be null.");
+
+        boolean hasFilter = Objects.nonNull(criteria.getFilter()) && !criteria.getFilter().isEmpty();
+        if (!hasFilter && Objects.isNull(criteria.getSearch())) {
+            throw new IllegalArgumentException("The criteria for deleting events must contain a filter or a search query.");
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Event> criteriaDelete = builder.createCriteriaDelete(Event.class);
+        Root<Event> root = criteriaDelete.from(Event.class);
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (hasFilter) {
+            predicates.addAll(Arrays.asList(getFilterPredicateArray(criteria.getFilter(), builder, root)));
+        }
 
-        entityManager.remove(event);
+        if (Objects.nonNull(criteria.getSearch())) {
+            predicates.add(buildSearchPredicate(root.get(SEARCH_VECTOR_FIELD_NAME), builder.literal(criteria.getSearch()), builder));
+        }
+
+        criteriaDelete.where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(criteriaDelete).executeUpdate();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public EventDelta<EventView> findChanges(EventCriteria criteria, EventChangeToken token, int limit) {
+        log.info("Try to find event changes by criteria {} after token {}.", criteria, token);
+        Assert.notNull(criteria, "The criteria for finding values can't be null");
+        Assert.notNull(token, "The change token cannot be null.");
+
+        // The horizon is captured before reading, so any transaction invisible to the reads below has an id above it.
+        long nextFloor = token.isPaged() ? token.getNextFloor() : getSnapshotHorizon();
+        long nextFloorIssuedAt = token.isPaged() ? token.getNextFloorIssuedAt() : System.currentTimeMillis();
+        List<EventDeltaEntry> updated = findUpdatedEntries(criteria, token, limit + 1);
+        List<EventDeltaEntry> deleted = token.isInitial() ? List.of() : findDeletedEntries(criteria, token, limit + 1);
+        if (!token.isInitial() && Objects.nonNull(criteria.getFilter()) && !criteria.getFilter().isEmpty()) {
+            deleted = mergeEntries(deleted, findDepartedEntries(criteria, token, limit + 1), limit + 1);
+        }
+
+        List<EventView> updatedEvents = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        EventDeltaEntry last = null;
+        int updatedIndex = 0;
+        int deletedIndex = 0;
+
+        while (updatedEvents.size() + deletedIds.size() < limit
+                && (updatedIndex < updated.size() || deletedIndex < deleted.size())) {
+            boolean takeUpdated = deletedIndex == deleted.size()
+                    || (updatedIndex < updated.size() && updated.get(updatedIndex).compareTo(deleted.get(deletedIndex)) < 0);
+
+            if (takeUpdated) {
+                last = updated.get(updatedIndex++);
+                updatedEvents.add(last.getView());
+            } else {
+                last = deleted.get(deletedIndex++);
+                if (!deletedIds.contains(last.getId())) {
+                    deletedIds.add(last.getId());
+                }
+            }
+        }
+
+        boolean hasMore = updated.size() + deleted.size() > limit;
+        EventChangeToken nextToken = hasMore
+                ? EventChangeToken.of(token.getFloor(), token.getFloorIssuedAt(), nextFloor, nextFloorIssuedAt, last.getChangeXid(), last.getId())
+                : EventChangeToken.complete(nextFloor, nextFloorIssuedAt);
+
+        return new EventDelta<>(updatedEvents, deletedIds, nextToken.toToken(), hasMore);
+    }
+
+    @Override
+    public int deleteTombstonesBefore(LocalDateTime deletedAt) {
+        log.info("Try to delete event tombstones older than {}.", deletedAt);
+        Assert.notNull(deletedAt, "The deletion time to delete tombstones before cannot be null.");
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaDelete<EventTombstone> criteriaDelete = builder.createCriteriaDelete(EventTombstone.class);
+        Root<EventTombstone> root = criteriaDelete.from(EventTombstone.class);
+        criteriaDelete.where(builder.lessThan(root.get(DELETED_AT_FIELD_NAME), deletedAt));
+
+        CriteriaDelete<EventDeparture> departureDelete = builder.createCriteriaDelete(EventDeparture.class);
+        Root<EventDeparture> departureRoot = departureDelete.from(EventDeparture.class);
+        departureDelete.where(builder.lessThan(departureRoot.get(DEPARTED_AT_FIELD_NAME), deletedAt));
+
+        return entityManager.createQuery(criteriaDelete).executeUpdate() + entityManager.createQuery(departureDelete).executeUpdate();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Event> findAll() {
         log.info("Try read all events.");
         CriteriaQuery<Event> criteriaQuery = entityManager.getCriteriaBuilder().createQuery(Event.class);
@@ -89,81 +443,783 @@ public class EventRepositoryImpl implements EventRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Event> findAll(EventCriteria criteria) {
         log.info("Try to find event by criteria {}", criteria);
 
         Assert.notNull(criteria, "The criteria for finding values can't be null");
 
+        Optional<EventCriteriaEvaluator> archiveEvaluator = getArchiveEvaluator(criteria);
+        if (archiveEvaluator.isPresent()) {
+            return findAllWithArchive(criteria, archiveEvaluator.get());
+        }
+
+        return getResultList(createQuery(criteria), criteria.getPagination());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventView> findAllProjections(EventCriteria criteria) {
+        log.info("Try to find event projections by criteria {}", criteria);
+
+        Assert.notNull(criteria, "The criteria for finding values can't be null");
+
+        Set<EventResponseField> fields = EventProjection.getSelectedFields(criteria.getFields(), criteria.getSort());
+        Optional<EventCriteriaEvaluator> archiveEvaluator = getArchiveEvaluator(criteria);
+        if (archiveEvaluator.isPresent()) {
+            return findAllWithArchive(criteria, archiveEvaluator.get()).stream()
+                    .map(event -> EventProjection.project(event, fields))
+                    .collect(Collectors.toList());
+        }
+
+        return getResultList(createResponseQuery(criteria, fields, false), criteria.getPagination()).stream()
+                .map(tuple -> tupleToView(tuple, fields))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResult<EventView> findProjectionPage(EventCriteria criteria) {
+        log.info("Try to find a page of event projections by criteria {}", criteria);
+
+        Assert.notNull(criteria, "The criteria for finding values can't be null");
+
+        PaginationCriteria pagination = criteria.getPagination();
+        CountMode countMode = Objects.isNull(criteria.getCountMode()) ? CountMode.NONE : criteria.getCountMode();
+        Optional<EventCriteriaEvaluator> archiveEvaluator = getArchiveEvaluator(criteria);
+
+        if (countMode == CountMode.EXACT && (Objects.isNull(pagination) || Objects.isNull(pagination.getCursor()))
+                && archiveEvaluator.isEmpty()) {
+            Set<EventResponseField> fields = EventProjection.getSelectedFields(criteria.getFields(), criteria.getSort());
+            List<Tuple> tuples = getResultList(createResponseQuery(criteria, fields, true), pagination);
+            List<EventView> events = tuples.stream()
+                    .map(tuple -> tupleToView(tuple, fields))
+                    .collect(Collectors.toList());
+
+            if (!tuples.isEmpty()) {
+                return new PageResult<>(events, tuples.get(0).get(TOTAL_COUNT_ALIAS, Long.class));
+            }
+
+            return new PageResult<>(events, Objects.nonNull(pagination) && pagination.getPage() > 1 ? countAll(criteria) : 0L);
+        }
+
+        List<EventView> events = findAllProjections(criteria);
+        long archivedCount = countMode == CountMode.NONE ? 0L : archiveEvaluator.map(eventArchive::count).orElse(0L);
+
+        switch (countMode) {
+            case EXACT:
+                return new PageResult<>(events, countAll(criteria) + archivedCount);
+            case ESTIMATED:
+                return new PageResult<>(events, estimateCount(criteria) + archivedCount);
+            default:
+                return new PageResult<>(events, null);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void scrollAll(Consumer<Event> consumer) {
+        log.info("Try to scroll all events.");
+        Assert.notNull(consumer, "The consumer of the scrolled events cannot be null.");
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> criteriaQuery = builder.createQuery(Event.class);
+        Root<Event> root = criteriaQuery.from(Event.class);
+        criteriaQuery.select(root).orderBy(builder.asc(root.get(ID_FIELD_NAME)));
+
+        Query<Event> query = entityManager.unwrap(Session.class).createQuery(criteriaQuery);
+        try (ScrollableResults results = query.setFetchSize(SCROLL_FETCH_SIZE)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                Event event = (Event) results.get(0);
+                consumer.accept(event);
+                entityManager.detach(event);
+            }
+        }
+    }
+
+    TypedQuery<Event> createQuery(EventCriteria criteria) {
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         CriteriaQuery<Event> criteriaQuery = builder.createQuery(Event.class);
         Root<Event> root = criteriaQuery.from(Event.class);
         criteriaQuery.select(root);
+        applyCriteria(criteria, criteriaQuery, builder, root, true);
+
+        return entityManager.createQuery(criteriaQuery)
+                .setHint(QueryHints.HINT_CACHEABLE, true);
+    }
+
+    TypedQuery<Tuple> createResponseQuery(EventCriteria criteria, Set<EventResponseField> fields, boolean withTotalCount) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = builder.createTupleQuery();
+        Root<Event> root = criteriaQuery.from(Event.class);
+        List<Selection<?>> selections = buildSelections(fields, root);
+
+        if (withTotalCount) {
+            selections.add(builder.function(EventStoreMetadataBuilderInitializer.WINDOW_COUNT_FUNCTION, Long.class, root.get(ID_FIELD_NAME))
+                    .alias(TOTAL_COUNT_ALIAS));
+        }
+
+        criteriaQuery.multiselect(selections);
+        applyCriteria(criteria, criteriaQuery, builder, root, true);
+
+        return entityManager.createQuery(criteriaQuery)
+                .setHint(QueryHints.HINT_CACHEABLE, true)
+                .setHint(QueryHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+    }
+
+    // One statement writes the given columns and bumps the version, the row is not read first. The new version and start
+    // time are taken from its RETURNING clause, so even a request without a version gets them back.
+    private void executeVersionedUpdate(Event event, Set<String> fieldNames) {
+        String assignments = UPDATABLE_COLUMNS.entrySet().stream()
+                .filter(entry -> fieldNames.contains(entry.getKey()))
+                .map(entry -> String.format("%s = :%s", entry.getValue().getName(), entry.getKey()))
+                .collect(Collectors.joining(", "));
+        String versionCondition = Objects.isNull(event.getVersion()) ? "" : VERSION_CONDITION;
+
+        Session session = entityManager.unwrap(Session.class);
+        NativeQuery<?> query = session.createNativeQuery(String.format(VERSIONED_UPDATE_SQL, assignments, versionCondition))
+                .addSynchronizedEntityClass(Event.class)
+                .addScalar(VERSION_FIELD_NAME, StandardBasicTypes.LONG)
+                .addScalar("starts_at", LocalDateTimeType.INSTANCE)
+                .setParameter(ID_FIELD_NAME, event.getId());
+
+        UPDATABLE_COLUMNS.forEach((fieldName, column) -> {
+            if (fieldNames.contains(fieldName)) {
+                query.setParameter(fieldName, column.getGetter().apply(event), column.getType());
+            }
+        });
+
+        if (Objects.nonNull(event.getVersion())) {
+            query.setParameter(VERSION_FIELD_NAME, event.getVersion());
+        }
+
+        List<?> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            // No row matched, the only case that costs a second query to tell a missing entity from a stale version.
+            if (findExistingIds(List.of(event.getId())).isEmpty()) {
+                throw new NotExistEntityException(
+                        String.format("Entity of type Event with id = %d not exist in data base.", event.getId())
+                );
+            }
+            throw new StaleEntityException(String.format(
+                    "Entity of type Event with id = %d was modified concurrently, its version %d is stale.", event.getId(), event.getVersion()
+            ));
+        }
+
+        // A native statement leaves the caches alone, so only this entity and the query results over it are dropped.
+        // Both calls do nothing while the second level cache is disabled.
+        Cache cache = session.getSessionFactory().getCache();
+        cache.evictEntityData(Event.class, event.getId());
+        cache.evictDefaultQueryRegion();
+
+        Object[] row = (Object[]) rows.get(0);
+        event.setVersion((Long) row[0]);
+        event.setStartsAt((LocalDateTime) row[1]);
+    }
+
+    private void checkCurrentVersion(Event event, Event current) {
+        if (Objects.isNull(current)) {
+            throw new NotExistEntityException(
+                    String.format("Entity of type Event with id = %d not exist in data base.", event.getId())
+            );
+        }
+        if (Objects.nonNull(event.getVersion()) && !event.getVersion().equals(current.getVersion())) {
+            throw new StaleEntityException(String.format(
+                    "Entity of type Event with id = %d was modified concurrently, its version %d is stale.", event.getId(), event.getVersion()
+            ));
+        }
+    }
+
+    private long countAll(EventCriteria criteria) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = builder.createQuery(Long.class);
+        Root<Event> root = criteriaQuery.from(Event.class);
+        criteriaQuery.select(builder.count(root));
+        applyCriteria(criteria, criteriaQuery, builder, root, false);
+
+        return entityManager.createQuery(criteriaQuery)
+                .setHint(QueryHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getSingleResult();
+    }
+
+    // The estimate explains a native query built from the same filters, the SQL of the criteria query itself is
+    // only reachable through Hibernate internals.
+    private long estimateCount(EventCriteria criteria) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
 
         if (Objects.nonNull(criteria.getFilter())) {
-            Predicate[] predicates = getFilterPredicateArray(criteria.getFilter(), builder, root);
-            criteriaQuery.where(builder.and(predicates));
+            criteria.getFilter().stream()
+                    .map(filter -> buildFilterCondition(filter, parameters))
+                    .filter(Objects::nonNull)
+                    .forEach(conditions::add);
+        }
+
+        if (Objects.nonNull(criteria.getSearch())) {
+            conditions.add(SEARCH_CONDITION);
+            parameters.add(criteria.getSearch());
+        }
+
+        String sql = conditions.isEmpty() ? ESTIMATE_COUNT_SQL : ESTIMATE_COUNT_SQL + " WHERE " + String.join(" AND ", conditions);
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return parsePlanRows(resultSet.getString(1));
+                }
+            }
+        });
+    }
+
+    private String buildFilterCondition(EventFilterCriteria criteria, List<Object> parameters) {
+        String column = getColumnName(criteria.getField());
+
+        if (criteria.getOperator() == FilterOperator.PREFIX) {
+            parameters.add(escapeLikePattern(criteria.getValue()) + "%");
+            return column + " LIKE ? ESCAPE '" + LIKE_ESCAPE_CHARACTER + "'";
+        }
+
+        List<Object> values = new ArrayList<>();
+        for (String value : criteria.getValues()) {
+            values.add(EventCriteriaEvaluator.parseFilterValue(criteria.getField(), value));
+        }
+
+        switch (criteria.getOperator()) {
+            case EQ:
+                parameters.add(values.get(0));
+                return column + " = ?";
+            case GT:
+                parameters.add(values.get(0));
+                return column + " > ?";
+            case GTE:
+                parameters.add(values.get(0));
+                return column + " >= ?";
+            case LT:
+                parameters.add(values.get(0));
+                return column + " < ?";
+            case LTE:
+                parameters.add(values.get(0));
+                return column + " <= ?";
+            case BETWEEN:
+                parameters.add(values.get(0));
+                parameters.add(values.get(1));
+                return column + " BETWEEN ? AND ?";
+            case IN:
+                parameters.addAll(values);
+                return column + " IN (" + String.join(", ", Collections.nCopies(values.size(), "?")) + ")";
+            default:
+                return null;
+        }
+    }
+
+    private String getColumnName(EventCriteriaField field) {
+        switch (field) {
+            case SUBJECT:
+                return "subject";
+            case PLANNER:
+                return "planner_full_name";
+            case DATE:
+                return "date";
+            case TIME:
+                return "time";
+            default:
+                return "starts_at";
+        }
+    }
+
+    private long parsePlanRows(String plan) {
+        Matcher matcher = PLAN_ROWS_PATTERN.matcher(plan);
+        if (!matcher.find()) {
+            throw new IllegalStateException("The query plan does not contain a row estimate.");
+        }
+
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private void applyCriteria(EventCriteria criteria, CriteriaQuery<?> criteriaQuery, CriteriaBuilder builder, Root<Event> root,
+                               boolean ordered) {
+        List<Predicate> predicates = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        PaginationCriteria pagination = criteria.getPagination();
+
+        if (Objects.nonNull(criteria.getFilter())) {
+            predicates.addAll(Arrays.asList(getFilterPredicateArray(criteria.getFilter(), builder, root)));
+        }
+
+        if (ordered && Objects.nonNull(criteria.getSort())) {
+            orders.addAll(Arrays.asList(getSortingOrderArray(criteria.getSort(), builder, root)));
+        }
+
+        if (Objects.nonNull(criteria.getSearch())) {
+            Expression<String> searchVector = root.get(SEARCH_VECTOR_FIELD_NAME);
+            Expression<String> search = builder.literal(criteria.getSearch());
+
+            predicates.add(buildSearchPredicate(searchVector, search, builder));
+
+            if (ordered && orders.isEmpty()) {
+                if (Objects.nonNull(pagination) && Objects.nonNull(pagination.getCursor())) {
+                    throw new IllegalArgumentException("The pagination cursor cannot be used when the search results are ordered by relevance.");
+                }
+
+                orders.add(builder.desc(builder.function(
+                        EventStoreMetadataBuilderInitializer.FULL_TEXT_RANK_FUNCTION, Double.class, searchVector, search
+                )));
+            }
         }
 
-        if (Objects.nonNull(criteria.getSort())) {
-            Order[] orders = getSortingOrderArray(criteria.getSort(), builder, root);
+        if (ordered && Objects.nonNull(pagination)) {
+            SortingDirection idDirection = getIdSortingDirection(criteria.getSort());
+            orders.add(buildSortingOrder(ID_FIELD_NAME, idDirection, builder, root));
+
+            if (Objects.nonNull(pagination.getCursor())) {
+                EventCursor cursor = EventCursor.fromToken(pagination.getCursor());
+                predicates.add(buildSeekPredicate(criteria.getSort(), idDirection, cursor, builder, root));
+            }
+        }
+
+        if (!predicates.isEmpty()) {
+            criteriaQuery.where(builder.and(predicates.toArray(Predicate[]::new)));
+        }
+
+        if (!orders.isEmpty()) {
             criteriaQuery.orderBy(orders);
         }
+    }
+
+    private Predicate buildSearchPredicate(Expression<String> searchVector, Expression<String> search, CriteriaBuilder builder) {
+        return builder.isTrue(builder.function(
+                EventStoreMetadataBuilderInitializer.FULL_TEXT_MATCH_FUNCTION, Boolean.class, searchVector, search
+        ));
+    }
 
-        if (Objects.nonNull(criteria.getPagination())) {
-            return entityManager.createQuery(criteriaQuery)
-                    .setFirstResult(criteria.getPagination().getPage() - 1)
-                    .setMaxResults(criteria.getPagination().getSize())
-                    .getResultList();
+    // Archived events only take part in a read when the criteria reach into the archived date ranges and planners.
+    private Optional<EventCriteriaEvaluator> getArchiveEvaluator(EventCriteria criteria) {
+        if (eventArchive.isEmpty()) {
+            return Optional.empty();
         }
 
-        return entityManager.createQuery(criteriaQuery).getResultList();
+        EventCriteriaEvaluator evaluator = EventCriteriaEvaluator.of(criteria, eventArchive.getTextOrder());
+        return eventArchive.mayContain(evaluator) ? Optional.of(evaluator) : Optional.empty();
+    }
+
+    // Both sources supply the leading events up to the end of the requested page, which is then cut from their merge.
+    private List<Event> findAllWithArchive(EventCriteria criteria, EventCriteriaEvaluator evaluator) {
+        PaginationCriteria pagination = criteria.getPagination();
+        PaginationCriteria leadingPagination = Objects.isNull(pagination) || Objects.nonNull(pagination.getCursor())
+                ? pagination
+                : new PaginationCriteria(1, evaluator.getFetchLimit());
+
+        List<Event> events = getResultList(createQuery(criteria), leadingPagination);
+        return evaluator.merge(events, eventArchive.findAll(evaluator));
+    }
+
+    private <T> List<T> getResultList(TypedQuery<T> query, PaginationCriteria pagination) {
+        if (Objects.nonNull(pagination)) {
+            if (Objects.isNull(pagination.getCursor())) {
+                query.setFirstResult(pagination.getPage() - 1);
+            }
+
+            return query.setMaxResults(pagination.getSize()).getResultList();
+        }
+
+        return query.getResultList();
+    }
+
+    private long getSnapshotHorizon() {
+        return ((Number) entityManager.createNativeQuery(SNAPSHOT_HORIZON_SQL).getSingleResult()).longValue();
+    }
+
+    private List<EventDeltaEntry> findUpdatedEntries(EventCriteria criteria, EventChangeToken token, int limit) {
+        Set<EventResponseField> fields = EnumSet.allOf(EventResponseField.class);
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = builder.createTupleQuery();
+        Root<Event> root = criteriaQuery.from(Event.class);
+        List<Selection<?>> selections = buildSelections(fields, root);
+        selections.add(root.get(CHANGE_XID_FIELD_NAME).alias(CHANGE_XID_FIELD_NAME));
+
+        criteriaQuery.multiselect(selections)
+                .where(buildChangePredicates(criteria, token, builder, root))
+                .orderBy(builder.asc(root.get(CHANGE_XID_FIELD_NAME)), builder.asc(root.get(ID_FIELD_NAME)));
+
+        return entityManager.createQuery(criteriaQuery)
+                .setHint(QueryHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> new EventDeltaEntry(tuple.get(CHANGE_XID_FIELD_NAME, Long.class), tupleToView(tuple, fields)))
+                .collect(Collectors.toList());
+    }
+
+    private List<EventDeltaEntry> findDeletedEntries(EventCriteria criteria, EventChangeToken token, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = builder.createTupleQuery();
+        Root<EventTombstone> root = criteriaQuery.from(EventTombstone.class);
+
+        criteriaQuery.multiselect(root.get(CHANGE_XID_FIELD_NAME).alias(CHANGE_XID_FIELD_NAME), root.get(ID_FIELD_NAME).alias(ID_FIELD_NAME))
+                .where(buildChangePredicates(criteria, token, builder, root))
+                .orderBy(builder.asc(root.get(CHANGE_XID_FIELD_NAME)), builder.asc(root.get(ID_FIELD_NAME)));
+
+        return entityManager.createQuery(criteriaQuery)
+                .setHint(QueryHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> new EventDeltaEntry(tuple.get(CHANGE_XID_FIELD_NAME, Long.class), tuple.get(ID_FIELD_NAME, Long.class)))
+                .collect(Collectors.toList());
     }
 
-    private Predicate[] getFilterPredicateArray(List<EventFilterCriteria> filterCriteriaList, CriteriaBuilder builder, Root<Event> root) {
+    // An event whose filterable fields were changed is removed from the filtered view when its previous fields matched
+    // the filter and its current ones do not. Events that still match are reported as updated instead.
+    private List<EventDeltaEntry> findDepartedEntries(EventCriteria criteria, EventChangeToken token, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = builder.createTupleQuery();
+        Root<EventDeparture> root = criteriaQuery.from(EventDeparture.class);
+
+        Subquery<Long> matching = criteriaQuery.subquery(Long.class);
+        Root<Event> event = matching.from(Event.class);
+        List<Predicate> matchingPredicates = new ArrayList<>(Arrays.asList(getFilterPredicateArray(criteria.getFilter(), builder, event)));
+        matchingPredicates.add(builder.equal(event.get(ID_FIELD_NAME), root.get(ID_FIELD_NAME)));
+        matching.select(event.get(ID_FIELD_NAME)).where(matchingPredicates.toArray(Predicate[]::new));
+
+        List<Predicate> predicates = new ArrayList<>(Arrays.asList(buildChangePredicates(criteria, token, builder, root)));
+        predicates.add(builder.not(builder.exists(matching)));
+
+        criteriaQuery.multiselect(root.get(CHANGE_XID_FIELD_NAME).alias(CHANGE_XID_FIELD_NAME), root.get(ID_FIELD_NAME).alias(ID_FIELD_NAME))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.asc(root.get(CHANGE_XID_FIELD_NAME)), builder.asc(root.get(ID_FIELD_NAME)));
+
+        return entityManager.createQuery(criteriaQuery)
+                .setHint(QueryHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> new EventDeltaEntry(tuple.get(CHANGE_XID_FIELD_NAME, Long.class), tuple.get(ID_FIELD_NAME, Long.class)))
+                .collect(Collectors.toList());
+    }
+
+    private List<EventDeltaEntry> mergeEntries(List<EventDeltaEntry> first, List<EventDeltaEntry> second, int limit) {
+        List<EventDeltaEntry> merged = new ArrayList<>(first.size() + second.size());
+        merged.addAll(first);
+        merged.addAll(second);
+        Collections.sort(merged);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    private Predicate[] buildChangePredicates(EventCriteria criteria, EventChangeToken token, CriteriaBuilder builder, Root<?> root) {
+        Path<Long> changeXid = root.get(CHANGE_XID_FIELD_NAME);
+        Path<Long> id = root.get(ID_FIELD_NAME);
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (Objects.nonNull(criteria.getFilter())) {
+            predicates.addAll(Arrays.asList(getFilterPredicateArray(criteria.getFilter(), builder, root)));
+        }
+
+        predicates.add(builder.greaterThanOrEqualTo(changeXid, token.getFloor()));
+
+        if (Objects.nonNull(token.getAfterChangeXid())) {
+            predicates.add(builder.or(
+                    builder.greaterThan(changeXid, token.getAfterChangeXid()),
+                    builder.and(builder.equal(changeXid, token.getAfterChangeXid()), builder.greaterThan(id, token.getAfterId()))
+            ));
+        }
+
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private List<Selection<?>> buildSelections(Set<EventResponseField> fields, Root<Event> root) {
+        return fields.stream()
+                .map(field -> root.get(field.getName()).alias(field.getName()))
+                .collect(Collectors.toList());
+    }
+
+    private EventView tupleToView(Tuple tuple, Set<EventResponseField> fields) {
+        EventView.EventViewBuilder view = EventView.builder();
+
+        for (EventResponseField field : fields) {
+            switch (field) {
+                case ID:
+                    view.id(tuple.get(ID_FIELD_NAME, Long.class));
+                    break;
+                case SUBJECT:
+                    view.subject(tuple.get(SUBJECT_FIELD_NAME, String.class));
+                    break;
+                case DESCRIPTION:
+                    view.description(tuple.get(DESCRIPTION_FIELD_NAME, String.class));
+                    break;
+                case PLANNER:
+                    view.plannerFullName(tuple.get(PLANNER_FIELD_NAME, String.class));
+                    break;
+                case DATE:
+                    view.date(tuple.get(DATE_FIELD_NAME, LocalDate.class));
+                    break;
+                case TIME:
+                    view.time(tuple.get(TIME_FIELD_NAME, LocalTime.class));
+                    break;
+                case VENUE:
+                    view.venue(tuple.get(VENUE_FIELD_NAME, String.class));
+                    break;
+                case VERSION:
+                    view.version(tuple.get(VERSION_FIELD_NAME, Long.class));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return view.build();
+    }
+
+    private EventView rowToView(ResultSet resultSet) throws SQLException {
+        return EventView.builder()
+                .id(resultSet.getLong(1))
+                .subject(resultSet.getString(2))
+                .description(resultSet.getString(3))
+                .plannerFullName(resultSet.getString(4))
+                .date(resultSet.getObject(5, LocalDate.class))
+                .time(resultSet.getObject(6, LocalTime.class))
+                .venue(resultSet.getString(7))
+                .version(resultSet.getLong(8))
+                .build();
+    }
+
+    private void checkNewEntity(Event event) {
+        Assert.notNull(event, "The entity being saved cannot be null.");
+
+        if (Objects.nonNull(event.getId()) && !event.getId().equals(0L)) {
+            throw new IllegalArgumentException("The id of the entity being saved must be null or zero.");
+        }
+    }
+
+    private void flushAndClearIfBatchIsFull(int processed) {
+        if (processed % Math.max(jdbcBatchSize, 1) == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private Predicate[] getFilterPredicateArray(List<EventFilterCriteria> filterCriteriaList, CriteriaBuilder builder, Root<?> root) {
         return filterCriteriaList.stream()
                 .map(criteria -> buildFilterPredicate(criteria, builder, root))
                 .filter(Objects::nonNull)
                 .toArray(Predicate[]::new);
     }
 
-    private Predicate buildFilterPredicate(EventFilterCriteria criteria, CriteriaBuilder builder, Root<Event> root) {
-        String fieldName = criteria.getField().getName();
-        String fieldValue = criteria.getValue();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate buildFilterPredicate(EventFilterCriteria criteria, CriteriaBuilder builder, Root<?> root) {
+        Path path = root.get(criteria.getField().getName());
+
+        if (criteria.getOperator() == FilterOperator.PREFIX) {
+            return builder.like(path, escapeLikePattern(criteria.getValue()) + "%", LIKE_ESCAPE_CHARACTER);
+        }
+
+        List<Comparable> values = new ArrayList<>();
+        for (String value : criteria.getValues()) {
+            values.add(EventCriteriaEvaluator.parseFilterValue(criteria.getField(), value));
+        }
+
+        Predicate predicate = buildComparisonPredicate(criteria.getOperator(), path, values, builder);
 
-        if (criteria.getField() == EventCriteriaField.SUBJECT ||
-                criteria.getField() == EventCriteriaField.PLANNER) {
-            return builder.equal(root.get(fieldName), fieldValue);
+        if (criteria.getField() == EventCriteriaField.STARTS_AT && Objects.nonNull(predicate)) {
+            // The redundant predicate on the partition key lets Postgres prune the monthly partitions of events.
+            return builder.and(predicate, buildStartsAtDatePredicate(criteria.getOperator(), values, builder, root));
         }
-        if (criteria.getField() == EventCriteriaField.DATE) {
-            String dateFormat = "dd.MM.yyyy";
-            LocalDate date = LocalDate.parse(fieldValue, DateTimeFormatter.ofPattern(dateFormat));
-            return builder.equal(root.get(fieldName), date);
+
+        return predicate;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate buildComparisonPredicate(FilterOperator operator, Path path, List<Comparable> values, CriteriaBuilder builder) {
+        switch (operator) {
+            case EQ:
+                return builder.equal(path, values.get(0));
+            case GT:
+                return builder.greaterThan(path, values.get(0));
+            case GTE:
+                return builder.greaterThanOrEqualTo(path, values.get(0));
+            case LT:
+                return builder.lessThan(path, values.get(0));
+            case LTE:
+                return builder.lessThanOrEqualTo(path, values.get(0));
+            case BETWEEN:
+                return builder.between(path, values.get(0), values.get(1));
+            case IN:
+                return path.in(values);
+            default:
+                return null;
         }
-        if (criteria.getField() == EventCriteriaField.TIME) {
-            String timeFormat = "HH:mm";
-            LocalTime time = LocalTime.parse(fieldValue, DateTimeFormatter.ofPattern(timeFormat));
-            return builder.equal(root.get(fieldName), time);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Predicate buildStartsAtDatePredicate(FilterOperator operator, List<Comparable> values, CriteriaBuilder builder, Root<?> root) {
+        List<Comparable> dates = values.stream()
+                .map(value -> ((LocalDateTime) value).toLocalDate())
+                .collect(Collectors.toList());
+
+        // A start before or after the bound can still fall on the bound's date, so strict comparisons are widened.
+        FilterOperator dateOperator;
+        switch (operator) {
+            case GT:
+                dateOperator = FilterOperator.GTE;
+                break;
+            case LT:
+                dateOperator = FilterOperator.LTE;
+                break;
+            default:
+                dateOperator = operator;
         }
 
-        return null;
+        return buildComparisonPredicate(dateOperator, root.get(DATE_FIELD_NAME), dates, builder);
+    }
+
+    private String escapeLikePattern(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 1);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == LIKE_ESCAPE_CHARACTER || c == '%' || c == '_') {
+                sb.append(LIKE_ESCAPE_CHARACTER);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
     }
 
     private Order[] getSortingOrderArray(List<EventSortingCriteria> sortingCriteriaList, CriteriaBuilder builder, Root<Event> root) {
-        return sortingCriteriaList.stream()
-                .map(criteria -> buildSortingOrder(criteria, builder, root))
+        List<Order> orders = new ArrayList<>();
+
+        for (int i = 0; i < sortingCriteriaList.size(); i++) {
+            EventSortingCriteria criteria = sortingCriteriaList.get(i);
+
+            if (isDateTimePair(sortingCriteriaList, i)) {
+                orders.add(buildSortingOrder(STARTS_AT_FIELD_NAME, criteria.getDirection(), builder, root));
+                i++;
+            } else {
+                orders.add(buildSortingOrder(criteria.getField().getName(), criteria.getDirection(), builder, root));
+            }
+        }
+
+        return orders.stream()
                 .filter(Objects::nonNull)
                 .toArray(Order[]::new);
     }
 
-    private Order buildSortingOrder(EventSortingCriteria criteria, CriteriaBuilder builder, Root<Event> root) {
-        if (criteria.getDirection() == SortingDirection.ASC) {
-            return builder.asc(root.get(criteria.getField().getName()));
+    private boolean isDateTimePair(List<EventSortingCriteria> sortingCriteriaList, int index) {
+        return index + 1 < sortingCriteriaList.size()
+                && sortingCriteriaList.get(index).getField() == EventCriteriaField.DATE
+                && sortingCriteriaList.get(index + 1).getField() == EventCriteriaField.TIME
+                && sortingCriteriaList.get(index).getDirection() == sortingCriteriaList.get(index + 1).getDirection();
+    }
+
+    private Order buildSortingOrder(String fieldName, SortingDirection direction, CriteriaBuilder builder, Root<Event> root) {
+        if (direction == SortingDirection.ASC) {
+            return builder.asc(root.get(fieldName));
         }
-        if (criteria.getDirection() == SortingDirection.DESC) {
-            return builder.desc(root.get(criteria.getField().getName()));
+        if (direction == SortingDirection.DESC) {
+            return builder.desc(root.get(fieldName));
         }
 
         return null;
     }
 
+    private SortingDirection getIdSortingDirection(List<EventSortingCriteria> sortingCriteriaList) {
+        return Objects.isNull(sortingCriteriaList) || sortingCriteriaList.isEmpty()
+                ? SortingDirection.ASC
+                : sortingCriteriaList.get(sortingCriteriaList.size() - 1).getDirection();
+    }
+
+    private Predicate buildSeekPredicate(List<EventSortingCriteria> sortingCriteriaList, SortingDirection idDirection,
+                                         EventCursor cursor, CriteriaBuilder builder, Root<Event> root) {
+        List<EventSortingCriteria> sortingCriteria = Objects.isNull(sortingCriteriaList) ? List.of() : sortingCriteriaList;
+
+        if (sortingCriteria.size() != cursor.getValues().size()) {
+            throw new IllegalArgumentException("The pagination cursor does not match the sorting criteria.");
+        }
+
+        List<String> fieldNames = new ArrayList<>();
+        List<SortingDirection> directions = new ArrayList<>();
+        List<Comparable<?>> values = new ArrayList<>();
+
+        for (int i = 0; i < sortingCriteria.size(); i++) {
+            EventSortingCriteria criteria = sortingCriteria.get(i);
+            directions.add(criteria.getDirection());
+
+            if (isDateTimePair(sortingCriteria, i)) {
+                LocalDate date = (LocalDate) EventCriteriaEvaluator.parseCursorValue(EventCriteriaField.DATE, cursor.getValues().get(i));
+                LocalTime time = (LocalTime) EventCriteriaEvaluator.parseCursorValue(EventCriteriaField.TIME, cursor.getValues().get(i + 1));
+                fieldNames.add(STARTS_AT_FIELD_NAME);
+                values.add(LocalDateTime.of(date, time));
+                i++;
+            } else {
+                fieldNames.add(criteria.getField().getName());
+                values.add(EventCriteriaEvaluator.parseCursorValue(criteria.getField(), cursor.getValues().get(i)));
+            }
+        }
+
+        fieldNames.add(ID_FIELD_NAME);
+        directions.add(idDirection);
+        values.add(cursor.getId());
+
+        List<Predicate> alternatives = new ArrayList<>();
+        for (int i = 0; i < fieldNames.size(); i++) {
+            List<Predicate> conjunction = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                conjunction.add(builder.equal(root.get(fieldNames.get(j)), values.get(j)));
+            }
+            conjunction.add(buildSeekComparison(root.get(fieldNames.get(i)), values.get(i), directions.get(i), false, builder));
+            alternatives.add(builder.and(conjunction.toArray(Predicate[]::new)));
+        }
+
+        Predicate leadingBound = buildSeekComparison(root.get(fieldNames.get(0)), values.get(0), directions.get(0), true, builder);
+        return builder.and(leadingBound, builder.or(alternatives.toArray(Predicate[]::new)));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate buildSeekComparison(Path path, Comparable value, SortingDirection direction, boolean inclusive, CriteriaBuilder builder) {
+        if (direction == SortingDirection.DESC) {
+            return inclusive ? builder.lessThanOrEqualTo(path, value) : builder.lessThan(path, value);
+        }
+
+        return inclusive ? builder.greaterThanOrEqualTo(path, value) : builder.greaterThan(path, value);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class UpdatableColumn {
+
+        private final String name;
+        private final Type type;
+        private final Function<Event, Object> getter;
+
+    }
+
+    @Getter
+    private static class EventDeltaEntry implements Comparable<EventDeltaEntry> {
+
+        private final long changeXid;
+        private final long id;
+        private final EventView view;
+
+        EventDeltaEntry(long changeXid, EventView view) {
+            this.changeXid = changeXid;
+            this.id = view.getId();
+            this.view = view;
+        }
+
+        EventDeltaEntry(long changeXid, long id) {
+            this.changeXid = changeXid;
+            this.id = id;
+            this.view = null;
+        }
+
+        @Override
+        public int compareTo(EventDeltaEntry other) {
+            int result = Long.compare(changeXid, other.changeXid);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.modsen.eventstore.service;
+
+import com.modsen.eventstore.dto.event.EventChange;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+public interface EventChangeService {
+
+    SseEmitter subscribe(Long lastEventId);
+
+    void publish(List<EventChange> changes, long upToId);
+
+    int getSubscriberCount();
+
+}
\ No newline at end of file
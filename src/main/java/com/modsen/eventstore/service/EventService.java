@@ -1,22 +1,52 @@
 package com.modsen.eventstore.service;
 
+import com.modsen.eventstore.dto.batch.BatchResult;
+import com.modsen.eventstore.dto.criteria.event.EventChangeToken;
 import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.event.EventDelta;
+import com.modsen.eventstore.dto.event.EventResponseField;
+import com.modsen.eventstore.dto.event.EventView;
+import com.modsen.eventstore.dto.page.PageResult;
 import com.modsen.eventstore.model.Event;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EventService {
 
     Event create(Event event);
 
+    BatchResult<Event> createAll(List<Event> events);
+
     Event read(Long id);
 
+    EventView readProjection(Long id, Set<EventResponseField> fields);
+
+    BatchResult<EventView> readAllProjectionsById(List<Long> ids);
+
     Event update(Event event);
 
+    BatchResult<Event> updateAll(List<Event> events);
+
+    void patch(Event event, Set<String> fieldNames);
+
     void delete(Long id);
 
+    BatchResult<Long> deleteAll(List<Long> ids);
+
+    int deleteAllByCriteria(EventCriteria criteria);
+
     List<Event> readAll();
 
     List<Event> readAll(EventCriteria criteria);
 
+    List<EventView> readAllProjections(EventCriteria criteria);
+
+    PageResult<EventView> readProjectionPage(EventCriteria criteria);
+
+    EventDelta<EventView> readChanges(EventCriteria criteria, EventChangeToken token, int limit);
+
+    void exportAll(Consumer<Event> consumer);
+
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.modsen.eventstore.service.impl;
+
+import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.repository.EventArchiveRepository;
+import com.modsen.eventstore.repository.EventPartitionRepository;
+import com.modsen.eventstore.repository.archive.EventArchive;
+import com.modsen.eventstore.repository.archive.EventSegment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@Profile("!file-store")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "event-archive.enabled", havingValue = "true")
+public class EventArchiver {
+
+    private final EventArchiveRepository eventArchiveRepository;
+    private final EventPartitionRepository eventPartitionRepository;
+    private final EventArchive eventArchive;
+
+    @Value("${event-archive.horizon}")
+    private Duration horizon;
+
+    @Value("${event-archive.segment-size}")
+    private int segmentSize;
+
+    // One month is archived per run, always the oldest one that lies entirely beyond the horizon. Its partition is
+    // dropped afterwards, so archiving leaves neither dead rows nor index bloat behind in the primary table.
+    @Transactional
+    @Scheduled(fixedDelayString = "${event-archive.interval}", initialDelayString = "${event-archive.interval}")
+    public void archivePastEvents() {
+        if (!eventPartitionRepository.tryLockMaintenance()) {
+            log.info("The partitions of events are maintained by another node.");
+            return;
+        }
+
+        LocalDate boundary = YearMonth.from(LocalDate.now().minusDays(horizon.toDays())).atDay(1);
+        Optional<LocalDate> oldestDate = eventArchiveRepository.findOldestDateBefore(boundary);
+        if (oldestDate.isEmpty()) {
+            return;
+        }
+
+        YearMonth month = YearMonth.from(oldestDate.get());
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        List<EventSegment> segments = new ArrayList<>();
+        registerSegmentPublication(segments);
+
+        // No row of the month may change between the reads below and the drop and delete that follow them.
+        eventPartitionRepository.lockMonthlyPartition(month);
+
+        List<Event> events;
+        Event last = null;
+        do {
+            events = eventArchiveRepository.findAllByDateBetween(from, to, last, segmentSize);
+            if (!events.isEmpty()) {
+                EventSegment segment = eventArchive.writeSegment(month, events);
+                segments.add(segment);
+                eventArchiveRepository.saveSegment(segment.getFile().getFileName().toString(), segment.getMinDate(),
+                        segment.getMaxDate(), segment.getRowCount());
+                last = events.get(events.size() - 1);
+            }
+        } while (events.size() == segmentSize);
+
+        if (eventPartitionRepository.findMonthlyPartitions().contains(month)) {
+            eventPartitionRepository.dropMonthlyPartition(month);
+        }
+        eventArchiveRepository.deleteAllByDateBetween(from, to);
+
+        log.info("Archived events of {} into {} segments.", month, segments.size());
+    }
+
+    // The segments are served before the commit so that no read misses the month in between, and are removed again
+    // if the transaction that deletes the archived rows rolls back.
+    private void registerSegmentPublication(List<EventSegment> segments) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                eventArchive.publish(segments);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    eventArchive.discard(segments);
+                }
+            }
+
+        });
+    }
+
+}
\ No newline at end of file
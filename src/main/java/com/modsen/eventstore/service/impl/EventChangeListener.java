@@ -0,0 +1,153 @@
+package com.modsen.eventstore.service.impl;
+
+import com.modsen.eventstore.dto.event.EventChangeHorizon;
+import com.modsen.eventstore.repository.EventChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Slf4j
+@Component
+@Profile("!file-store")
+public class EventChangeListener implements SmartLifecycle {
+
+    static final String CHANNEL = "event_changes";
+
+    private final EventChangePublisher eventChangePublisher;
+    private final EventChangeRepository eventChangeRepository;
+
+    @Value("${postgres.url}")
+    private String dbUrl;
+
+    @Value("${postgres.username}")
+    private String dbUsername;
+
+    @Value("${postgres.password}")
+    private String dbPassword;
+
+    @Value("${event-stream.poll-timeout}")
+    private Duration pollTimeout;
+
+    @Value("${event-stream.settle-interval}")
+    private Duration settleInterval;
+
+    @Value("${event-stream.reconnect-delay}")
+    private Duration reconnectDelay;
+
+    @Value("${event-stream.outbox-retention}")
+    private Duration outboxRetention;
+
+    private volatile boolean running;
+    private Thread thread;
+    private EventChangeHorizon horizon;
+    private boolean changed;
+    private long lastCleanupMillis;
+
+    public EventChangeListener(EventChangePublisher eventChangePublisher, EventChangeRepository eventChangeRepository) {
+        this.eventChangePublisher = eventChangePublisher;
+        this.eventChangeRepository = eventChangeRepository;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "event-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (Objects.nonNull(thread)) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dbUrl, dbUsername, dbPassword)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for event changes on channel {}.", CHANNEL);
+
+                // Changes committed while this node was not listening are published with the first settled horizon.
+                horizon = eventChangeRepository.findHorizon();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    Duration timeout = Objects.isNull(horizon) && !changed ? pollTimeout : settleInterval;
+                    PGNotification[] notifications = pgConnection.getNotifications((int) timeout.toMillis());
+                    if (Objects.nonNull(notifications) && notifications.length > 0) {
+                        changed = true;
+                    }
+                    publishSettledChanges();
+                    cleanUpOutbox();
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("The listener of event changes failed, it reconnects in {}.", reconnectDelay, e);
+                sleep(reconnectDelay);
+            }
+        }
+    }
+
+    // Notifications only wake the listener up: the changes are read from the outbox in id order, and only up to a
+    // horizon that has settled, so a change committed after a change with a higher id is never skipped.
+    private void publishSettledChanges() {
+        if (Objects.isNull(horizon)) {
+            if (!changed) {
+                return;
+            }
+            changed = false;
+            horizon = eventChangeRepository.findHorizon();
+        }
+
+        if (!eventChangeRepository.isSettled(horizon)) {
+            return;
+        }
+
+        long upToId = horizon.getLastChangeId();
+        horizon = null;
+        eventChangePublisher.publishUpTo(upToId);
+    }
+
+    private void cleanUpOutbox() {
+        long now = System.currentTimeMillis();
+        if (now - lastCleanupMillis < outboxRetention.toMillis()) {
+            return;
+        }
+
+        lastCleanupMillis = now;
+        eventChangeRepository.deleteAllCreatedBefore(LocalDateTime.now().minus(outboxRetention));
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
\ No newline at end of file
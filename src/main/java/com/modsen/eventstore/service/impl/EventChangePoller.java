@@ -0,0 +1,24 @@
+package com.modsen.eventstore.service.impl;
+
+import com.modsen.eventstore.repository.EventChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Without Postgres there are no notifications to listen to, so the changes appended to the event log are polled.
+@Component
+@Profile("file-store")
+@RequiredArgsConstructor
+public class EventChangePoller {
+
+    private final EventChangePublisher eventChangePublisher;
+    private final EventChangeRepository eventChangeRepository;
+
+    // Every change appended to the log is settled at once, the log is written under a single lock.
+    @Scheduled(fixedDelayString = "${file-store.change-poll-interval}")
+    public void publishNewChanges() {
+        eventChangePublisher.publishUpTo(eventChangeRepository.findHorizon().getLastChangeId());
+    }
+
+}
\ No newline at end of file
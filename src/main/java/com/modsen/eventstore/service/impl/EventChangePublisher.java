@@ -0,0 +1,46 @@
+package com.modsen.eventstore.service.impl;
+
+import com.modsen.eventstore.dto.event.EventChange;
+import com.modsen.eventstore.repository.EventChangeRepository;
+import com.modsen.eventstore.service.EventChangeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+// Fans the changes of the log out to the subscribers in id order, for the listener on Postgres and the poller of the
+// file store alike. The callers decide up to which change id the log has settled.
+@Component
+@RequiredArgsConstructor
+public class EventChangePublisher {
+
+    private final EventChangeService eventChangeService;
+    private final EventChangeRepository eventChangeRepository;
+
+    @Value("${event-stream.replay-limit}")
+    private int replayLimit;
+
+    private Long lastChangeId;
+
+    // The changes made before startup are left to the replay of the subscribers, the first call only skips them.
+    public synchronized void publishUpTo(long upToId) {
+        if (Objects.isNull(lastChangeId)) {
+            lastChangeId = upToId;
+            eventChangeService.publish(List.of(), upToId);
+            return;
+        }
+
+        List<EventChange> changes;
+        do {
+            changes = eventChangeRepository.findAllAfter(lastChangeId, upToId, replayLimit);
+            eventChangeService.publish(changes, upToId);
+            if (!changes.isEmpty()) {
+                lastChangeId = changes.get(changes.size() - 1).getId();
+            }
+        } while (changes.size() == replayLimit);
+        lastChangeId = Math.max(lastChangeId, upToId);
+    }
+
+}
\ No newline at end of file
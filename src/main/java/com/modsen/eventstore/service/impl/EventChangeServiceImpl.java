@@ -0,0 +1,193 @@
+package com.modsen.eventstore.service.impl;
+
+import com.modsen.eventstore.dto.event.EventChange;
+import com.modsen.eventstore.repository.EventChangeRepository;
+import com.modsen.eventstore.service.EventChangeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class EventChangeServiceImpl implements EventChangeService {
+
+    static final String RESET_EVENT_NAME = "RESET";
+
+    private final EventChangeRepository eventChangeRepository;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+    private final long subscriberTimeoutMillis;
+    private final int subscriberBufferSize;
+    private final int replayLimit;
+    private volatile long publishedUpTo;
+
+    public EventChangeServiceImpl(EventChangeRepository eventChangeRepository,
+                                  @Value("${event-stream.dispatch-threads}") int dispatchThreads,
+                                  @Value("${event-stream.subscriber-timeout}") Duration subscriberTimeout,
+                                  @Value("${event-stream.subscriber-buffer-size}") int subscriberBufferSize,
+                                  @Value("${event-stream.replay-limit}") int replayLimit) {
+        this.eventChangeRepository = eventChangeRepository;
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, new CustomizableThreadFactory("event-stream-"));
+        this.subscriberTimeoutMillis = subscriberTimeout.toMillis();
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.replayLimit = replayLimit;
+    }
+
+    @Override
+    public SseEmitter subscribe(Long lastEventId) {
+        log.info("Try to subscribe to event changes after id = {}.", lastEventId);
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(subscriberTimeoutMillis), subscriberBufferSize);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> close(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+
+        // The subscriber is registered before the replay so that no change committed in between is lost,
+        // and the drain flag is held during the replay so that live changes are only buffered meanwhile.
+        subscriber.draining.set(true);
+        subscribers.add(subscriber);
+        try {
+            if (Objects.nonNull(lastEventId)) {
+                replay(subscriber, lastEventId);
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    @Override
+    public void publish(List<EventChange> changes, long upToId) {
+        // Advanced before the changes are queued, a subscriber registered in between replays them from the outbox.
+        publishedUpTo = Math.max(publishedUpTo, upToId);
+
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            if (!offerAll(subscriber, changes)) {
+                log.warn("The subscriber buffer of event changes is full, the subscriber is disconnected to resume later.");
+                close(subscriber);
+                continue;
+            }
+            schedule(subscriber);
+        }
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::close);
+        dispatcher.shutdownNow();
+    }
+
+    // The replay stops at the changes already published, later ones reach the subscriber through its queue. One change
+    // over the limit tells a gap too long to replay from a gap of exactly the limit.
+    private void replay(Subscriber subscriber, Long lastEventId) {
+        long upToId = publishedUpTo;
+        List<EventChange> missed = eventChangeRepository.findAllAfter(lastEventId, upToId, replayLimit + 1);
+        subscriber.replayedUpTo = Math.max(lastEventId, upToId);
+
+        if (missed.size() > replayLimit) {
+            send(subscriber, SseEmitter.event().name(RESET_EVENT_NAME).data(lastEventId));
+            return;
+        }
+
+        for (EventChange change : missed) {
+            if (!send(subscriber, toSseEvent(change))) {
+                return;
+            }
+        }
+    }
+
+    private boolean offerAll(Subscriber subscriber, List<EventChange> changes) {
+        for (EventChange change : changes) {
+            if (!subscriber.queue.offer(change)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            EventChange change;
+            while ((change = subscriber.queue.poll()) != null) {
+                if (change.getId() > subscriber.replayedUpTo && !send(subscriber, toSseEvent(change))) {
+                    return;
+                }
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        schedule(subscriber);
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("The subscriber of event changes is gone.", e);
+            close(subscriber);
+            return false;
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.queue.clear();
+        subscriber.emitter.complete();
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(EventChange change) {
+        return SseEmitter.event()
+                .id(String.valueOf(change.getId()))
+                .name(change.getType().name())
+                .data(change);
+    }
+
+    private static class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<EventChange> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long replayedUpTo;
+
+        Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+    }
+
+}
\ No newline at end of file
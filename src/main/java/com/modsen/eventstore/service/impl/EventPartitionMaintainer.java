@@ -0,0 +1,70 @@
+package com.modsen.eventstore.service.impl;
+
+import com.modsen.eventstore.repository.EventPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+@Profile("!file-store")
+@RequiredArgsConstructor
+public class EventPartitionMaintainer {
+
+    private final EventPartitionRepository eventPartitionRepository;
+
+    @Value("${event-partitions.months-ahead}")
+    private int monthsAhead;
+
+    @Value("${event-partitions.retention-months}")
+    private int retentionMonths;
+
+    @Value("${event-partitions.drop-expired}")
+    private boolean dropExpired;
+
+    // A single transaction holds the advisory lock, so only one node maintains the partitions at a time.
+    @Transactional
+    @Scheduled(fixedDelayString = "${event-partitions.maintenance-interval}")
+    public void maintainPartitions() {
+        if (!eventPartitionRepository.tryLockMaintenance()) {
+            log.info("The partitions of events are maintained by another node.");
+            return;
+        }
+
+        YearMonth currentMonth = YearMonth.now();
+        List<YearMonth> partitions = eventPartitionRepository.findMonthlyPartitions();
+        Set<YearMonth> existing = new HashSet<>(partitions);
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            if (!existing.contains(month)) {
+                eventPartitionRepository.createMonthlyPartition(month);
+            }
+        }
+
+        if (retentionMonths <= 0) {
+            return;
+        }
+
+        YearMonth oldestRetained = currentMonth.minusMonths(retentionMonths);
+        for (YearMonth month : partitions) {
+            if (month.isBefore(oldestRetained)) {
+                if (dropExpired) {
+                    eventPartitionRepository.dropMonthlyPartition(month);
+                } else {
+                    eventPartitionRepository.detachMonthlyPartition(month);
+                }
+            }
+        }
+    }
+
+}
\ No newline at end of file
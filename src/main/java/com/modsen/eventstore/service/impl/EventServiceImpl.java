@@ -1,6 +1,13 @@
 package com.modsen.eventstore.service.impl;
 
+import com.modsen.eventstore.dto.batch.BatchError;
+import com.modsen.eventstore.dto.batch.BatchResult;
+import com.modsen.eventstore.dto.criteria.event.EventChangeToken;
 import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.event.EventDelta;
+import com.modsen.eventstore.dto.event.EventResponseField;
+import com.modsen.eventstore.dto.event.EventView;
+import com.modsen.eventstore.dto.page.PageResult;
 import com.modsen.eventstore.exception.BeforeTodayDateException;
 import com.modsen.eventstore.exception.NotExistEntityException;
 import com.modsen.eventstore.model.Event;
@@ -8,11 +15,22 @@ import com.modsen.eventstore.repository.EventRepository;
 import com.modsen.eventstore.service.EventService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -21,6 +39,8 @@ public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
 
+    @Value("${event-sync.tombstone-retention}")
+    private Duration tombstoneRetention;
 
     @Override
     public Event create(Event event) {
@@ -34,6 +54,29 @@ public class EventServiceImpl implements EventService {
         return eventRepository.save(event);
     }
 
+    @Override
+    @Transactional
+    public BatchResult<Event> createAll(List<Event> events) {
+        log.info("Try to save a batch of entities into data base.");
+        Assert.notNull(events, "The entities being saved cannot be null.");
+
+        List<Event> accepted = new ArrayList<>();
+        List<BatchError> errors = new ArrayList<>();
+
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            if (Objects.isNull(event) || Objects.isNull(event.getDate())) {
+                errors.add(new BatchError(i, "The entity being saved and its date cannot be null."));
+            } else if (event.getDate().isBefore(LocalDate.now())) {
+                errors.add(new BatchError(i, "The date must be present or future."));
+            } else {
+                accepted.add(event);
+            }
+        }
+
+        return new BatchResult<>(eventRepository.saveAll(accepted), errors);
+    }
+
     @Override
     public Event read(Long id) {
         log.info("Try to find event entity with id = {}.", id);
@@ -43,6 +86,43 @@ public class EventServiceImpl implements EventService {
         );
     }
 
+    @Override
+    public EventView readProjection(Long id, Set<EventResponseField> fields) {
+        log.info("Try to find event projection with id = {} and fields {}.", id, fields);
+        Assert.notNull(id, "Id to search for the entity event cannot be null.");
+        return eventRepository.findProjectionById(id, fields).orElseThrow(
+                () -> new NotExistEntityException(String.format("Event entity with id = %d does not exist in the data base.", id))
+        );
+    }
+
+    @Override
+    public BatchResult<EventView> readAllProjectionsById(List<Long> ids) {
+        log.info("Try to find event projections with ids = {}.", ids);
+        Assert.notNull(ids, "The ids to search for the event entities cannot be null.");
+
+        Map<Long, EventView> foundEvents = eventRepository.findAllProjectionsById(ids.stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(EventView::getId, Function.identity()));
+
+        List<EventView> processed = new ArrayList<>();
+        List<BatchError> errors = new ArrayList<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (Objects.isNull(id)) {
+                errors.add(new BatchError(i, "Id to search for the entity event cannot be null."));
+            } else if (!foundEvents.containsKey(id)) {
+                errors.add(new BatchError(i, String.format("Event entity with id = %d does not exist in the data base.", id)));
+            } else {
+                processed.add(foundEvents.get(id));
+            }
+        }
+
+        return new BatchResult<>(processed, errors);
+    }
+
     @Override
     public Event update(Event event) {
         log.info("Try to update the entity {}.", event);
@@ -50,6 +130,44 @@ public class EventServiceImpl implements EventService {
         return eventRepository.update(event);
     }
 
+    @Override
+    @Transactional
+    public BatchResult<Event> updateAll(List<Event> events) {
+        log.info("Try to update a batch of entities.");
+        Assert.notNull(events, "The entities being updated cannot be null.");
+
+        List<Event> currentEvents = eventRepository.findAllById(events.stream()
+                .filter(Objects::nonNull)
+                .map(Event::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Set<Long> existingIds = currentEvents.stream().map(Event::getId).collect(Collectors.toSet());
+
+        List<Event> accepted = new ArrayList<>();
+        List<BatchError> errors = new ArrayList<>();
+
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            if (Objects.isNull(event) || Objects.isNull(event.getId())) {
+                errors.add(new BatchError(i, "The entity being updated and its id cannot be null."));
+            } else if (!existingIds.contains(event.getId())) {
+                errors.add(new BatchError(i, String.format("Event entity with id = %d does not exist in the data base.", event.getId())));
+            } else {
+                accepted.add(event);
+            }
+        }
+
+        return new BatchResult<>(eventRepository.updateAll(accepted, currentEvents), errors);
+    }
+
+    @Override
+    public void patch(Event event, Set<String> fieldNames) {
+        log.info("Try to patch fields {} of the entity {}.", fieldNames, event);
+        Assert.notNull(event, "The entity being patched cannot be null.");
+        Assert.notNull(fieldNames, "The fields being patched cannot be null.");
+        eventRepository.patch(event, fieldNames);
+    }
+
     @Override
     public void delete(Long id) {
         log.info("Try to delete event with id = {}.", id);
@@ -57,6 +175,41 @@ public class EventServiceImpl implements EventService {
         eventRepository.delete(id);
     }
 
+    @Override
+    @Transactional
+    public BatchResult<Long> deleteAll(List<Long> ids) {
+        log.info("Try to delete events with ids = {}.", ids);
+        Assert.notNull(ids, "The ids of the event entities being deleted can't be null.");
+
+        Set<Long> existingIds = new HashSet<>(eventRepository.findExistingIds(ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet())));
+
+        List<Long> accepted = new ArrayList<>();
+        List<BatchError> errors = new ArrayList<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (Objects.isNull(id)) {
+                errors.add(new BatchError(i, "The event entity being deleted can't have a null id."));
+            } else if (!existingIds.contains(id)) {
+                errors.add(new BatchError(i, String.format("Event entity with id = %d does not exist in the data base.", id)));
+            } else {
+                accepted.add(id);
+            }
+        }
+
+        eventRepository.deleteAll(accepted);
+        return new BatchResult<>(accepted, errors);
+    }
+
+    @Override
+    public int deleteAllByCriteria(EventCriteria criteria) {
+        log.info("Try to delete events by criteria {}.", criteria);
+        Assert.notNull(criteria, "The criteria for deleting values can't be null.");
+        return eventRepository.deleteAllByCriteria(criteria);
+    }
+
     @Override
     public List<Event> readAll() {
         log.info("Try to read all events.");
@@ -70,4 +223,38 @@ public class EventServiceImpl implements EventService {
         return eventRepository.findAll(criteria);
     }
 
+    @Override
+    public List<EventView> readAllProjections(EventCriteria criteria) {
+        log.info("Try to read all event projections by criteria {}.", criteria);
+        Assert.notNull(criteria, "The criteria for finding values can't be null.");
+        return eventRepository.findAllProjections(criteria);
+    }
+
+    @Override
+    public PageResult<EventView> readProjectionPage(EventCriteria criteria) {
+        log.info("Try to read a page of event projections by criteria {}.", criteria);
+        Assert.notNull(criteria, "The criteria for finding values can't be null.");
+        return eventRepository.findProjectionPage(criteria);
+    }
+
+    @Override
+    public EventDelta<EventView> readChanges(EventCriteria criteria, EventChangeToken token, int limit) {
+        log.info("Try to read event changes by criteria {} after token {}.", criteria, token);
+        Assert.notNull(criteria, "The criteria for finding values can't be null.");
+        Assert.notNull(token, "The change token cannot be null.");
+
+        if (token.isExpired(tombstoneRetention, System.currentTimeMillis())) {
+            throw new IllegalArgumentException("The change token has expired, a full sync without a token is required.");
+        }
+
+        return eventRepository.findChanges(criteria, token, limit);
+    }
+
+    @Override
+    public void exportAll(Consumer<Event> consumer) {
+        log.info("Try to export all events.");
+        Assert.notNull(consumer, "The consumer of the exported events can't be null.");
+        eventRepository.scrollAll(consumer);
+    }
+
 }
\ No newline at end of file
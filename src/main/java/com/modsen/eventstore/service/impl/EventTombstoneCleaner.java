@@ -0,0 +1,29 @@
+package com.modsen.eventstore.service.impl;
+
+import com.modsen.eventstore.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventTombstoneCleaner {
+
+    private final EventRepository eventRepository;
+
+    @Value("${event-sync.tombstone-retention}")
+    private Duration tombstoneRetention;
+
+    @Scheduled(fixedDelayString = "${event-sync.cleanup-interval}", initialDelayString = "${event-sync.cleanup-interval}")
+    public void deleteExpiredTombstones() {
+        int deleted = eventRepository.deleteTombstonesBefore(LocalDateTime.now().minus(tombstoneRetention));
+        log.info("Deleted {} expired event tombstones.", deleted);
+    }
+
+}
\ No newline at end of file
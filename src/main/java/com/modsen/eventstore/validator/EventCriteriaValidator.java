@@ -0,0 +1,78 @@
+package com.modsen.eventstore.validator;
+
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.validator.filter.EventFilterCriteriaValidator;
+import com.modsen.eventstore.validator.filter.EventFilterList;
+import com.modsen.eventstore.validator.pagination.Pagination;
+import com.modsen.eventstore.validator.pagination.PaginationValidator;
+import com.modsen.eventstore.validator.search.SearchQuery;
+import com.modsen.eventstore.validator.search.SearchQueryValidator;
+import com.modsen.eventstore.validator.sorting.EventSortingCriteriaValidator;
+import com.modsen.eventstore.validator.sorting.EventSortingList;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.lang.annotation.Annotation;
+import java.util.Optional;
+
+@Component
+public class EventCriteriaValidator {
+
+    private final EventSortingCriteriaValidator sortingValidator = new EventSortingCriteriaValidator();
+    private final EventFilterCriteriaValidator filterValidator = new EventFilterCriteriaValidator();
+    private final PaginationValidator paginationValidator = new PaginationValidator();
+    private final SearchQueryValidator searchValidator = new SearchQueryValidator();
+
+    private final String sortingMessage;
+    private final String filterMessage;
+    private final String paginationMessage;
+    private final String searchMessage;
+
+    public EventCriteriaValidator() {
+        EventSortingList sorting = findAnnotation("sort", EventSortingList.class);
+        EventFilterList filter = findAnnotation("filter", EventFilterList.class);
+        Pagination pagination = findAnnotation("pagination", Pagination.class);
+        SearchQuery search = findAnnotation("search", SearchQuery.class);
+
+        sortingValidator.initialize(sorting);
+        filterValidator.initialize(filter);
+        paginationValidator.initialize(pagination);
+        searchValidator.initialize(search);
+
+        sortingMessage = sorting.message();
+        filterMessage = filter.message();
+        paginationMessage = pagination.message();
+        searchMessage = search.message();
+    }
+
+    public Optional<String> findViolations(EventCriteria criteria) {
+        Assert.notNull(criteria, "The event criteria cannot be null.");
+
+        StringBuilder sb = new StringBuilder();
+        if (!sortingValidator.isValid(criteria.getSort(), null)) {
+            sb.append(sortingMessage);
+        }
+        if (!filterValidator.isValid(criteria.getFilter(), null)) {
+            sb.append(filterMessage);
+        }
+        if (!paginationValidator.isValid(criteria.getPagination(), null)) {
+            sb.append(paginationMessage);
+        }
+        if (!searchValidator.isValid(criteria.getSearch(), null)) {
+            sb.append(searchMessage);
+        }
+
+        return sb.length() == 0 ? Optional.empty() : Optional.of(sb.toString());
+    }
+
+    private static <A extends Annotation> A findAnnotation(String fieldName, Class<A> annotationType) {
+        try {
+            A annotation = EventCriteria.class.getDeclaredField(fieldName).getAnnotation(annotationType);
+            Assert.state(annotation != null, "The event criteria field " + fieldName + " is not annotated.");
+            return annotation;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.modsen.eventstore.validator;
 
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 @Component
@@ -13,20 +17,52 @@ import java.util.Set;
 public class GlobalValidator {
 
     private final Validator validator;
+    private final EventCriteriaValidator eventCriteriaValidator;
+
+    public void validate(EventCriteria criteria) {
+        Optional<String> violations = eventCriteriaValidator.findViolations(criteria);
+
+        if (violations.isPresent()) {
+            throw new ConstraintViolationException(buildMessage(violations.get()), Set.of());
+        }
+    }
 
     public void validate(Object object) {
 
         Set<ConstraintViolation<Object>> violations = validator.validate(object);
 
         if (!violations.isEmpty()) {
-            StringBuilder sb = new StringBuilder();
-            for (ConstraintViolation<Object> constraintViolation : violations) {
-                sb.append(constraintViolation.getMessage());
-            }
-            throw new ConstraintViolationException(
-                    String.format("Error occurred: %s", sb), violations
-            );
+            throw new ConstraintViolationException(buildMessage(violations), violations);
+        }
+    }
+
+    public void validateProperties(Object object, Collection<String> propertyNames) {
+        Set<ConstraintViolation<Object>> violations = new HashSet<>();
+
+        for (String propertyName : propertyNames) {
+            violations.addAll(validator.validateProperty(object, propertyName));
         }
+
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(buildMessage(violations), violations);
+        }
+    }
+
+    public Optional<String> findViolations(Object object) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(object);
+        return violations.isEmpty() ? Optional.empty() : Optional.of(buildMessage(violations));
+    }
+
+    private String buildMessage(Set<ConstraintViolation<Object>> violations) {
+        StringBuilder sb = new StringBuilder();
+        for (ConstraintViolation<Object> constraintViolation : violations) {
+            sb.append(constraintViolation.getMessage());
+        }
+        return buildMessage(sb.toString());
+    }
+
+    private String buildMessage(String violations) {
+        return String.format("Error occurred: %s", violations);
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.modsen.eventstore.validator.filter;
 
+import com.modsen.eventstore.dto.criteria.FilterOperator;
 import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
 import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
 
@@ -7,21 +8,28 @@ import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import java.util.List;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 public class EventFilterCriteriaValidator implements ConstraintValidator<EventFilterList, List<EventFilterCriteria>> {
 
-    private String PLANNER_REGEXP;
-    private String SUBJECT_REGEXP;
-    private String DATE_REGEXP;
-    private String TIME_REGEXP;
+    private Pattern plannerPattern;
+    private Pattern subjectPattern;
+    private Pattern datePattern;
+    private Pattern timePattern;
+    private Pattern startsAtPattern;
+    private Pattern prefixPattern;
+    private int maxValues;
 
     @Override
     public void initialize(EventFilterList constraintAnnotation) {
         ConstraintValidator.super.initialize(constraintAnnotation);
-        PLANNER_REGEXP = constraintAnnotation.plannerRegexp();
-        SUBJECT_REGEXP = constraintAnnotation.subjectRegexp();
-        DATE_REGEXP = constraintAnnotation.dateRegexp();
-        TIME_REGEXP = constraintAnnotation.timeRegexp();
+        plannerPattern = Pattern.compile(constraintAnnotation.plannerRegexp());
+        subjectPattern = Pattern.compile(constraintAnnotation.subjectRegexp());
+        datePattern = Pattern.compile(constraintAnnotation.dateRegexp());
+        timePattern = Pattern.compile(constraintAnnotation.timeRegexp());
+        startsAtPattern = Pattern.compile(constraintAnnotation.startsAtRegexp());
+        prefixPattern = Pattern.compile(constraintAnnotation.prefixRegexp());
+        maxValues = constraintAnnotation.maxValues();
     }
 
     @Override
@@ -40,26 +48,57 @@ public class EventFilterCriteriaValidator implements ConstraintValidator<EventFi
     }
 
     private boolean isValidCriteria(EventFilterCriteria criteria) {
-        if (Objects.isNull(criteria.getField()) || Objects.isNull(criteria.getValue())) {
+        if (Objects.isNull(criteria.getField()) || Objects.isNull(criteria.getOperator()) ||
+                Objects.isNull(criteria.getValue())) {
             return false;
         }
 
-        if (criteria.getField() == EventCriteriaField.SUBJECT) {
-            return criteria.getValue().matches(SUBJECT_REGEXP);
+        if (criteria.getOperator() == FilterOperator.PREFIX) {
+            return isTextField(criteria.getField()) && prefixPattern.matcher(criteria.getValue()).matches();
         }
 
-        if (criteria.getField() == EventCriteriaField.PLANNER) {
-            return criteria.getValue().matches(PLANNER_REGEXP);
+        List<String> values = criteria.getValues();
+        if (criteria.getOperator() == FilterOperator.BETWEEN && values.size() != 2) {
+            return false;
+        }
+        if (criteria.getOperator() == FilterOperator.IN && values.size() > maxValues) {
+            return false;
+        }
+
+        for (String value : values) {
+            if (!isValidValue(criteria.getField(), value)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isValidValue(EventCriteriaField field, String value) {
+        if (field == EventCriteriaField.SUBJECT) {
+            return subjectPattern.matcher(value).matches();
+        }
+
+        if (field == EventCriteriaField.PLANNER) {
+            return plannerPattern.matcher(value).matches();
         }
 
-        if (criteria.getField() == EventCriteriaField.DATE) {
-            return criteria.getValue().matches(DATE_REGEXP);
+        if (field == EventCriteriaField.DATE) {
+            return datePattern.matcher(value).matches();
         }
 
-        if (criteria.getField() == EventCriteriaField.TIME) {
-            return criteria.getValue().matches(TIME_REGEXP);
+        if (field == EventCriteriaField.TIME) {
+            return timePattern.matcher(value).matches();
+        }
+
+        if (field == EventCriteriaField.STARTS_AT) {
+            return startsAtPattern.matcher(value).matches();
         }
 
         return true;
     }
+
+    private boolean isTextField(EventCriteriaField field) {
+        return field == EventCriteriaField.SUBJECT || field == EventCriteriaField.PLANNER;
+    }
 }
\ No newline at end of file
@@ -10,16 +10,22 @@ import java.lang.annotation.*;
 @Documented
 public @interface EventFilterList {
 
-    String message() default "The value of all event filter criteria must match the regular expression of the selected field name";
+    String message() default "The value of all event filter criteria must match the regular expression of the selected field name and suit the selected operator";
 
     String dateRegexp() default "^\\d{2}.\\d{2}.\\d{4}$";
 
     String timeRegexp() default "^\\d{2}:\\d{2}$";
 
+    String startsAtRegexp() default "^\\d{2}\\.\\d{2}\\.\\d{4} \\d{2}:\\d{2}$";
+
     String plannerRegexp() default "^[\\s\\S]{5,150}$";
 
     String subjectRegexp() default "^[\\s\\S]{3,150}$";
 
+    String prefixRegexp() default "^[\\s\\S]{1,150}$";
+
+    int maxValues() default 100;
+
     Class<?>[] groups() default {};
 
     Class<? extends Payload>[] payload() default {};
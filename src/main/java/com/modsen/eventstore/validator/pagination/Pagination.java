@@ -10,7 +10,7 @@ import java.lang.annotation.*;
 @Documented
 public @interface Pagination {
 
-    String message() default "The page number and page size must be not null and not less than 1.";
+    String message() default "The page size must be not null and not less than 1 and it must be combined either with a page number not less than 1 or with a cursor.";
 
     Class<?>[] groups() default {};
 
@@ -18,10 +18,14 @@ public class PaginationValidator implements ConstraintValidator<Pagination, Pagi
             return true;
         }
 
-        if (Objects.isNull(pagination.getPage()) || Objects.isNull(pagination.getSize())) {
+        if (Objects.isNull(pagination.getSize()) || pagination.getSize() < 1) {
             return false;
         }
 
-        return pagination.getPage() >= 1 && pagination.getSize() >= 1;
+        if (Objects.nonNull(pagination.getCursor())) {
+            return Objects.isNull(pagination.getPage());
+        }
+
+        return Objects.nonNull(pagination.getPage()) && pagination.getPage() >= 1;
     }
 }
@@ -0,0 +1,21 @@
+package com.modsen.eventstore.validator.search;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.*;
+
+@Constraint(validatedBy = {SearchQueryValidator.class})
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(value = RetentionPolicy.RUNTIME)
+@Documented
+public @interface SearchQuery {
+
+    String message() default "The search query must be not blank and not longer than 200 characters.";
+
+    int maxLength() default 200;
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+}
\ No newline at end of file
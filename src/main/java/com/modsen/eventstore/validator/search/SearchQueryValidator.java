@@ -0,0 +1,25 @@
+package com.modsen.eventstore.validator.search;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.util.Objects;
+
+public class SearchQueryValidator implements ConstraintValidator<SearchQuery, String> {
+
+    private int maxLength;
+
+    @Override
+    public void initialize(SearchQuery constraintAnnotation) {
+        ConstraintValidator.super.initialize(constraintAnnotation);
+        maxLength = constraintAnnotation.maxLength();
+    }
+
+    @Override
+    public boolean isValid(String query, ConstraintValidatorContext context) {
+        if (Objects.isNull(query)) {
+            return true;
+        }
+
+        return !query.isBlank() && query.length() <= maxLength;
+    }
+}
\ No newline at end of file
@@ -40,6 +40,15 @@ public abstract class BaseTest extends ContainersEnvironment {
                 .put(url);
     }
 
+    protected Response patch(String url, Long id, Object body) {
+        return given()
+                .contentType("application/merge-patch+json")
+                .and()
+                .body(body)
+                .when()
+                .patch(String.format("%s/%d", url, id));
+    }
+
     protected Response get(String url, Map<String, String> params) {
         return given()
                 .contentType(ContentType.JSON)
@@ -62,4 +71,21 @@ public abstract class BaseTest extends ContainersEnvironment {
                 .delete(String.format("%s/%d", url, id));
     }
 
+    protected Response delete(String url, Map<String, String> params) {
+        return given()
+                .contentType(ContentType.JSON)
+                .queryParams(params)
+                .when()
+                .delete(url);
+    }
+
+    protected Response delete(String url, Object body) {
+        return given()
+                .contentType(ContentType.JSON)
+                .and()
+                .body(body)
+                .when()
+                .delete(url);
+    }
+
 }
\ No newline at end of file
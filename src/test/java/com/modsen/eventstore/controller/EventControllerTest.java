@@ -1,11 +1,13 @@
 package com.modsen.eventstore.controller;
 
 import com.modsen.eventstore.BaseTest;
+import com.modsen.eventstore.controller.provider.EventPatchProvider;
 import com.modsen.eventstore.controller.provider.EventRequestProvider;
 import com.modsen.eventstore.controller.provider.EventResponseProvider;
 import com.modsen.eventstore.controller.provider.FilterCriteriaProvider;
 import com.modsen.eventstore.dto.event.EventRequest;
 import com.modsen.eventstore.dto.event.EventResponse;
+import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 import io.restassured.response.ResponseBody;
 import org.junit.jupiter.api.Test;
@@ -15,8 +17,11 @@ import org.springframework.test.context.jdbc.Sql;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static java.util.Map.entry;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -79,6 +84,135 @@ class EventControllerTest extends BaseTest {
         assertThat(response.getStatusCode()).isEqualTo(400);
     }
 
+    @Test
+    void itShouldSaveValidEventsOfBatch_WhenSomeDtosAreNotCorrect() {
+        //given
+        EventRequest invalid = new EventRequest("ab", description, plannerFullName, date, time, venue);
+        List<EventRequest> dtos = List.of(createRequestDto(), invalid, createRequestDto());
+        String url = String.format("%s/batch", basePath);
+
+        //when
+        Response response = post(url, dtos);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getList("processed", EventResponse.class)).hasSize(2);
+        assertThat(response.jsonPath().getList("errors.index", Integer.class)).containsExactly(1);
+    }
+
+    @Test
+    @Sql(scripts = "/scripts/insert_simple_event.sql")
+    void itShouldDeleteExistingEventsOfBatch_WhenSomeEventsDoNotExist() {
+        //given
+        String url = String.format("%s/batch", basePath);
+
+        //when
+        Response response = delete(url, List.of(1L, 100L));
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getList("processed", Long.class)).containsExactly(1L);
+        assertThat(response.jsonPath().getList("errors.index", Integer.class)).containsExactly(1);
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_two_simple_events.sql"
+    })
+    void itShouldReadEventsInRequestOrder_WhenIdsAreSpecified() {
+        //given
+        Map<String, String> params = Map.of("ids", "2,100,1");
+
+        //when
+        Response response = get(basePath, params);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getList("processed.id", Long.class)).containsExactly(2L, 1L);
+        assertThat(response.jsonPath().getList("errors.index", Integer.class)).containsExactly(1);
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_two_simple_events.sql"
+    })
+    void itShouldReadEventsInRequestOrder_WhenIdsArePassedInBody() {
+        //given
+        String url = String.format("%s/lookup", basePath);
+
+        //when
+        Response response = post(url, List.of(1L, 100L, 2L));
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getList("processed.id", Long.class)).containsExactly(1L, 2L);
+        assertThat(response.jsonPath().getList("errors.index", Integer.class)).containsExactly(1);
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_two_simple_events.sql"
+    })
+    void itShouldReadEvents_WhenMoreIdsThanQueryParametersAllowArePassedInBody() {
+        //given
+        String url = String.format("%s/lookup", basePath);
+        List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().collect(Collectors.toList());
+
+        //when
+        Response response = post(url, ids);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getList("processed.id", Long.class)).containsExactly(1L, 2L);
+        assertThat(response.jsonPath().getList("errors.index", Integer.class)).hasSize(2498);
+    }
+
+    @Test
+    void itShouldNotReadEvents_WhenTooManyIdsArePassedInBody() {
+        //given
+        String url = String.format("%s/lookup", basePath);
+        List<Long> ids = LongStream.rangeClosed(1, 10001).boxed().collect(Collectors.toList());
+
+        //when
+        Response response = post(url, ids);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(400);
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_events_for_testing_filtering.sql"
+    })
+    void itShouldDeleteFilteredEvents_WhenFilterIsSpecified() {
+        //given
+        Map<String, String> params = Map.ofEntries(
+                entry("filteredFields", "DATE"),
+                entry("filteredValues", "01.01.2000")
+        );
+
+        //when
+        Response response = delete(basePath, params);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.as(Integer.class)).isEqualTo(3);
+        assertThat(get(readPath, Map.of()).jsonPath().getList("id", Long.class)).containsExactly(3L);
+    }
+
+    @Test
+    void itShouldNotDeleteEvents_WhenNeitherFilterNorSearchIsSpecified() {
+        //when
+        Response response = delete(basePath, Map.of());
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(400);
+    }
+
     @Test
     @Sql(scripts = "/scripts/insert_simple_event.sql")
     void itShouldUpdateEvent_WhenDataIsCorrect() {
@@ -101,6 +235,115 @@ class EventControllerTest extends BaseTest {
         assertThat(result).isEqualTo(dto);
     }
 
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_simple_event.sql"
+    })
+    void itShouldIncrementVersion_WhenUpdatedDtoVersionIsCurrent() {
+        //given
+        EventResponse dto = new EventResponse(1L, "New subject", null, "New Full Name",
+                "02.01.2022", "01:01", "New Venue", 0L);
+
+        //when
+        Response response = put(basePath, dto);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.as(EventResponse.class).getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_simple_event.sql"
+    })
+    void itShouldReturnConflict_WhenUpdatedDtoVersionIsStale() {
+        //given
+        EventResponse first = new EventResponse(1L, "First subject", null, "New Full Name",
+                "02.01.2022", "01:01", "New Venue", 0L);
+        EventResponse second = new EventResponse(1L, "Second subject", null, "New Full Name",
+                "02.01.2022", "01:01", "New Venue", 0L);
+
+        //when
+        Response firstResponse = put(basePath, first);
+        Response secondResponse = put(basePath, second);
+
+        //then
+        assertThat(firstResponse.getStatusCode()).isEqualTo(200);
+        assertThat(secondResponse.getStatusCode()).isEqualTo(409);
+        assertThat(get(basePath, 1L).as(EventResponse.class).getSubject()).isEqualTo("First subject");
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_simple_event.sql"
+    })
+    void itShouldChangeOnlySuppliedFields_WhenEventIsPatched() {
+        //given
+        Map<String, Object> patch = Map.of("time", "12:30");
+
+        //when
+        Response response = patch(basePath, 1L, patch);
+
+        //then
+        EventResponse result = get(basePath, 1L).as(EventResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(204);
+        assertThat(result.getTime()).isEqualTo("12:30");
+        assertThat(result.getSubject()).isEqualTo("Subject");
+        assertThat(result.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_simple_event.sql"
+    })
+    void itShouldClearDescription_WhenPatchedDescriptionIsNull() {
+        //given
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("description", null);
+
+        //when
+        Response response = patch(basePath, 1L, patch);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(204);
+        assertThat(get(basePath, 1L).as(EventResponse.class).getDescription()).isNull();
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(EventPatchProvider.class)
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_simple_event.sql"
+    })
+    void itShouldThrowException_WhenPatchIsNotCorrect(Map<String, Object> patch) {
+        //when
+        Response response = patch(basePath, 1L, patch);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(400);
+        assertThat(get(basePath, 1L).as(EventResponse.class).getVersion()).isEqualTo(0L);
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_simple_event.sql"
+    })
+    void itShouldReturnConflict_WhenPatchedVersionIsStale() {
+        //given
+        Map<String, Object> patch = Map.of("venue", "New Venue", "version", 3);
+
+        //when
+        Response response = patch(basePath, 1L, patch);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(409);
+    }
+
     @Test
     void itShouldThrowException_WhenUpdatedDtoIdIsNull() {
         //given
@@ -287,6 +530,278 @@ class EventControllerTest extends BaseTest {
         assertThat(response.asString()).contains("The value of all event filter criteria must match the regular expression of the selected field name");
     }
 
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_events_for_testing_sorting.sql"
+    })
+    void itShouldReadNextPageByCursor_WhenPreviousPageIsFull() {
+        //given
+        Map<String, String> firstPageParams = Map.ofEntries(
+                entry("sortedFields", "DATE"),
+                entry("sortedDirections", "ASC"),
+                entry("page", "1"),
+                entry("size", "2")
+        );
+
+        //when
+        Response firstPage = get(readPath, firstPageParams);
+        Map<String, String> nextPageParams = Map.ofEntries(
+                entry("sortedFields", "DATE"),
+                entry("sortedDirections", "ASC"),
+                entry("size", "2"),
+                entry("cursor", firstPage.getHeader("X-Next-Cursor"))
+        );
+        Response nextPage = get(readPath, nextPageParams);
+
+        //then
+        assertThat(firstPage.getStatusCode()).isEqualTo(200);
+        assertThat(firstPage.jsonPath().getList("id", Long.class)).containsExactly(1L, 3L);
+        assertThat(nextPage.getStatusCode()).isEqualTo(200);
+        assertThat(nextPage.jsonPath().getList("id", Long.class)).containsExactly(2L, 4L);
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_events_for_testing_sorting.sql"
+    })
+    void itShouldReturnTotalCountHeader_WhenCountModeIsExact() {
+        //given
+        Map<String, String> params = Map.ofEntries(
+                entry("page", "1"),
+                entry("size", "2"),
+                entry("count", "EXACT")
+        );
+
+        //when
+        Response response = get(readPath, params);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getList("id", Long.class)).hasSize(2);
+        assertThat(response.getHeader("X-Total-Count")).isEqualTo("4");
+        assertThat(response.getHeader("X-Total-Count-Mode")).isEqualTo("EXACT");
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_events_for_testing_sorting.sql"
+    })
+    void itShouldReturnTotalCountHeader_WhenOnlyCountModeIsSpecified() {
+        //given
+        Map<String, String> params = Map.ofEntries(
+                entry("count", "EXACT")
+        );
+
+        //when
+        Response response = get(readPath, params);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getList("id", Long.class)).hasSize(4);
+        assertThat(response.getHeader("X-Total-Count")).isEqualTo("4");
+        assertThat(response.getHeader("X-Total-Count-Mode")).isEqualTo("EXACT");
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_events_for_testing_sorting.sql"
+    })
+    void itShouldNotReturnTotalCountHeader_WhenCountModeIsNotSpecified() {
+        //given
+        Map<String, String> params = Map.ofEntries(
+                entry("page", "1"),
+                entry("size", "2")
+        );
+
+        //when
+        Response response = get(readPath, params);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getHeader("X-Total-Count")).isNull();
+    }
+
+    @Test
+    void itShouldThrowException_WhenCursorIsCombinedWithPage() {
+        //given
+        Map<String, String> params = Map.ofEntries(
+                entry("page", "1"),
+                entry("size", "1"),
+                entry("cursor", "MQ")
+        );
+
+        //when
+        Response response = get(readPath, params);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(400);
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_events_for_testing_filtering.sql"
+    })
+    void itShouldReadFilteredEvents_WhenFilterOperatorsAreSpecified() {
+        //given
+        Map<String, String> params = Map.ofEntries(
+                entry("filteredFields", "DATE,TIME"),
+                entry("filteredOperators", "BETWEEN,LT"),
+                entry("filteredValues", "01.01.2000;31.12.2000,01:00")
+        );
+
+        //when
+        Response response = get(readPath, params);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getList("id", Long.class)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void itShouldThrowException_WhenOperatorDoesNotSuitFilterValues() {
+        //given
+        Map<String, String> params = Map.ofEntries(
+                entry("filteredFields", "DATE"),
+                entry("filteredOperators", "BETWEEN"),
+                entry("filteredValues", "01.01.2000")
+        );
+
+        //when
+        Response response = get(readPath, params);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(400);
+        assertThat(response.asString()).contains("suit the selected operator");
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_events_for_testing_search.sql"
+    })
+    void itShouldSearchEvents_WhenQueryIsSpecified() {
+        //given
+        Map<String, String> params = Map.of("q", "java workshop");
+
+        //when
+        Response response = get(readPath, params);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getList("id", Long.class)).containsExactly(3L);
+    }
+
+    @Test
+    void itShouldThrowException_WhenSearchQueryIsBlank() {
+        //given
+        Map<String, String> params = Map.of("q", " ");
+
+        //when
+        Response response = get(readPath, params);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(400);
+        assertThat(response.asString()).contains("The search query must be not blank and not longer than 200 characters.");
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_two_simple_events.sql"
+    })
+    void itShouldExportAllEventsAsNdjson_WhenTheyAreExisting() {
+        //given
+        EventResponse dto1 = createResponseDto(1L);
+        EventResponse dto2 = createResponseDto(2L);
+        String url = String.format("%s/export", basePath);
+
+        //when
+        Response response = get(url, Map.of());
+
+        //then
+        String[] lines = response.asString().split("\n");
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        assertThat(lines).hasSize(2);
+        assertThat(new JsonPath(lines[0]).getObject("$", EventResponse.class)).isEqualTo(dto1);
+        assertThat(new JsonPath(lines[1]).getObject("$", EventResponse.class)).isEqualTo(dto2);
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_two_simple_events.sql"
+    })
+    void itShouldReadOnlyRequestedFields_WhenFieldsAreSpecified() {
+        //given
+        Map<String, String> params = Map.of("fields", "SUBJECT,DATE");
+
+        //when
+        Response response = get(readPath, params);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getList("$", Map.class))
+                .hasSize(2)
+                .allSatisfy(event -> assertThat(event).containsOnlyKeys("id", "subject", "date"));
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_simple_event.sql"
+    })
+    void itShouldReadOnlyRequestedFieldsOfEvent_WhenFieldsAreSpecified() {
+        //given
+        String url = String.format("%s/1", basePath);
+
+        //when
+        Response response = get(url, Map.of("fields", "PLANNER"));
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getMap("$")).containsOnlyKeys("id", "plannerFullName");
+    }
+
+    @Test
+    @Sql(scripts = {
+            "/scripts/delete_all_events.sql",
+            "/scripts/insert_two_simple_events.sql"
+    })
+    void itShouldReadDeletedEvents_WhenChangeTokenIsSpecified() {
+        //given
+        String url = String.format("%s/changes", basePath);
+        String token = get(url, Map.of()).jsonPath().getString("token");
+        delete(basePath, 1L);
+
+        //when
+        Response response = get(url, Map.of("since", token));
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.jsonPath().getList("updated")).isEmpty();
+        assertThat(response.jsonPath().getList("deleted", Long.class)).containsExactly(1L);
+        assertThat(response.jsonPath().getBoolean("hasMore")).isFalse();
+    }
+
+    @Test
+    void itShouldThrowException_WhenChangeTokenIsMalformed() {
+        //given
+        String url = String.format("%s/changes", basePath);
+
+        //when
+        Response response = get(url, Map.of("since", "not-a-token"));
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(400);
+        assertThat(response.asString()).contains("The change token is malformed.");
+    }
+
     private EventRequest createRequestDto() {
         return new EventRequest(subject, description, plannerFullName, date, time, venue);
     }
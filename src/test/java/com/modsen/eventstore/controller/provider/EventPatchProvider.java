@@ -0,0 +1,32 @@
+package com.modsen.eventstore.controller.provider;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class EventPatchProvider implements ArgumentsProvider {
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+        return Stream.of(
+                Arguments.of(patchOf("subject", null)),
+                Arguments.of(patchOf("subject", "ab")),
+                Arguments.of(patchOf("plannerFullName", "a".repeat(151))),
+                Arguments.of(patchOf("date", "2000.01.01")),
+                Arguments.of(patchOf("time", "00:00:00")),
+                Arguments.of(patchOf("venue", null)),
+                Arguments.of(patchOf("id", 2)),
+                Arguments.of(patchOf("unknown", "value")),
+                Arguments.of(new HashMap<>())
+        );
+    }
+
+    private static Map<String, Object> patchOf(String field, Object value) {
+        Map<String, Object> patch = new HashMap<>();
+        patch.put(field, value);
+        return patch;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.modsen.eventstore.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection1;
+
+    @Mock
+    private Connection replicaConnection2;
+
+    private ReplicaRoutingDataSource underTest;
+    private AutoCloseable autoCloseable;
+
+
+    @BeforeEach
+    void setUp() {
+        autoCloseable = MockitoAnnotations.openMocks(this);
+        underTest = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingContext.clear();
+        autoCloseable.close();
+    }
+
+    @Test
+    void itShouldRouteToPrimary_WhenTransactionIsNotReadOnly() throws SQLException {
+        //given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        //when
+        Connection result = underTest.getConnection();
+
+        //then
+        assertThat(result).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void itShouldRouteToReplicasInRoundRobin_WhenTransactionIsReadOnly() throws SQLException {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection()).thenReturn(replicaConnection1);
+        when(replica2.getConnection()).thenReturn(replicaConnection2);
+
+        //when
+        List<Connection> result = List.of(underTest.getConnection(), underTest.getConnection(), underTest.getConnection());
+
+        //then
+        assertThat(result).containsExactly(replicaConnection1, replicaConnection2, replicaConnection1);
+    }
+
+    @Test
+    void itShouldEjectReplica_WhenItIsUnavailable() throws SQLException {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(replica2.getConnection()).thenReturn(replicaConnection2);
+
+        //when
+        List<Connection> result = List.of(underTest.getConnection(), underTest.getConnection(), underTest.getConnection());
+
+        //then
+        assertThat(result).containsOnly(replicaConnection2);
+        verify(replica1, times(1)).getConnection();
+    }
+
+    @Test
+    void itShouldRouteToPrimary_WhenAllReplicasAreUnavailable() throws SQLException {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(replica2.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        //when
+        Connection result = underTest.getConnection();
+
+        //then
+        assertThat(result).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void itShouldRouteToPrimary_WhenPrimaryIsRequiredForReadYourWrites() throws SQLException {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingContext.requirePrimary();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        //when
+        Connection result = underTest.getConnection();
+
+        //then
+        assertThat(result).isSameAs(primaryConnection);
+    }
+
+}
\ No newline at end of file
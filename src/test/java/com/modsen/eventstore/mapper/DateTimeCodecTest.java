@@ -0,0 +1,101 @@
+package com.modsen.eventstore.mapper;
+
+import com.modsen.eventstore.mapper.provider.DateTimeCodecProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DateTimeCodecTest {
+
+    @ParameterizedTest
+    @ArgumentsSource(DateTimeCodecProvider.class)
+    void itShouldFormatDateAndTime(LocalDate date, String dateString, LocalTime time, String timeString) {
+        //when
+        String formattedDate = DateTimeCodec.formatDate(date);
+        String formattedTime = DateTimeCodec.formatTime(time);
+
+        //then
+        assertThat(formattedDate)
+                .isEqualTo(dateString)
+                .isEqualTo(date.format(DateTimeFormatter.ofPattern(EventMapper.DATE_FORMAT)));
+        assertThat(formattedTime)
+                .isEqualTo(timeString)
+                .isEqualTo(time.format(DateTimeFormatter.ofPattern(EventMapper.TIME_FORMAT)));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(DateTimeCodecProvider.class)
+    void itShouldParseDateAndTime(LocalDate date, String dateString, LocalTime time, String timeString) {
+        //when
+        LocalDate parsedDate = DateTimeCodec.parseDate(dateString);
+        LocalTime parsedTime = DateTimeCodec.parseTime(timeString);
+
+        //then
+        assertThat(parsedDate).isEqualTo(date);
+        assertThat(parsedTime).isEqualTo(time);
+    }
+
+    @Test
+    void itShouldReturnNull_WhenValueIsNull() {
+        //then
+        assertThat(DateTimeCodec.formatDate(null)).isNull();
+        assertThat(DateTimeCodec.parseDate(null)).isNull();
+        assertThat(DateTimeCodec.formatTime(null)).isNull();
+        assertThat(DateTimeCodec.parseTime(null)).isNull();
+    }
+
+    @Test
+    void itShouldIgnoreSecondsDuringFormatTime() {
+        //when
+        String result = DateTimeCodec.formatTime(LocalTime.of(10, 15, 42, 1000));
+
+        //then
+        assertThat(result).isEqualTo("10:15");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "1:00", "10-00", "1a:00", "10:0a", "100:00", "10:000"})
+    void itShouldReturnNull_DuringParseTime_WhenStringIsMalformed(String string) {
+        //when
+        LocalTime result = DateTimeCodec.parseTime(string);
+
+        //then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    void itShouldParseDateTime_WhenStringMatchesTemplate() {
+        //when
+        LocalDateTime result = DateTimeCodec.parseDateTime("18.10.2026 14:05");
+
+        //then
+        assertThat(result).isEqualTo(LocalDateTime.of(2026, 10, 18, 14, 5));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"18.10.2026", "18.10.2026T14:05", "18.10.2026 14-05", "18.10.2026 14:05:00"})
+    void itShouldThrowException_DuringParseDateTime_WhenStringIsMalformed(String string) {
+        //then
+        assertThatThrownBy(() -> DateTimeCodec.parseDateTime(string))
+                .isInstanceOf(DateTimeParseException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1.01.2000", "01-01-2000", "0a.01.2000", "01.13.2000", "32.01.2000", "2000.01.01"})
+    void itShouldThrowException_DuringParseDate_WhenStringIsInvalid(String string) {
+        //then
+        assertThatThrownBy(() -> DateTimeCodec.parseDate(string))
+                .isInstanceOf(DateTimeParseException.class);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.modsen.eventstore.mapper;
+
+import com.modsen.eventstore.dto.criteria.FilterOperator;
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class EventCriteriaMapperTest {
+
+    private final EventCriteriaMapper underTest = new EventCriteriaMapperImpl();
+
+    @Test
+    void itShouldMapEachFilterWithItsOperator_WhenOperatorsAreSpecified() {
+        //given
+        List<EventCriteriaField> fields = List.of(EventCriteriaField.DATE, EventCriteriaField.PLANNER);
+        List<FilterOperator> operators = List.of(FilterOperator.BETWEEN, FilterOperator.IN);
+        List<String> values = List.of("01.01.2000;07.01.2000", "Full Name;Other Name");
+
+        //when
+        List<EventFilterCriteria> result = underTest.mapToListFilterCriteria(fields, operators, values);
+
+        //then
+        assertThat(result).extracting(EventFilterCriteria::getField).containsExactlyElementsOf(fields);
+        assertThat(result).extracting(EventFilterCriteria::getOperator).containsExactlyElementsOf(operators);
+        assertThat(result.get(0).getValues()).containsExactly("01.01.2000", "07.01.2000");
+        assertThat(result.get(1).getValues()).containsExactly("Full Name", "Other Name");
+    }
+
+    @Test
+    void itShouldUseEqualityOperator_WhenOperatorsAreNotSpecified() {
+        //when
+        List<EventFilterCriteria> result = underTest.mapToListFilterCriteria(
+                List.of(EventCriteriaField.SUBJECT), List.of("Subject;Other")
+        );
+
+        //then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getOperator()).isEqualTo(FilterOperator.EQ);
+        assertThat(result.get(0).getValues()).containsExactly("Subject;Other");
+    }
+
+    @Test
+    void itShouldThrowException_WhenNumberOfOperatorsDoesNotMatchFields() {
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.mapToListFilterCriteria(
+                List.of(EventCriteriaField.SUBJECT, EventCriteriaField.DATE), List.of(FilterOperator.EQ), List.of("Subject", "01.01.2000")
+        ));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The number of fields to filter and their operators must match.");
+    }
+
+    @Test
+    void itShouldMapEachSortingCriteria_WhenSeveralFieldsAreSpecified() {
+        //when
+        List<EventSortingCriteria> result = underTest.mapToListSortingCriteria(
+                List.of(EventCriteriaField.DATE, EventCriteriaField.TIME), List.of(SortingDirection.ASC, SortingDirection.DESC)
+        );
+
+        //then
+        assertThat(result).extracting(EventSortingCriteria::getField)
+                .containsExactly(EventCriteriaField.DATE, EventCriteriaField.TIME);
+        assertThat(result).extracting(EventSortingCriteria::getDirection)
+                .containsExactly(SortingDirection.ASC, SortingDirection.DESC);
+    }
+
+    @Test
+    void itShouldNotMapPagination_WhenNothingIsSpecified() {
+        //when
+        PaginationCriteria result = underTest.mapToPaginationCriteria(null, null, null);
+
+        //then
+        assertThat(result).isNull();
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.modsen.eventstore.mapper.provider;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.stream.Stream;
+
+public class DateTimeCodecProvider implements ArgumentsProvider {
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext extensionContext) {
+        return Stream.of(
+                Arguments.of(LocalDate.of(2000, 1, 1), "01.01.2000", LocalTime.of(0, 0), "00:00"),
+                Arguments.of(LocalDate.of(2022, 12, 31), "31.12.2022", LocalTime.of(23, 59), "23:59"),
+                Arguments.of(LocalDate.of(2024, 2, 29), "29.02.2024", LocalTime.of(9, 5), "09:05"),
+                Arguments.of(LocalDate.of(5, 7, 10), "10.07.0005", LocalTime.of(12, 30), "12:30")
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.modsen.eventstore.repository;
+
+import com.modsen.eventstore.BaseTest;
+import com.modsen.eventstore.repository.provider.EventIndexProvider;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(scripts = {
+        "/scripts/delete_all_events.sql",
+        "/scripts/insert_events_for_testing_filtering.sql"
+})
+class EventIndexTest extends BaseTest {
+
+    // Postgres names the index of each partition after the partition and the indexed columns.
+    private static final String PARTITION_INDEX_PATTERN = "events_(default|\\d{4}_\\d{2})_%s_idx";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @ParameterizedTest
+    @ArgumentsSource(EventIndexProvider.class)
+    void itShouldUseIndex_WhenQueryMatchesAccessPath(String query, String indexedColumns) throws SQLException {
+        //when
+        String plan = explain(query);
+
+        //then
+        assertThat(plan).containsPattern(String.format(PARTITION_INDEX_PATTERN, indexedColumns))
+                .doesNotContain("Seq Scan");
+    }
+
+    private String explain(String query) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // The test table is tiny, so a sequential scan would always win on cost alone.
+            statement.execute("SET enable_seqscan = off");
+            try {
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append(System.lineSeparator());
+                    }
+                }
+                return plan.toString();
+            } finally {
+                statement.execute("RESET enable_seqscan");
+            }
+        }
+    }
+
+}
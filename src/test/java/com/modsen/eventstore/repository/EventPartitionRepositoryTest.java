@@ -0,0 +1,114 @@
+package com.modsen.eventstore.repository;
+
+import com.modsen.eventstore.BaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(scripts = {
+        "/scripts/delete_all_events.sql",
+        "/scripts/insert_simple_event.sql"
+})
+class EventPartitionRepositoryTest extends BaseTest {
+
+    private static final YearMonth month = YearMonth.of(2222, 1);
+    private static final String partition = "events_2222_01";
+
+    @Autowired
+    private EventPartitionRepository underTest;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        execute("DROP TABLE IF EXISTS " + partition);
+        execute("DROP TABLE IF EXISTS " + partition + "_detached");
+    }
+
+    @Test
+    void itShouldMoveParkedEventsIntoPartition_WhenMonthlyPartitionIsCreated() throws SQLException {
+        //given
+        long outboxRows = queryForLong("SELECT count(*) FROM event_outbox WHERE event_id = 1");
+
+        //when
+        underTest.createMonthlyPartition(month);
+
+        //then
+        assertThat(underTest.findMonthlyPartitions()).contains(month);
+        assertThat(queryForLong("SELECT count(*) FROM events_default WHERE id = 1")).isZero();
+        assertThat(queryForLong("SELECT count(*) FROM " + partition + " WHERE id = 1")).isEqualTo(1L);
+        assertThat(queryForLong("SELECT count(*) FROM event_outbox WHERE event_id = 1")).isEqualTo(outboxRows);
+        assertThat(queryForLong("SELECT count(*) FROM event_tombstones WHERE id = 1")).isZero();
+    }
+
+    @Test
+    void itShouldIndexAndTrackEventsOfPartition_WhenMonthlyPartitionIsCreated() throws SQLException {
+        //given
+        underTest.createMonthlyPartition(month);
+        long outboxRows = queryForLong("SELECT count(*) FROM event_outbox WHERE event_id = 1");
+
+        //when
+        execute("UPDATE events SET subject = 'Changed' WHERE id = 1");
+
+        //then
+        assertThat(queryForLong("SELECT count(*) FROM pg_indexes WHERE tablename = '" + partition + "'"))
+                .isEqualTo(queryForLong("SELECT count(*) FROM pg_indexes WHERE tablename = 'events_default'"));
+        assertThat(queryForLong("SELECT count(*) FROM event_outbox WHERE event_id = 1")).isEqualTo(outboxRows + 1);
+    }
+
+    @Test
+    void itShouldDetachPartition_WhenMonthIsExpired() throws SQLException {
+        //given
+        underTest.createMonthlyPartition(month);
+
+        //when
+        underTest.detachMonthlyPartition(month);
+
+        //then
+        assertThat(underTest.findMonthlyPartitions()).doesNotContain(month);
+        assertThat(queryForLong("SELECT count(*) FROM events WHERE id = 1")).isZero();
+        assertThat(queryForLong("SELECT count(*) FROM " + partition + "_detached WHERE id = 1")).isEqualTo(1L);
+    }
+
+    @Test
+    void itShouldDropPartition_WhenMonthIsExpired() throws SQLException {
+        //given
+        underTest.createMonthlyPartition(month);
+
+        //when
+        underTest.dropMonthlyPartition(month);
+
+        //then
+        assertThat(underTest.findMonthlyPartitions()).doesNotContain(month);
+        assertThat(queryForLong("SELECT count(*) FROM events WHERE id = 1")).isZero();
+        assertThat(queryForLong("SELECT count(*) FROM pg_class WHERE relname = '" + partition + "'")).isZero();
+    }
+
+    private long queryForLong(String query) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+}
\ No newline at end of file
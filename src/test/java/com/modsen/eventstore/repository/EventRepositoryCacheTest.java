@@ -0,0 +1,77 @@
+package com.modsen.eventstore.repository;
+
+import com.modsen.eventstore.config.ContainersEnvironment;
+import com.modsen.eventstore.model.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "hibernate.cache.enabled=true")
+@ActiveProfiles("test")
+@Sql(scripts = {
+        "/scripts/delete_all_events.sql",
+        "/scripts/insert_simple_event.sql"
+})
+class EventRepositoryCacheTest extends ContainersEnvironment {
+
+    @Autowired
+    private EventRepository underTest;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void itShouldPutEntityIntoCache_WhenItIsRead() {
+        //when
+        underTest.findById(1L);
+
+        //then
+        assertThat(hibernateCacheManager.getCache(Event.class.getName()).iterator()).hasNext();
+    }
+
+    @Test
+    void itShouldReadUpdatedEntity_WhenCachedEntityWasUpdated() {
+        //given
+        Event expected = underTest.findById(1L).orElseThrow();
+        expected.setSubject("New subject");
+
+        //when
+        underTest.update(expected);
+        Optional<Event> result = underTest.findById(1L);
+
+        //then
+        assertThat(result).contains(expected);
+    }
+
+    @Test
+    void itShouldNotReadEntity_WhenCachedEntityWasDeleted() {
+        //given
+        underTest.findById(1L);
+
+        //when
+        underTest.delete(1L);
+        Optional<Event> result = underTest.findById(1L);
+
+        //then
+        assertThat(result).isEmpty();
+    }
+
+}
\ No newline at end of file
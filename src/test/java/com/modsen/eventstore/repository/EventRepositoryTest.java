@@ -1,35 +1,49 @@
 package com.modsen.eventstore.repository;
 
-import com.modsen.eventstore.BaseTest;
+import com.modsen.eventstore.dto.criteria.CountMode;
+import com.modsen.eventstore.dto.criteria.FilterOperator;
 import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventChangeToken;
 import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventCursor;
 import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
 import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.dto.event.EventDelta;
+import com.modsen.eventstore.dto.event.EventResponseField;
+import com.modsen.eventstore.dto.event.EventView;
+import com.modsen.eventstore.dto.page.PageResult;
 import com.modsen.eventstore.exception.NotExistEntityException;
+import com.modsen.eventstore.exception.StaleEntityException;
 import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.repository.provider.EventFilterOperatorProvider;
 import com.modsen.eventstore.repository.provider.EventFilterProvider;
 import com.modsen.eventstore.repository.provider.EventSortingProvider;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ArgumentsSource;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.test.context.jdbc.Sql;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
 
-@Sql(scripts = "/scripts/delete_all_events.sql")
-class EventRepositoryTest extends BaseTest {
+// The contract every storage engine of events fulfils. An engine test supplies an empty repository before each test
+// and inserts the events of a test script with the ids the script gives them.
+public abstract class EventRepositoryTest<T extends EventRepository> {
 
-    @Autowired
-    private EventRepository underTest;
+    protected T underTest;
 
+    protected abstract void insertEvents(String script);
 
     @Test
     void itShouldSaveEntity_WhenDataIsCorrect() {
@@ -46,6 +60,20 @@ class EventRepositoryTest extends BaseTest {
                 .isEqualTo(given);
     }
 
+    @Test
+    void itShouldSaveAllEntities_WhenDataIsCorrect() {
+        //given
+        List<Event> given = List.of(buildEvent(null), buildEvent(null), buildEvent(null));
+
+        //when
+        List<Event> result = underTest.saveAll(given);
+
+        //then
+        assertThat(result).hasSize(3)
+                .allSatisfy(event -> assertThat(event.getId()).isNotNull());
+        assertThat(underTest.findAll()).hasSize(3);
+    }
+
     @Test
     void itShouldThrowException_WhenSaveNullEntity() {
         //when
@@ -70,9 +98,9 @@ class EventRepositoryTest extends BaseTest {
     }
 
     @Test
-    @Sql(scripts = "/scripts/insert_simple_event.sql")
     void itShouldRead_WhenEntityExists() {
         //given
+        insertEvents("/scripts/insert_simple_event.sql");
         Event expected = buildEvent(1L);
 
         //when
@@ -103,9 +131,55 @@ class EventRepositoryTest extends BaseTest {
     }
 
     @Test
-    @Sql(scripts = "/scripts/insert_simple_event.sql")
+    void itShouldReadProjectionsOfExistingIds_WhenIdsAreSpecified() {
+        //given
+        insertEvents("/scripts/insert_two_simple_events.sql");
+
+        //when
+        List<EventView> result = underTest.findAllProjectionsById(List.of(2L, 1L, 100L));
+
+        //then
+        assertThat(result).extracting(EventView::getId)
+                .containsExactlyInAnyOrder(1L, 2L);
+        assertThat(result).extracting(EventView::getDate, EventView::getTime, EventView::getVersion)
+                .containsOnly(tuple(LocalDate.of(2222, 1, 1), LocalTime.MIDNIGHT, 0L));
+    }
+
+    @Test
+    void itShouldReadOnlyRequestedFieldsOfProjection_WhenFieldsAreSpecified() {
+        //given
+        insertEvents("/scripts/insert_simple_event.sql");
+        EventView expected = EventView.builder().id(1L).subject("Subject").build();
+
+        //when
+        Optional<EventView> result = underTest.findProjectionById(1L, Set.of(EventResponseField.SUBJECT));
+
+        //then
+        assertThat(result).contains(expected);
+    }
+
+    @Test
+    void itShouldNotReadProjection_WhenEntityDoesNotExist() {
+        //when
+        Optional<EventView> result = underTest.findProjectionById(100L, Set.of(EventResponseField.SUBJECT));
+
+        //then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void itShouldNotReadProjections_WhenIdsAreEmpty() {
+        //when
+        List<EventView> result = underTest.findAllProjectionsById(List.of());
+
+        //then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
     void itShouldUpdate_WhenDataIsCorrect() {
         //given
+        insertEvents("/scripts/insert_simple_event.sql");
         Event expected = buildEvent(1L);
         expected.setSubject("New subject");
 
@@ -116,6 +190,157 @@ class EventRepositoryTest extends BaseTest {
         assertThat(result).isEqualTo(expected);
     }
 
+    @Test
+    void itShouldReturnNewVersion_WhenUpdatedEntityHasNoVersion() {
+        //given
+        insertEvents("/scripts/insert_simple_event.sql");
+        Event event = buildEvent(1L);
+        event.setSubject("New subject");
+
+        //when
+        Event result = underTest.update(event);
+
+        //then
+        assertThat(result).extracting(Event::getVersion, Event::getStartsAt)
+                .containsExactly(1L, LocalDateTime.of(2222, 1, 1, 0, 0));
+    }
+
+    @Test
+    void itShouldIncrementVersion_WhenUpdatedEntityVersionIsCurrent() {
+        //given
+        insertEvents("/scripts/insert_simple_event.sql");
+        Event event = buildEvent(1L);
+        event.setSubject("New subject");
+        event.setVersion(0L);
+
+        //when
+        Event result = underTest.update(event);
+
+        //then
+        assertThat(result.getVersion()).isEqualTo(1L);
+        assertThat(underTest.findById(1L)).get()
+                .extracting(Event::getSubject, Event::getVersion)
+                .containsExactly("New subject", 1L);
+    }
+
+    @Test
+    void itShouldThrowException_WhenUpdatedEntityVersionIsStale() {
+        //given
+        insertEvents("/scripts/insert_simple_event.sql");
+        Event event = buildEvent(1L);
+        event.setVersion(5L);
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.update(event));
+
+        //then
+        assertThat(thrown).isInstanceOf(StaleEntityException.class)
+                .hasMessageContaining("Entity of type Event with id = 1 was modified concurrently, its version 5 is stale.");
+        assertThat(underTest.findById(1L)).get()
+                .extracting(Event::getVersion)
+                .isEqualTo(0L);
+    }
+
+    @Test
+    void itShouldThrowException_WhenBatchUpdatedEntityVersionIsStale() {
+        //given
+        insertEvents("/scripts/insert_two_simple_events.sql");
+        Event event1 = buildEvent(1L);
+        Event event2 = buildEvent(2L);
+        event2.setVersion(5L);
+        List<Event> currentEvents = underTest.findAllById(List.of(1L, 2L));
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.updateAll(List.of(event1, event2), currentEvents));
+
+        //then
+        assertThat(thrown).isInstanceOf(StaleEntityException.class)
+                .hasMessageContaining("Entity of type Event with id = 2 was modified concurrently, its version 5 is stale.");
+    }
+
+    @Test
+    void itShouldChangeOnlyPatchedFields_WhenEntityIsPatched() {
+        //given
+        insertEvents("/scripts/insert_simple_event.sql");
+        Event patch = Event.builder()
+                .id(1L)
+                .time(LocalTime.of(12, 30))
+                .build();
+
+        //when
+        underTest.patch(patch, Set.of("time"));
+
+        //then
+        assertThat(underTest.findById(1L)).get()
+                .extracting(Event::getSubject, Event::getTime, Event::getStartsAt, Event::getVersion)
+                .containsExactly("Subject", LocalTime.of(12, 30), LocalDateTime.of(2222, 1, 1, 12, 30), 1L);
+    }
+
+    @Test
+    void itShouldThrowException_WhenPatchedEntityVersionIsStale() {
+        //given
+        insertEvents("/scripts/insert_simple_event.sql");
+        Event patch = Event.builder()
+                .id(1L)
+                .venue("New Venue")
+                .version(3L)
+                .build();
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.patch(patch, Set.of("venue", "version")));
+
+        //then
+        assertThat(thrown).isInstanceOf(StaleEntityException.class)
+                .hasMessageContaining("Entity of type Event with id = 1 was modified concurrently, its version 3 is stale.");
+    }
+
+    @Test
+    void itShouldThrowException_WhenPatchedEntityDoesNotExist() {
+        //given
+        Event patch = Event.builder()
+                .id(100L)
+                .venue("New Venue")
+                .build();
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.patch(patch, Set.of("venue")));
+
+        //then
+        assertThat(thrown).isInstanceOf(NotExistEntityException.class)
+                .hasMessageContaining("Entity of type Event with id = 100 not exist in data base.");
+    }
+
+    @Test
+    void itShouldThrowException_WhenPatchedFieldIsNotUpdatable() {
+        //given
+        Event patch = Event.builder()
+                .id(1L)
+                .build();
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.patch(patch, Set.of("id")));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The field id cannot be patched.");
+    }
+
+    @Test
+    void itShouldThrowException_WhenPatchHasNoFieldsToChange() {
+        //given
+        Event patch = Event.builder()
+                .id(1L)
+                .version(0L)
+                .build();
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.patch(patch, Set.of("version")));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The patch must contain at least one field to change.");
+    }
+
     @Test
     void itShouldThrowException_WhenEntityIsNull() {
         //when
@@ -153,6 +378,36 @@ class EventRepositoryTest extends BaseTest {
     }
 
 
+    @Test
+    void itShouldUpdateAllEntities_WhenTheyAreExisting() {
+        //given
+        insertEvents("/scripts/insert_two_simple_events.sql");
+        Event expected1 = buildEvent(1L);
+        Event expected2 = buildEvent(2L);
+        expected1.setSubject("New subject 1");
+        expected2.setSubject("New subject 2");
+        List<Event> currentEvents = underTest.findAllById(List.of(1L, 2L));
+
+        //when
+        List<Event> result = underTest.updateAll(List.of(expected1, expected2), currentEvents);
+
+        //then
+        assertThat(result).containsExactly(expected1, expected2);
+        assertThat(underTest.findById(1L)).contains(expected1);
+    }
+
+    @Test
+    void itShouldDeleteAllEntities_WhenTheyAreExisting() {
+        //given
+        insertEvents("/scripts/insert_two_simple_events.sql");
+
+        //when
+        underTest.deleteAll(List.of(1L, 2L));
+
+        //then
+        assertThat(underTest.findAll()).isEmpty();
+    }
+
     @Test
     void itShouldThrowException_WhenDeletedEntityDoesNotExist() {
         //given
@@ -166,6 +421,48 @@ class EventRepositoryTest extends BaseTest {
                 .hasMessageContaining(String.format("The entity being deleted with id = %s does not exist in the database", id));
     }
 
+    @Test
+    void itShouldDeleteFilteredEvents_WhenFilterIsSpecified() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_filtering.sql");
+        EventFilterCriteria filterCriteria = new EventFilterCriteria(EventCriteriaField.DATE, "01.01.2000");
+        EventCriteria eventCriteria = EventCriteria.of(null, List.of(filterCriteria), null);
+
+        //when
+        int result = underTest.deleteAllByCriteria(eventCriteria);
+
+        //then
+        assertThat(result).isEqualTo(3);
+        assertThat(underTest.findAll()).extracting(Event::getId).containsExactly(3L);
+    }
+
+    @Test
+    void itShouldDeleteFoundEvents_WhenSearchIsSpecified() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_search.sql");
+        EventCriteria eventCriteria = EventCriteria.of(null, null, null, "concert");
+
+        //when
+        int result = underTest.deleteAllByCriteria(eventCriteria);
+
+        //then
+        assertThat(result).isEqualTo(2);
+        assertThat(underTest.findAll()).extracting(Event::getId).containsExactly(3L);
+    }
+
+    @Test
+    void itShouldThrowException_WhenDeleteCriteriaHasNeitherFilterNorSearch() {
+        //given
+        EventCriteria eventCriteria = EventCriteria.of(null, List.of(), null);
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.deleteAllByCriteria(eventCriteria));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The criteria for deleting events must contain a filter or a search query.");
+    }
+
     @Test
     void itShouldThrowException_WhenDeletedEntityIdIsNull() {
         //when
@@ -176,12 +473,9 @@ class EventRepositoryTest extends BaseTest {
     }
 
     @Test
-    @Sql(scripts = {
-            "/scripts/delete_all_events.sql",
-            "/scripts/insert_two_simple_events.sql"
-    })
     void itShouldReadAllEntities_WhenTheyAreExisting() {
         //given
+        insertEvents("/scripts/insert_two_simple_events.sql");
         Event expected1 = buildEvent(1L);
         Event expected2 = buildEvent(2L);
 
@@ -203,13 +497,10 @@ class EventRepositoryTest extends BaseTest {
     }
 
     @Test
-    @Sql(scripts ={
-            "/scripts/delete_all_events.sql",
-            "/scripts/insert_two_simple_events.sql"
-    })
     @DisplayName("Test reading all event entities when filtering, sorting and pagination are not specified")
     void itShouldReadAllEntities_WhenEventFilterCriteriaAndSortingCriteriaAndPaginationAreNull() {
         //given
+        insertEvents("/scripts/insert_two_simple_events.sql");
         Event expected1 = buildEvent(1L);
         Event expected2 = buildEvent(2L);
         EventCriteria criteria = EventCriteria.builder()
@@ -237,13 +528,10 @@ class EventRepositoryTest extends BaseTest {
     }
 
     @ParameterizedTest
-    @Sql(scripts = {
-            "/scripts/delete_all_events.sql",
-            "/scripts/insert_events_for_testing_filtering.sql"
-    })
     @ArgumentsSource(EventFilterProvider.class)
     void itShouldReadFilteredEvents_WhenTheyAreExisting(EventFilterCriteria filterCriteria, Event expected) {
         //given
+        insertEvents("/scripts/insert_events_for_testing_filtering.sql");
         EventCriteria criteria = EventCriteria.builder().filter(List.of(filterCriteria)).build();
 
         //when
@@ -255,13 +543,39 @@ class EventRepositoryTest extends BaseTest {
     }
 
     @ParameterizedTest
-    @Sql(scripts = {
-            "/scripts/delete_all_events.sql",
-            "/scripts/insert_events_for_testing_sorting.sql"
-    })
+    @ArgumentsSource(EventFilterOperatorProvider.class)
+    void itShouldReadFilteredEvents_WhenOperatorIsSpecified(EventFilterCriteria filterCriteria, List<Long> expectedIds) {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_filtering.sql");
+        EventCriteria criteria = EventCriteria.builder().filter(List.of(filterCriteria)).build();
+
+        //when
+        List<Event> result = underTest.findAll(criteria);
+
+        //then
+        assertThat(result).extracting(Event::getId)
+                .containsExactlyInAnyOrderElementsOf(expectedIds);
+    }
+
+    @Test
+    void itShouldThrowException_WhenFilteredDateIsNotValid() {
+        //given
+        EventFilterCriteria filterCriteria = new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.GT, "31.13.2000");
+        EventCriteria criteria = EventCriteria.builder().filter(List.of(filterCriteria)).build();
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.findAll(criteria));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The filter value 31.13.2000 is not a valid date.");
+    }
+
+    @ParameterizedTest
     @ArgumentsSource(EventSortingProvider.class)
     void iTShouldReadSortedEvents_WhenTheyAreExisting(EventSortingCriteria sortingCriteria, Event[] expected) {
         //given
+        insertEvents("/scripts/insert_events_for_testing_sorting.sql");
         EventCriteria criteria = EventCriteria.of(List.of(sortingCriteria), null, null);
 
         //when
@@ -273,9 +587,9 @@ class EventRepositoryTest extends BaseTest {
     }
 
     @Test
-    @Sql(scripts = "/scripts/insert_two_simple_events.sql")
     void itShouldReadPageOfEvents_WhenTheyAreExisting() {
         //given
+        insertEvents("/scripts/insert_two_simple_events.sql");
         Event expected = buildEvent(2L);
         PaginationCriteria paginationCriteria = PaginationCriteria.builder().page(2).size(1).build();
         EventCriteria eventCriteria = EventCriteria.builder().pagination(paginationCriteria).build();
@@ -314,7 +628,337 @@ class EventRepositoryTest extends BaseTest {
                 .hasMessageContaining("max-results cannot be negative");
     }
 
-    private Event buildEvent(Long id) {
+    @Test
+    void itShouldReadNextPageOfEvents_WhenCursorIsSpecified() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_sorting.sql");
+        Event expected1 = new Event(2L, "Subject4", "Description", "Full Name2",
+                LocalDate.of(2000, 1, 3), LocalTime.of(0, 3, 0), "Venue");
+        Event expected2 = new Event(4L, "Subject3", "Description", "Full Name3",
+                LocalDate.of(2000, 1, 4), LocalTime.of(0, 2, 0), "Venue");
+        EventSortingCriteria sortingCriteria = new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.ASC);
+        String cursor = EventCursor.of(List.of(LocalDate.of(2000, 1, 2).toString()), 3L).toToken();
+        PaginationCriteria paginationCriteria = PaginationCriteria.builder().size(2).cursor(cursor).build();
+        EventCriteria eventCriteria = EventCriteria.of(List.of(sortingCriteria), null, paginationCriteria);
+
+        //when
+        List<Event> result = underTest.findAll(eventCriteria);
+
+        //then
+        assertThat(result).containsExactly(expected1, expected2);
+    }
+
+    @Test
+    void itShouldReadNextPageOfEvents_WhenCursorIsSpecifiedForDateAndTimeSorting() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_sorting.sql");
+        List<EventSortingCriteria> sortingCriteria = List.of(
+                new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.DESC),
+                new EventSortingCriteria(EventCriteriaField.TIME, SortingDirection.DESC)
+        );
+        PaginationCriteria firstPage = PaginationCriteria.builder().page(1).size(2).build();
+        List<Event> previous = underTest.findAll(EventCriteria.of(sortingCriteria, null, firstPage));
+        String cursor = EventCursor.of(previous.get(previous.size() - 1), sortingCriteria).toToken();
+        PaginationCriteria nextPage = PaginationCriteria.builder().size(2).cursor(cursor).build();
+
+        //when
+        List<Event> result = underTest.findAll(EventCriteria.of(sortingCriteria, null, nextPage));
+
+        //then
+        assertThat(previous).extracting(Event::getId).containsExactly(4L, 2L);
+        assertThat(result).extracting(Event::getId).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void itShouldReadStartsAtDerivedFromDateAndTime_WhenEntityExists() {
+        //given
+        insertEvents("/scripts/insert_simple_event.sql");
+
+        //when
+        Optional<Event> result = underTest.findById(1L);
+
+        //then
+        assertThat(result).get()
+                .extracting(Event::getStartsAt)
+                .isEqualTo(LocalDateTime.of(2222, 1, 1, 0, 0));
+    }
+
+    @Test
+    void itShouldThrowException_WhenCursorDoesNotMatchSortingCriteria() {
+        //given
+        String cursor = EventCursor.of(List.of("Subject"), 1L).toToken();
+        PaginationCriteria paginationCriteria = PaginationCriteria.builder().size(1).cursor(cursor).build();
+        EventCriteria eventCriteria = EventCriteria.builder().pagination(paginationCriteria).build();
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.findAll(eventCriteria));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The pagination cursor does not match the sorting criteria.");
+    }
+
+    @Test
+    void itShouldReadProjectionsWithSameOrderAsEntities_WhenCriteriaIsSpecified() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_sorting.sql");
+        EventSortingCriteria sortingCriteria = new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.DESC);
+        PaginationCriteria paginationCriteria = PaginationCriteria.builder().page(1).size(3).build();
+        EventCriteria eventCriteria = EventCriteria.of(List.of(sortingCriteria), null, paginationCriteria);
+        List<Event> expected = underTest.findAll(eventCriteria);
+
+        //when
+        List<EventView> result = underTest.findAllProjections(eventCriteria);
+
+        //then
+        assertThat(result).hasSize(3)
+                .extracting(EventView::getId)
+                .containsExactlyElementsOf(expected.stream().map(Event::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void itShouldReadAllFieldsOfProjections_WhenFieldsAreNotSpecified() {
+        //given
+        insertEvents("/scripts/insert_simple_event.sql");
+        EventView expected = EventView.builder()
+                .id(1L)
+                .subject("Subject")
+                .plannerFullName("Full Name")
+                .date(LocalDate.of(2222, 1, 1))
+                .time(LocalTime.MIDNIGHT)
+                .venue("Venue")
+                .version(0L)
+                .build();
+
+        //when
+        List<EventView> result = underTest.findAllProjections(EventCriteria.builder().build());
+
+        //then
+        assertThat(result).containsExactly(expected);
+    }
+
+    @Test
+    void itShouldNotReadDescription_WhenItIsNotRequested() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_sorting.sql");
+        EventSortingCriteria sortingCriteria = new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.DESC);
+        PaginationCriteria paginationCriteria = PaginationCriteria.builder().page(1).size(3).build();
+        EventCriteria eventCriteria = EventCriteria.of(List.of(sortingCriteria), null, paginationCriteria, null,
+                Set.of(EventResponseField.SUBJECT));
+
+        //when
+        List<EventView> result = underTest.findAllProjections(eventCriteria);
+
+        //then
+        assertThat(result).hasSize(3)
+                .allSatisfy(response -> {
+                    assertThat(response.getId()).isNotNull();
+                    assertThat(response.getSubject()).isNotNull();
+                    assertThat(response.getDescription()).isNull();
+                    assertThat(response.getVenue()).isNull();
+                });
+    }
+
+    @Test
+    void itShouldThrowException_WhenProjectionsCriteriaIsNull() {
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.findAllProjections(null));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The criteria for finding values can't be null");
+    }
+
+    @Test
+    void itShouldReadEventsOrderedByRelevance_WhenSearchIsSpecified() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_search.sql");
+        EventCriteria eventCriteria = EventCriteria.of(null, null, null, "concert");
+
+        //when
+        List<Event> result = underTest.findAll(eventCriteria);
+
+        //then
+        assertThat(result).extracting(Event::getId)
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void itShouldReadSortedProjections_WhenSearchAndSortingAreSpecified() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_search.sql");
+        EventSortingCriteria sortingCriteria = new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.DESC);
+        EventCriteria eventCriteria = EventCriteria.of(List.of(sortingCriteria), null, null, "concert");
+
+        //when
+        List<EventView> result = underTest.findAllProjections(eventCriteria);
+
+        //then
+        assertThat(result).extracting(EventView::getId)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void itShouldThrowException_WhenCursorIsCombinedWithRelevanceOrder() {
+        //given
+        String cursor = EventCursor.of(List.of(), 1L).toToken();
+        PaginationCriteria paginationCriteria = PaginationCriteria.builder().size(1).cursor(cursor).build();
+        EventCriteria eventCriteria = EventCriteria.of(null, null, paginationCriteria, "concert");
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.findAll(eventCriteria));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The pagination cursor cannot be used when the search results are ordered by relevance.");
+    }
+
+    @Test
+    void itShouldReadPageWithExactTotalCount_WhenCountModeIsExact() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_filtering.sql");
+        EventFilterCriteria filterCriteria = new EventFilterCriteria(EventCriteriaField.DATE, "01.01.2000");
+        PaginationCriteria paginationCriteria = new PaginationCriteria(1, 2);
+        EventCriteria eventCriteria = EventCriteria.of(null, List.of(filterCriteria), paginationCriteria, null, null, CountMode.EXACT);
+
+        //when
+        PageResult<EventView> result = underTest.findProjectionPage(eventCriteria);
+
+        //then
+        assertThat(result.getContent()).extracting(EventView::getId).containsExactly(1L, 2L);
+        assertThat(result.getTotalCount()).isEqualTo(3L);
+    }
+
+    @Test
+    void itShouldReadExactTotalCount_WhenPageIsBeyondTheLastEvent() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_filtering.sql");
+        EventFilterCriteria filterCriteria = new EventFilterCriteria(EventCriteriaField.DATE, "01.01.2000");
+        PaginationCriteria paginationCriteria = new PaginationCriteria(10, 2);
+        EventCriteria eventCriteria = EventCriteria.of(null, List.of(filterCriteria), paginationCriteria, null, null, CountMode.EXACT);
+
+        //when
+        PageResult<EventView> result = underTest.findProjectionPage(eventCriteria);
+
+        //then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalCount()).isEqualTo(3L);
+    }
+
+    @Test
+    void itShouldCountAllMatchingEvents_WhenCountModeIsExactAndCursorIsSpecified() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_filtering.sql");
+        EventFilterCriteria filterCriteria = new EventFilterCriteria(EventCriteriaField.DATE, "01.01.2000");
+        String cursor = EventCursor.of(List.of(), 1L).toToken();
+        PaginationCriteria paginationCriteria = new PaginationCriteria(null, 2, cursor);
+        EventCriteria eventCriteria = EventCriteria.of(null, List.of(filterCriteria), paginationCriteria, null, null, CountMode.EXACT);
+
+        //when
+        PageResult<EventView> result = underTest.findProjectionPage(eventCriteria);
+
+        //then
+        assertThat(result.getContent()).extracting(EventView::getId).containsExactly(2L, 4L);
+        assertThat(result.getTotalCount()).isEqualTo(3L);
+    }
+
+    @Test
+    void itShouldReadEstimatedTotalCount_WhenCountModeIsEstimated() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_filtering.sql");
+        EventFilterCriteria filterCriteria = new EventFilterCriteria(EventCriteriaField.DATE, "01.01.2000");
+        PaginationCriteria paginationCriteria = new PaginationCriteria(1, 2);
+        EventCriteria eventCriteria = EventCriteria.of(null, List.of(filterCriteria), paginationCriteria, "subject", null, CountMode.ESTIMATED);
+
+        //when
+        PageResult<EventView> result = underTest.findProjectionPage(eventCriteria);
+
+        //then
+        assertThat(result.getTotalCount()).isNotNull().isNotNegative();
+    }
+
+    @Test
+    void itShouldNotCount_WhenCountModeIsNone() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_filtering.sql");
+        PaginationCriteria paginationCriteria = new PaginationCriteria(1, 2);
+        EventCriteria eventCriteria = EventCriteria.of(null, null, paginationCriteria);
+
+        //when
+        PageResult<EventView> result = underTest.findProjectionPage(eventCriteria);
+
+        //then
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getTotalCount()).isNull();
+    }
+
+    @Test
+    void itShouldReadAllEventsAsUpdated_WhenChangeTokenIsInitial() {
+        //given
+        insertEvents("/scripts/insert_two_simple_events.sql");
+
+        //when
+        EventDelta<EventView> result = underTest.findChanges(EventCriteria.builder().build(), EventChangeToken.initial(), 10);
+
+        //then
+        assertThat(result.getUpdated()).extracting(EventView::getId).containsExactly(1L, 2L);
+        assertThat(result.getDeleted()).isEmpty();
+        assertThat(result.isHasMore()).isFalse();
+        assertThat(EventChangeToken.fromToken(result.getToken()).isPaged()).isFalse();
+    }
+
+    @Test
+    void itShouldReadOnlyLaterChanges_WhenChangeTokenIsSpecified() {
+        //given
+        insertEvents("/scripts/insert_two_simple_events.sql");
+        EventCriteria eventCriteria = EventCriteria.builder().build();
+        EventChangeToken token = EventChangeToken.fromToken(underTest.findChanges(eventCriteria, EventChangeToken.initial(), 10).getToken());
+        Event updated = buildEvent(1L);
+        updated.setSubject("New subject");
+        underTest.update(updated);
+        underTest.delete(2L);
+
+        //when
+        EventDelta<EventView> result = underTest.findChanges(eventCriteria, token, 10);
+
+        //then
+        assertThat(result.getUpdated()).extracting(EventView::getId, EventView::getSubject)
+                .containsExactly(tuple(1L, "New subject"));
+        assertThat(result.getDeleted()).containsExactly(2L);
+    }
+
+    @Test
+    void itShouldPageChanges_WhenThereAreMoreChangesThanLimit() {
+        //given
+        insertEvents("/scripts/insert_two_simple_events.sql");
+        EventCriteria eventCriteria = EventCriteria.builder().build();
+
+        //when
+        EventDelta<EventView> firstPage = underTest.findChanges(eventCriteria, EventChangeToken.initial(), 1);
+        EventDelta<EventView> secondPage = underTest.findChanges(eventCriteria, EventChangeToken.fromToken(firstPage.getToken()), 1);
+
+        //then
+        assertThat(firstPage.isHasMore()).isTrue();
+        assertThat(firstPage.getUpdated()).extracting(EventView::getId).containsExactly(1L);
+        assertThat(secondPage.isHasMore()).isFalse();
+        assertThat(secondPage.getUpdated()).extracting(EventView::getId).containsExactly(2L);
+    }
+
+    @Test
+    void itShouldReadOnlyMatchingChanges_WhenFilterIsSpecified() {
+        //given
+        insertEvents("/scripts/insert_events_for_testing_filtering.sql");
+        EventFilterCriteria filterCriteria = new EventFilterCriteria(EventCriteriaField.PLANNER, "Full Name");
+        EventCriteria eventCriteria = EventCriteria.of(null, List.of(filterCriteria), null);
+
+        //when
+        EventDelta<EventView> result = underTest.findChanges(eventCriteria, EventChangeToken.initial(), 100);
+
+        //then
+        assertThat(result.getUpdated()).extracting(EventView::getPlannerFullName).containsOnly("Full Name");
+    }
+
+    protected Event buildEvent(Long id) {
         return Event.builder()
                 .id(id)
                 .subject("Subject")
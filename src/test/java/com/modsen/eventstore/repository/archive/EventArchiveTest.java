@@ -0,0 +1,267 @@
+package com.modsen.eventstore.repository.archive;
+
+import com.modsen.eventstore.dto.criteria.FilterOperator;
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventCursor;
+import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.repository.EventArchiveRepository;
+import com.modsen.eventstore.repository.impl.EventCriteriaEvaluator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventArchiveTest {
+
+    @Mock
+    private EventArchiveRepository eventArchiveRepository;
+
+    @TempDir
+    Path directory;
+
+    private EventArchive underTest;
+    private AutoCloseable autoCloseable;
+
+    private static final YearMonth month = YearMonth.of(2020, 1);
+
+
+    @BeforeEach
+    void setUp() {
+        autoCloseable = MockitoAnnotations.openMocks(this);
+        underTest = new EventArchive(eventArchiveRepository, directory.toString(), 100);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        autoCloseable.close();
+    }
+
+    @Test
+    void canReadBackEveryColumnOfArchivedEvents() {
+        //given
+        List<Event> events = buildEvents(300);
+
+        //when
+        EventSegment segment = underTest.writeSegment(month, events);
+
+        //then
+        assertThat(segment.getRowCount()).isEqualTo(300);
+        assertThat(segment.getMinDate()).isEqualTo(LocalDate.of(2020, 1, 1));
+        assertThat(segment.getMaxDate()).isEqualTo(LocalDate.of(2020, 1, 30));
+        assertThat(segment.getPlanners()).containsExactlyInAnyOrder("Planner 0", "Planner 1", "Planner 2");
+        for (Event event : events) {
+            assertThat(segment.findById(event.getId())).get()
+                    .usingRecursiveComparison()
+                    .ignoringFields("startsAt", "changeXid")
+                    .isEqualTo(event);
+        }
+        assertThat(segment.findById(1000L)).isEmpty();
+    }
+
+    @Test
+    void canFindArchivedEventsOfExistingIds() {
+        //given
+        underTest.publish(List.of(underTest.writeSegment(month, buildEvents(300))));
+
+        //when
+        List<Event> result = underTest.findAllById(List.of(7L, 1000L, 3L));
+
+        //then
+        assertThat(result).extracting(Event::getId).containsExactly(7L, 3L);
+    }
+
+    @Test
+    void canFindArchivedEventsById_WhenIdRangesOfSegmentsOverlap() {
+        //given
+        List<Event> events = buildEvents(300);
+        List<Event> odd = new ArrayList<>();
+        List<Event> even = new ArrayList<>();
+        events.forEach(event -> (event.getId() % 2 == 0 ? even : odd).add(event));
+        underTest.publish(List.of(
+                underTest.writeSegment(month, even),
+                underTest.writeSegment(month, events.subList(100, 110)),
+                underTest.writeSegment(month, odd)
+        ));
+
+        //when
+        List<Event> result = underTest.findAllById(List.of(1L, 2L, 105L, 299L, 300L, 301L, 0L));
+
+        //then
+        assertThat(result).extracting(Event::getId).containsExactly(1L, 2L, 105L, 299L, 300L);
+    }
+
+    @Test
+    void canFilterSortAndPageArchivedEvents() {
+        //given
+        underTest.publish(List.of(underTest.writeSegment(month, buildEvents(300))));
+        List<EventSortingCriteria> sort = List.of(new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.DESC));
+        List<EventFilterCriteria> filter = List.of(
+                new EventFilterCriteria(EventCriteriaField.PLANNER, "Planner 1"),
+                new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.BETWEEN, "10.01.2020;12.01.2020")
+        );
+        EventCriteriaEvaluator evaluator = EventCriteriaEvaluator.of(EventCriteria.of(sort, filter, new PaginationCriteria(2, 3)));
+
+        //when
+        List<Event> result = evaluator.page(underTest.findAll(evaluator));
+
+        //then
+        assertThat(underTest.count(evaluator)).isEqualTo(10L);
+        assertThat(result).extracting(Event::getId).containsExactly(250L, 220L, 190L);
+    }
+
+    @Test
+    void canContinueFromCursorOverArchivedEvents() {
+        //given
+        underTest.publish(List.of(underTest.writeSegment(month, buildEvents(300))));
+        List<EventSortingCriteria> sort = List.of(new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.ASC));
+        List<EventFilterCriteria> filter = List.of(new EventFilterCriteria(EventCriteriaField.DATE, "02.01.2020"));
+        String cursor = EventCursor.of(List.of("2020-01-02"), 61L).toToken();
+        EventCriteriaEvaluator evaluator = EventCriteriaEvaluator.of(EventCriteria.of(sort, filter,
+                PaginationCriteria.builder().size(5).cursor(cursor).build()));
+
+        //when
+        List<Event> result = evaluator.page(underTest.findAll(evaluator));
+
+        //then
+        assertThat(result).extracting(Event::getId).containsExactly(91L, 121L, 151L, 181L, 211L);
+    }
+
+    @Test
+    void willSkipSegmentsOutsideOfFilteredDatesAndPlanners() {
+        //given
+        underTest.publish(List.of(underTest.writeSegment(month, buildEvents(30))));
+        EventCriteriaEvaluator laterDates = EventCriteriaEvaluator.of(EventCriteria.of(null, List.of(
+                new EventFilterCriteria(EventCriteriaField.STARTS_AT, FilterOperator.GTE, "01.02.2020 00:00")
+        ), null));
+        EventCriteriaEvaluator unknownPlanner = EventCriteriaEvaluator.of(EventCriteria.of(null, List.of(
+                new EventFilterCriteria(EventCriteriaField.PLANNER, FilterOperator.IN, "Planner 7;Planner 8")
+        ), null));
+        EventCriteriaEvaluator search = EventCriteriaEvaluator.of(EventCriteria.of(null, null, null, "subject"));
+
+        //when
+        //then
+        assertThat(underTest.mayContain(laterDates)).isFalse();
+        assertThat(underTest.mayContain(unknownPlanner)).isFalse();
+        assertThat(underTest.mayContain(search)).isFalse();
+        assertThat(underTest.mayContain(EventCriteriaEvaluator.of(EventCriteria.of(null, null, null)))).isTrue();
+    }
+
+    @Test
+    void canLoadOnlyRegisteredSegments() {
+        //given
+        EventSegment registered = underTest.writeSegment(month, buildEvents(10));
+        underTest.writeSegment(month, buildEvents(20));
+        when(eventArchiveRepository.findSegmentNames()).thenReturn(List.of(registered.getFile().getFileName().toString()));
+
+        //when
+        underTest.afterSingletonsInstantiated();
+
+        //then
+        assertThat(underTest.count(EventCriteriaEvaluator.of(EventCriteria.of(null, null, null)))).isEqualTo(10L);
+    }
+
+    @Test
+    void canLoadSegmentsRegisteredByOtherNodes_WhenSegmentsAreRefreshed() {
+        //given
+        EventSegment first = underTest.writeSegment(month, buildEvents(10));
+        EventSegment second = underTest.writeSegment(month, buildEvents(20));
+        when(eventArchiveRepository.findSegmentNames()).thenReturn(
+                List.of(first.getFile().getFileName().toString()),
+                List.of(first.getFile().getFileName().toString(), second.getFile().getFileName().toString())
+        );
+        underTest.afterSingletonsInstantiated();
+
+        //when
+        underTest.refreshSegments();
+
+        //then
+        assertThat(underTest.count(EventCriteriaEvaluator.of(EventCriteria.of(null, null, null)))).isEqualTo(30L);
+    }
+
+    @Test
+    void canOrderArchivedSubjectsByDatabaseCollation() {
+        //given
+        when(eventArchiveRepository.findCollation()).thenReturn("en_US.UTF-8");
+        underTest.afterSingletonsInstantiated();
+        List<Event> events = buildEvents(3);
+        events.get(0).setSubject("cherry");
+        events.get(1).setSubject("Banana");
+        events.get(2).setSubject("apple");
+        List<EventSortingCriteria> sort = List.of(new EventSortingCriteria(EventCriteriaField.SUBJECT, SortingDirection.ASC));
+        EventCriteria criteria = EventCriteria.of(sort, null, null);
+
+        //when
+        List<Event> collated = EventCriteriaEvaluator.of(criteria, underTest.getTextOrder()).page(new ArrayList<>(events));
+        List<Event> natural = EventCriteriaEvaluator.of(criteria).page(new ArrayList<>(events));
+
+        //then
+        assertThat(collated).extracting(Event::getSubject).containsExactly("apple", "Banana", "cherry");
+        assertThat(natural).extracting(Event::getSubject).containsExactly("Banana", "apple", "cherry");
+    }
+
+    @Test
+    void canDiscardSegmentsOfRolledBackArchiving() {
+        //given
+        EventSegment segment = underTest.writeSegment(month, buildEvents(10));
+        underTest.publish(List.of(segment));
+
+        //when
+        underTest.discard(List.of(segment));
+
+        //then
+        assertThat(underTest.isEmpty()).isTrue();
+        assertThat(Files.exists(segment.getFile())).isFalse();
+    }
+
+    @Test
+    void willThrowIllegalStateException_WhenSegmentIsCorrupted() throws IOException {
+        //given
+        EventSegment segment = underTest.writeSegment(month, buildEvents(10));
+        try (FileChannel channel = FileChannel.open(segment.getFile(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), channel.size() - 3);
+        }
+
+        //when
+        Throwable thrown = catchThrowable(() -> EventSegment.open(segment.getFile()));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("corrupted");
+    }
+
+    private List<Event> buildEvents(int count) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            events.add(new Event((long) i, "Subject " + i, i % 2 == 0 ? null : "Description " + i, "Planner " + i % 3,
+                    LocalDate.of(2020, 1, 1 + i % 30), LocalTime.of(i % 24, 0), "Venue " + i, null, (long) i % 5, null, null));
+        }
+        return events;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,433 @@
+package com.modsen.eventstore.repository.file;
+
+import com.modsen.eventstore.dto.criteria.CountMode;
+import com.modsen.eventstore.dto.criteria.FilterOperator;
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventChangeToken;
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventCursor;
+import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.dto.event.EventChange;
+import com.modsen.eventstore.dto.event.EventChangeHorizon;
+import com.modsen.eventstore.dto.event.EventChangeType;
+import com.modsen.eventstore.dto.event.EventDelta;
+import com.modsen.eventstore.dto.event.EventView;
+import com.modsen.eventstore.dto.page.PageResult;
+import com.modsen.eventstore.exception.NotExistEntityException;
+import com.modsen.eventstore.exception.StaleEntityException;
+import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.repository.EventRepositoryTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
+
+class FileEventRepositoryTest extends EventRepositoryTest<FileEventRepository> {
+
+    private static final Pattern INSERTED_VALUES_PATTERN = Pattern.compile("VALUES \\((.*)\\);");
+    private static final Pattern VALUE_PATTERN = Pattern.compile("'([^']*)'|([^,\\s]+)");
+
+    private static final EventCriteria allEvents = EventCriteria.of(null, null, null);
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        underTest = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.close();
+    }
+
+    // The log assigns ids from 1 in the order of saving, which is the order of the ids in the test scripts.
+    @Override
+    protected void insertEvents(String script) {
+        Matcher statements = INSERTED_VALUES_PATTERN.matcher(readScript(script));
+        while (statements.find()) {
+            List<String> values = new ArrayList<>();
+            Matcher value = VALUE_PATTERN.matcher(statements.group(1));
+            while (value.find()) {
+                values.add(Objects.nonNull(value.group(1)) ? value.group(1) : value.group(2));
+            }
+
+            Event saved = underTest.save(new Event(null, values.get(1), "null".equals(values.get(2)) ? null : values.get(2),
+                    values.get(3), LocalDate.parse(values.get(4)), LocalTime.parse(values.get(5)), values.get(6)));
+            assertThat(saved.getId()).isEqualTo(Long.valueOf(values.get(0)));
+        }
+    }
+
+    @Test
+    void itShouldNotApplyAnyUpdateOfBatch_WhenOneEntityIsStale() {
+        //given
+        List<Event> saved = underTest.saveAll(List.of(buildEvent(1), buildEvent(2)));
+        Event current = buildEvent(3);
+        current.setId(saved.get(0).getId());
+        current.setVersion(0L);
+        Event stale = buildEvent(4);
+        stale.setId(saved.get(1).getId());
+        stale.setVersion(3L);
+        List<Event> currentEvents = underTest.findAllById(List.of(current.getId(), stale.getId()));
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.updateAll(List.of(current, stale), currentEvents));
+
+        //then
+        assertThat(thrown).isInstanceOf(StaleEntityException.class);
+        assertThat(underTest.findAll()).extracting(Event::getSubject).containsExactly("Subject 1", "Subject 2");
+    }
+
+    @Test
+    void itShouldDeleteEntity_WhenEntityExists() {
+        //given
+        Event saved = underTest.save(buildEvent(1));
+
+        //when
+        underTest.delete(saved.getId());
+        Throwable thrown = catchThrowable(() -> underTest.delete(saved.getId()));
+
+        //then
+        assertThat(underTest.findById(saved.getId())).isEmpty();
+        assertThat(thrown).isInstanceOf(NotExistEntityException.class);
+    }
+
+    @Test
+    void itShouldFindFilteredSortedPage_WhenSortFieldIsIndexed() {
+        //given
+        List<Event> saved = underTest.saveAll(buildEvents(300));
+        List<EventSortingCriteria> sort = List.of(new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.DESC));
+        List<EventFilterCriteria> filter = List.of(
+                new EventFilterCriteria(EventCriteriaField.PLANNER, "Planner 1"),
+                new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.BETWEEN, "10.01.2020;12.01.2020")
+        );
+        List<Long> expected = saved.stream()
+                .filter(event -> event.getPlannerFullName().equals("Planner 1"))
+                .filter(event -> !event.getDate().isBefore(LocalDate.of(2020, 1, 10)) && !event.getDate().isAfter(LocalDate.of(2020, 1, 12)))
+                .sorted(Comparator.comparing(Event::getDate).thenComparing(Event::getId).reversed())
+                .skip(1)
+                .limit(3)
+                .map(Event::getId)
+                .collect(Collectors.toList());
+
+        //when
+        List<Event> result = underTest.findAll(EventCriteria.of(sort, filter, new PaginationCriteria(2, 3)));
+
+        //then
+        assertThat(result).extracting(Event::getId).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void itShouldContinueFromCursor_WhenPagesAreReadInSequence() {
+        //given
+        List<Event> saved = underTest.saveAll(buildEvents(100));
+        List<EventSortingCriteria> sort = List.of(
+                new EventSortingCriteria(EventCriteriaField.TIME, SortingDirection.ASC),
+                new EventSortingCriteria(EventCriteriaField.SUBJECT, SortingDirection.ASC)
+        );
+        List<Long> expected = saved.stream()
+                .sorted(Comparator.comparing(Event::getTime).thenComparing(Event::getSubject).thenComparing(Event::getId))
+                .skip(10)
+                .limit(10)
+                .map(Event::getId)
+                .collect(Collectors.toList());
+        List<Event> firstPage = underTest.findAll(EventCriteria.of(sort, null, new PaginationCriteria(1, 10)));
+        String cursor = EventCursor.of(firstPage.get(firstPage.size() - 1), sort).toToken();
+
+        //when
+        List<Event> result = underTest.findAll(EventCriteria.of(sort, null, PaginationCriteria.builder().size(10).cursor(cursor).build()));
+
+        //then
+        assertThat(result).extracting(Event::getId).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void itShouldCountAllMatchingEvents_WhenPageIsRequestedWithExactCount() {
+        //given
+        underTest.saveAll(buildEvents(90));
+        List<EventFilterCriteria> filter = List.of(new EventFilterCriteria(EventCriteriaField.PLANNER, FilterOperator.IN, "Planner 0;Planner 2"));
+        PaginationCriteria pagination = new PaginationCriteria(1, 5);
+
+        //when
+        PageResult<EventView> result = underTest.findProjectionPage(EventCriteria.of(null, filter, pagination, null, null, CountMode.EXACT));
+
+        //then
+        assertThat(result.getContent()).hasSize(5);
+        assertThat(result.getTotalCount()).isEqualTo(60L);
+    }
+
+    @Test
+    void itShouldCountAllMatchingEvents_WhenOnlyExactCountIsRequested() {
+        //given
+        underTest.saveAll(buildEvents(90));
+        List<EventFilterCriteria> filter = List.of(new EventFilterCriteria(EventCriteriaField.PLANNER, FilterOperator.IN, "Planner 0;Planner 2"));
+
+        //when
+        PageResult<EventView> result = underTest.findProjectionPage(EventCriteria.of(null, filter, null, null, null, CountMode.EXACT));
+
+        //then
+        assertThat(result.getContent()).hasSize(60);
+        assertThat(result.getTotalCount()).isEqualTo(60L);
+    }
+
+    @Test
+    void itShouldOrderSearchResultsByRelevance_WhenNoSortIsGiven() {
+        //given
+        underTest.saveAll(List.of(
+                new Event(null, "Jazz evening", null, "Planner", LocalDate.of(2020, 1, 1), LocalTime.NOON, "Concert hall"),
+                new Event(null, "Rock concert", "Open air concert", "Planner", LocalDate.of(2020, 1, 1), LocalTime.NOON, "Park"),
+                new Event(null, "Lecture", "About rock music", "Planner", LocalDate.of(2020, 1, 1), LocalTime.NOON, "University")
+        ));
+
+        //when
+        List<Event> concerts = underTest.findAll(EventCriteria.of(null, null, null, "concert"));
+        List<Event> notRock = underTest.findAll(EventCriteria.of(null, null, null, "concert -rock"));
+        List<Event> alternatives = underTest.findAll(EventCriteria.of(null, null, null, "lecture or jazz"));
+
+        //then
+        assertThat(concerts).extracting(Event::getId).containsExactly(2L, 1L);
+        assertThat(notRock).extracting(Event::getId).containsExactly(1L);
+        assertThat(alternatives).extracting(Event::getId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void itShouldFindChangesAfterToken_WhenEventsAreChangedAndDeleted() {
+        //given
+        List<Event> saved = underTest.saveAll(buildEvents(3));
+        EventDelta<EventView> initial = underTest.findChanges(allEvents, EventChangeToken.initial(), 10);
+        Event changed = buildEvent(10);
+        changed.setId(saved.get(0).getId());
+        underTest.update(changed);
+        underTest.delete(saved.get(1).getId());
+        Event created = underTest.save(buildEvent(11));
+        EventChangeToken token = EventChangeToken.fromToken(initial.getToken());
+
+        //when
+        EventDelta<EventView> firstPage = underTest.findChanges(allEvents, token, 2);
+        EventDelta<EventView> secondPage = underTest.findChanges(allEvents, EventChangeToken.fromToken(firstPage.getToken()), 2);
+
+        //then
+        assertThat(initial.getUpdated()).extracting(EventView::getId).containsExactly(1L, 2L, 3L);
+        assertThat(firstPage.isHasMore()).isTrue();
+        assertThat(firstPage.getUpdated()).extracting(EventView::getId).containsExactly(changed.getId());
+        assertThat(firstPage.getDeleted()).containsExactly(saved.get(1).getId());
+        assertThat(secondPage.isHasMore()).isFalse();
+        assertThat(secondPage.getUpdated()).extracting(EventView::getId).containsExactly(created.getId());
+    }
+
+    @Test
+    void itShouldFindDepartedEvents_WhenEventsMoveOutOfFilter() {
+        //given
+        List<Event> saved = underTest.saveAll(buildEvents(3));
+        List<EventFilterCriteria> filter = List.of(new EventFilterCriteria(EventCriteriaField.PLANNER, "Planner 1"));
+        EventCriteria criteria = EventCriteria.of(null, filter, null);
+        EventDelta<EventView> initial = underTest.findChanges(criteria, EventChangeToken.initial(), 10);
+        Event departed = saved.get(0);
+        departed.setPlannerFullName("Planner 2");
+        underTest.update(departed);
+        Event arrived = saved.get(1);
+        arrived.setPlannerFullName("Planner 1");
+        underTest.update(arrived);
+        EventChangeToken token = EventChangeToken.fromToken(initial.getToken());
+
+        //when
+        EventDelta<EventView> result = underTest.findChanges(criteria, token, 10);
+
+        //then
+        assertThat(initial.getUpdated()).extracting(EventView::getId).containsExactly(departed.getId());
+        assertThat(result.getDeleted()).containsExactly(departed.getId());
+        assertThat(result.getUpdated()).extracting(EventView::getId).containsExactly(arrived.getId());
+        assertThat(underTest.findChanges(allEvents, token, 10).getDeleted()).isEmpty();
+        assertThat(underTest.findAllAfter(0L, Long.MAX_VALUE, 10)).extracting(EventChange::getType)
+                .containsExactly(EventChangeType.CREATED, EventChangeType.CREATED, EventChangeType.CREATED,
+                        EventChangeType.UPDATED, EventChangeType.UPDATED);
+    }
+
+    @Test
+    void itShouldFindChangesAfterId_WhenEventIsCreatedUpdatedAndDeleted() {
+        //given
+        Event saved = underTest.save(buildEvent(1));
+        saved.setDescription("Changed");
+        underTest.update(saved);
+        underTest.delete(saved.getId());
+
+        //when
+        List<EventChange> result = underTest.findAllAfter(0L, Long.MAX_VALUE, 10);
+
+        //then
+        assertThat(result).extracting(EventChange::getId, EventChange::getEventId, EventChange::getType).containsExactly(
+                tuple(1L, 1L, EventChangeType.CREATED),
+                tuple(2L, 1L, EventChangeType.UPDATED),
+                tuple(3L, 1L, EventChangeType.DELETED)
+        );
+        assertThat(underTest.findAllAfter(2L, Long.MAX_VALUE, 10)).extracting(EventChange::getType).containsExactly(EventChangeType.DELETED);
+    }
+
+    @Test
+    void itShouldFindChangesUpToSettledHorizon_WhenChangesAreAppended() {
+        //given
+        Event saved = underTest.save(buildEvent(1));
+        underTest.delete(saved.getId());
+
+        //when
+        EventChangeHorizon horizon = underTest.findHorizon();
+
+        //then
+        assertThat(underTest.isSettled(horizon)).isTrue();
+        assertThat(horizon.getLastChangeId()).isEqualTo(2L);
+        assertThat(underTest.findAllAfter(0L, 1L, 10)).extracting(EventChange::getType).containsExactly(EventChangeType.CREATED);
+        assertThat(underTest.findAllAfter(2L, 1L, 10)).isEmpty();
+    }
+
+    @Test
+    void itShouldDeleteTombstones_WhenTheyExpired() {
+        //given
+        Event saved = underTest.save(buildEvent(1));
+        EventDelta<EventView> initial = underTest.findChanges(allEvents, EventChangeToken.initial(), 10);
+        underTest.delete(saved.getId());
+
+        //when
+        int deleted = underTest.deleteTombstonesBefore(LocalDateTime.now().plusMinutes(1));
+
+        //then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(underTest.findChanges(allEvents, EventChangeToken.fromToken(initial.getToken()), 10).getDeleted()).isEmpty();
+    }
+
+    @Test
+    void itShouldRecoverEvents_WhenLogIsReopened() {
+        //given
+        List<Event> saved = underTest.saveAll(buildEvents(5));
+        Event changed = buildEvent(10);
+        changed.setId(saved.get(0).getId());
+        underTest.update(changed);
+        underTest.delete(saved.get(1).getId());
+        List<Event> expected = underTest.findAll();
+        underTest.close();
+
+        //when
+        underTest = open();
+        Event created = underTest.save(buildEvent(11));
+
+        //then
+        assertThat(underTest.findAll()).hasSize(5)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsAll(expected);
+        assertThat(created.getId()).isEqualTo(6L);
+    }
+
+    @Test
+    void itShouldTruncateTornRecord_WhenLogTailIsCorrupted() throws IOException {
+        //given
+        underTest.save(buildEvent(1));
+        underTest.close();
+        Path file = directory.resolve("events.log");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, EventLog.HEADER_SIZE);
+            long end = EventLog.HEADER_SIZE + EventLog.RECORD_HEADER_SIZE + length.flip().getInt();
+            channel.write(ByteBuffer.allocate(64).putInt(56).putInt(12345).put(new byte[]{1, 2, 3}).rewind(), end);
+        }
+
+        //when
+        underTest = open();
+        underTest.save(buildEvent(2));
+        underTest.close();
+        underTest = open();
+
+        //then
+        assertThat(underTest.findAll()).extracting(Event::getId, Event::getSubject).containsExactly(
+                tuple(1L, "Subject 1"),
+                tuple(2L, "Subject 2")
+        );
+    }
+
+    @Test
+    void itShouldKeepEventsAndChangeTokens_WhenLogIsCompacted() {
+        //given
+        List<Event> saved = underTest.saveAll(buildEvents(10));
+        EventDelta<EventView> initial = underTest.findChanges(allEvents, EventChangeToken.initial(), 100);
+        for (Event event : saved) {
+            for (int i = 0; i < 3; i++) {
+                event.setDescription("Revision " + i);
+                underTest.update(event);
+            }
+        }
+        underTest.deleteAll(List.of(saved.get(0).getId(), saved.get(1).getId()));
+        List<Event> expected = underTest.findAll();
+
+        //when
+        underTest.compact();
+        underTest.close();
+        underTest = open();
+        EventDelta<EventView> delta = underTest.findChanges(allEvents, EventChangeToken.fromToken(initial.getToken()), 100);
+
+        //then
+        assertThat(underTest.findAll()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expected);
+        assertThat(underTest.findAllAfter(0L, Long.MAX_VALUE, 100)).hasSize(10);
+        assertThat(delta.getUpdated()).hasSize(8);
+        assertThat(delta.getDeleted()).containsExactlyInAnyOrder(saved.get(0).getId(), saved.get(1).getId());
+        assertThat(underTest.save(buildEvent(20)).getId()).isEqualTo(11L);
+    }
+
+    private String readScript(String script) {
+        try (InputStream stream = getClass().getResourceAsStream(script)) {
+            return new String(Objects.requireNonNull(stream, script).readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private FileEventRepository open() {
+        return new FileEventRepository(directory.toString(), false, 1, 0.5);
+    }
+
+    private List<Event> buildEvents(int count) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            events.add(buildEvent(i));
+        }
+        return events;
+    }
+
+    private Event buildEvent(int number) {
+        return new Event(
+                null,
+                "Subject " + number,
+                "Description " + number,
+                "Planner " + number % 3,
+                LocalDate.of(2020, 1, 1).plusDays(number % 30),
+                LocalTime.of(9, 0).plusMinutes(number % 7 * 15),
+                "Venue " + number
+        );
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.modsen.eventstore.repository.impl;
+
+import com.modsen.eventstore.BaseTest;
+import com.modsen.eventstore.dto.criteria.FilterOperator;
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.repository.EventRepository;
+import com.modsen.eventstore.repository.EventRepositoryTest;
+import com.modsen.eventstore.repository.archive.EventArchive;
+import com.modsen.eventstore.repository.archive.EventSegment;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(scripts = "/scripts/delete_all_events.sql")
+class EventRepositoryImplTest extends BaseTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventArchive eventArchive;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    // The contract shared with the other engines runs against this one within the Spring context of the outer class.
+    @Nested
+    class ContractTest extends EventRepositoryTest<EventRepository> {
+
+        @BeforeEach
+        void setUp() {
+            underTest = eventRepository;
+        }
+
+        @Override
+        protected void insertEvents(String script) {
+            EventRepositoryImplTest.this.insertEvents(script);
+        }
+
+    }
+
+    @Test
+    void itShouldFindArchivedEvents_WhenCriteriaReachIntoArchive() {
+        //given
+        Event live = eventRepository.save(new Event(null, "Subject", null, "Full Name",
+                LocalDate.of(2222, 1, 1), LocalTime.of(0, 0), "Venue"));
+        Event archived = new Event(live.getId() + 1000, "Archived subject", null, "Full Name",
+                LocalDate.of(2000, 1, 1), LocalTime.of(10, 0), "Venue", null, 0L, null, null);
+        EventSegment segment = eventArchive.writeSegment(YearMonth.of(2000, 1), List.of(archived));
+        eventArchive.publish(List.of(segment));
+        List<EventSortingCriteria> sort = List.of(new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.ASC));
+        List<EventFilterCriteria> filter = List.of(new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.GTE, "01.01.2100"));
+
+        try {
+            //when
+            Optional<Event> byId = eventRepository.findById(archived.getId());
+            List<Event> all = eventRepository.findAll(EventCriteria.of(sort, null, new PaginationCriteria(1, 10)));
+            List<Event> filtered = eventRepository.findAll(EventCriteria.of(sort, filter, null));
+
+            //then
+            assertThat(byId).get()
+                    .extracting(Event::getSubject)
+                    .isEqualTo("Archived subject");
+            assertThat(all).extracting(Event::getId).containsExactly(archived.getId(), live.getId());
+            assertThat(filtered).extracting(Event::getId).containsExactly(live.getId());
+        } finally {
+            eventArchive.discard(List.of(segment));
+        }
+    }
+
+    @Test
+    void itShouldWriteOnlyPatchedColumnsWithOneStatement_WhenEntityIsPatched() {
+        //given
+        insertEvents("/scripts/insert_simple_event.sql");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("UPDATE events SET description = 'Written elsewhere' WHERE id = 1");
+        Event patch = Event.builder()
+                .id(1L)
+                .subject("Ignored subject")
+                .venue("New venue")
+                .build();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        try {
+            //when
+            eventRepository.patch(patch, Set.of("venue"));
+
+            //then
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            assertThat(jdbcTemplate.queryForList("SELECT subject, description, venue, version FROM events WHERE id = 1"))
+                    .containsExactly(Map.of("subject", "Subject", "description", "Written elsewhere", "venue", "New venue", "version", 1L));
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    private void insertEvents(String script) {
+        new ResourceDatabasePopulator(new ClassPathResource(script)).execute(dataSource);
+    }
+
+}
\ No newline at end of file
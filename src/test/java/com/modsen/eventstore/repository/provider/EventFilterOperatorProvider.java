@@ -0,0 +1,63 @@
+package com.modsen.eventstore.repository.provider;
+
+import com.modsen.eventstore.dto.criteria.FilterOperator;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class EventFilterOperatorProvider implements ArgumentsProvider {
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext extensionContext) {
+        return Stream.of(
+                Arguments.of(
+                        new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.GT, "01.01.2000"),
+                        List.of(3L)
+                ),
+                Arguments.of(
+                        new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.GTE, "01.01.2000"),
+                        List.of(1L, 2L, 3L, 4L)
+                ),
+                Arguments.of(
+                        new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.LT, "12.12.2012"),
+                        List.of(1L, 2L, 4L)
+                ),
+                Arguments.of(
+                        new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.LTE, "01.01.2000"),
+                        List.of(1L, 2L, 4L)
+                ),
+                Arguments.of(
+                        new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.BETWEEN, "01.01.2010;31.12.2012"),
+                        List.of(3L)
+                ),
+                Arguments.of(
+                        new EventFilterCriteria(EventCriteriaField.TIME, FilterOperator.GT, "00:00"),
+                        List.of(4L)
+                ),
+                Arguments.of(
+                        new EventFilterCriteria(EventCriteriaField.STARTS_AT, FilterOperator.GT, "01.01.2000 00:00"),
+                        List.of(3L, 4L)
+                ),
+                Arguments.of(
+                        new EventFilterCriteria(EventCriteriaField.STARTS_AT, FilterOperator.BETWEEN, "01.01.2000 00:30;12.12.2012 00:00"),
+                        List.of(3L, 4L)
+                ),
+                Arguments.of(
+                        new EventFilterCriteria(EventCriteriaField.PLANNER, FilterOperator.IN, "Expected;Unknown Name"),
+                        List.of(2L)
+                ),
+                Arguments.of(
+                        new EventFilterCriteria(EventCriteriaField.SUBJECT, FilterOperator.PREFIX, "Exp"),
+                        List.of(1L)
+                ),
+                Arguments.of(
+                        new EventFilterCriteria(EventCriteriaField.SUBJECT, FilterOperator.PREFIX, "Sub%"),
+                        List.of()
+                )
+        );
+    }
+}
\ No newline at end of file
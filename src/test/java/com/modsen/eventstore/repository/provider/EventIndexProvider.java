@@ -0,0 +1,55 @@
+package com.modsen.eventstore.repository.provider;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+
+import java.util.stream.Stream;
+
+public class EventIndexProvider implements ArgumentsProvider {
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext extensionContext) {
+        return Stream.of(
+                Arguments.of(
+                        "SELECT * FROM events WHERE date = '2000-01-01' ORDER BY time, id",
+                        "date_time_id"
+                ),
+                Arguments.of(
+                        "SELECT * FROM events ORDER BY date DESC, time DESC, id DESC LIMIT 10",
+                        "date_time_id"
+                ),
+                Arguments.of(
+                        "SELECT * FROM events WHERE planner_full_name = 'Full Name' AND date = '2000-01-01'",
+                        "planner_full_name_date"
+                ),
+                Arguments.of(
+                        "SELECT * FROM events WHERE subject = 'Subject' ORDER BY id",
+                        "subject_id"
+                ),
+                Arguments.of(
+                        "SELECT * FROM events WHERE time = '00:00:00'",
+                        "time_id"
+                ),
+                Arguments.of(
+                        "SELECT * FROM events WHERE date BETWEEN '2000-01-01' AND '2000-01-07' ORDER BY date, time, id",
+                        "date_time_id"
+                ),
+                Arguments.of(
+                        "SELECT * FROM events WHERE starts_at >= '2000-01-01 14:00' AND starts_at < '2000-01-08 00:00' ORDER BY starts_at, id",
+                        "starts_at_id"
+                ),
+                Arguments.of(
+                        "SELECT * FROM events WHERE subject LIKE 'Sub%'",
+                        "subject"
+                ),
+                Arguments.of(
+                        "SELECT * FROM events WHERE planner_full_name LIKE 'Full%'",
+                        "planner_full_name"
+                ),
+                Arguments.of(
+                        "SELECT * FROM events WHERE search_vector @@ websearch_to_tsquery('simple', 'Subject')",
+                        "search_vector"
+                )
+        );
+    }
+}
@@ -57,6 +57,14 @@ public class EventSortingProvider implements ArgumentsProvider {
                 Arguments.of(
                         new EventSortingCriteria(EventCriteriaField.TIME, SortingDirection.DESC),
                         new Event[]{event3, event2, event4, event1}
+                ),
+                Arguments.of(
+                        new EventSortingCriteria(EventCriteriaField.STARTS_AT, SortingDirection.ASC),
+                        new Event[]{event1, event3, event2, event4}
+                ),
+                Arguments.of(
+                        new EventSortingCriteria(EventCriteriaField.STARTS_AT, SortingDirection.DESC),
+                        new Event[]{event4, event2, event3, event1}
                 )
         );
     }
@@ -0,0 +1,165 @@
+package com.modsen.eventstore.service;
+
+import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.repository.EventArchiveRepository;
+import com.modsen.eventstore.repository.EventPartitionRepository;
+import com.modsen.eventstore.repository.archive.EventArchive;
+import com.modsen.eventstore.repository.archive.EventSegment;
+import com.modsen.eventstore.service.impl.EventArchiver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventArchiverTest {
+
+    @Mock
+    private EventArchiveRepository eventArchiveRepository;
+
+    @Mock
+    private EventPartitionRepository eventPartitionRepository;
+
+    @Mock
+    private EventArchive eventArchive;
+
+    @TempDir
+    Path directory;
+
+    private EventArchiver underTest;
+    private AutoCloseable autoCloseable;
+
+    private static final YearMonth month = YearMonth.of(2020, 1);
+    private static final LocalDate from = month.atDay(1);
+    private static final LocalDate to = month.plusMonths(1).atDay(1);
+
+
+    @BeforeEach
+    void setUp() {
+        autoCloseable = MockitoAnnotations.openMocks(this);
+        underTest = new EventArchiver(eventArchiveRepository, eventPartitionRepository, eventArchive);
+        ReflectionTestUtils.setField(underTest, "horizon", Duration.ofDays(365));
+        ReflectionTestUtils.setField(underTest, "segmentSize", 2);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        TransactionSynchronizationManager.clearSynchronization();
+        autoCloseable.close();
+    }
+
+    @Test
+    void canArchiveOldestMonthInSegmentsAndDropItsPartition() {
+        //given
+        Event first = buildEvent(1L, 1);
+        Event second = buildEvent(2L, 2);
+        Event third = buildEvent(3L, 3);
+        EventSegment segment = writeSegment(first);
+
+        when(eventPartitionRepository.tryLockMaintenance()).thenReturn(true);
+        when(eventArchiveRepository.findOldestDateBefore(any())).thenReturn(Optional.of(first.getDate()));
+        when(eventArchiveRepository.findAllByDateBetween(eq(from), eq(to), isNull(), eq(2))).thenReturn(List.of(first, second));
+        when(eventArchiveRepository.findAllByDateBetween(from, to, second, 2)).thenReturn(List.of(third));
+        when(eventArchive.writeSegment(eq(month), anyList())).thenReturn(segment);
+        when(eventPartitionRepository.findMonthlyPartitions()).thenReturn(List.of(month, month.plusMonths(1)));
+
+        //when
+        underTest.archivePastEvents();
+
+        //then
+        InOrder inOrder = inOrder(eventPartitionRepository, eventArchiveRepository);
+        inOrder.verify(eventPartitionRepository).lockMonthlyPartition(month);
+        inOrder.verify(eventArchiveRepository).findAllByDateBetween(from, to, null, 2);
+        inOrder.verify(eventPartitionRepository).dropMonthlyPartition(month);
+        inOrder.verify(eventArchiveRepository).deleteAllByDateBetween(from, to);
+        verify(eventArchive).writeSegment(month, List.of(first, second));
+        verify(eventArchive).writeSegment(month, List.of(third));
+        verify(eventArchiveRepository, times(2)).saveSegment(segment.getFile().getFileName().toString(), first.getDate(), first.getDate(), 1);
+    }
+
+    @Test
+    void canPublishSegmentsOnCommitAndDiscardThemOnRollback() {
+        //given
+        Event event = buildEvent(1L, 1);
+        EventSegment segment = writeSegment(event);
+
+        when(eventPartitionRepository.tryLockMaintenance()).thenReturn(true);
+        when(eventArchiveRepository.findOldestDateBefore(any())).thenReturn(Optional.of(event.getDate()));
+        when(eventArchiveRepository.findAllByDateBetween(eq(from), eq(to), isNull(), eq(2))).thenReturn(List.of(event));
+        when(eventArchive.writeSegment(eq(month), anyList())).thenReturn(segment);
+
+        //when
+        underTest.archivePastEvents();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        //then
+        verify(eventArchive).publish(List.of(segment));
+        verify(eventArchive).discard(List.of(segment));
+        verify(eventPartitionRepository, never()).dropMonthlyPartition(any());
+    }
+
+    @Test
+    void willSkipArchiving_WhenNoEventIsBeyondHorizon() {
+        //given
+        when(eventPartitionRepository.tryLockMaintenance()).thenReturn(true);
+        when(eventArchiveRepository.findOldestDateBefore(YearMonth.from(LocalDate.now().minusDays(365)).atDay(1)))
+                .thenReturn(Optional.empty());
+
+        //when
+        underTest.archivePastEvents();
+
+        //then
+        verify(eventArchive, never()).writeSegment(any(), anyList());
+        verify(eventArchiveRepository, never()).deleteAllByDateBetween(any(), any());
+    }
+
+    @Test
+    void willSkipArchiving_WhenLockIsHeldElsewhere() {
+        //given
+        when(eventPartitionRepository.tryLockMaintenance()).thenReturn(false);
+
+        //when
+        underTest.archivePastEvents();
+
+        //then
+        verify(eventArchiveRepository, never()).findOldestDateBefore(any());
+    }
+
+    private EventSegment writeSegment(Event event) {
+        return new EventArchive(eventArchiveRepository, directory.toString(), 100).writeSegment(month, List.of(event));
+    }
+
+    private Event buildEvent(Long id, int day) {
+        return new Event(id, "Subject", null, "Full Name", month.atDay(day), LocalTime.of(10, 0), "Venue");
+    }
+
+}
\ No newline at end of file
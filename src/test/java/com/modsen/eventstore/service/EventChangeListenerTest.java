@@ -0,0 +1,150 @@
+package com.modsen.eventstore.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.modsen.eventstore.BaseTest;
+import com.modsen.eventstore.dto.event.EventChangeType;
+import com.modsen.eventstore.model.Event;
+import com.modsen.eventstore.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(scripts = "/scripts/delete_all_events.sql")
+class EventChangeListenerTest extends BaseTest {
+
+    private static final String STREAM_URL = "http://localhost:8080/api/event/stream";
+    private static final String DATA_PREFIX = "data:";
+    private static final String INSERT_EVENT_SQL = "INSERT INTO events (id, subject, description, planner_full_name, date, time, venue) "
+            + "VALUES (nextval('events_id_pooled_seq'), 'Subject', null, 'Full Name', '2222-01-01', '00:00:00', 'Venue') RETURNING id";
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Stream<String> stream;
+
+    @AfterEach
+    void tearDown() {
+        if (Objects.nonNull(stream)) {
+            stream.close();
+        }
+    }
+
+    @Test
+    void itShouldStreamCreatedEvent_WhenEventIsSaved() throws Exception {
+        //given
+        BlockingQueue<JsonNode> changes = subscribe();
+
+        //when
+        Event saved = eventRepository.save(buildEvent());
+
+        //then
+        JsonNode change = nextCreated(changes, Set.of(saved.getId()), Duration.ofSeconds(10));
+        assertThat(change).isNotNull();
+        assertThat(change.get("id").asLong()).isPositive();
+    }
+
+    @Test
+    void itShouldStreamChangesInIdOrder_WhenEarlierChangeCommitsLater() throws Exception {
+        //given
+        BlockingQueue<JsonNode> changes = subscribe();
+        long earlierId;
+        Event saved;
+
+        try (Connection connection = DriverManager.getConnection(System.getProperty("TEST_DB_URL"),
+                System.getProperty("TEST_DB_USERNAME"), System.getProperty("TEST_DB_PASSWORD"))) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(INSERT_EVENT_SQL)) {
+                resultSet.next();
+                earlierId = resultSet.getLong(1);
+            }
+
+            //when
+            saved = eventRepository.save(buildEvent());
+
+            //then
+            assertThat(nextCreated(changes, Set.of(saved.getId()), Duration.ofSeconds(1))).isNull();
+            connection.commit();
+        }
+
+        JsonNode first = nextCreated(changes, Set.of(earlierId, saved.getId()), Duration.ofSeconds(10));
+        JsonNode second = nextCreated(changes, Set.of(earlierId, saved.getId()), Duration.ofSeconds(10));
+        assertThat(first.get("eventId").asLong()).isEqualTo(earlierId);
+        assertThat(second.get("eventId").asLong()).isEqualTo(saved.getId());
+        assertThat(first.get("id").asLong()).isLessThan(second.get("id").asLong());
+    }
+
+    // The response headers are only sent once the subscriber is registered, so no later change can be missed.
+    private BlockingQueue<JsonNode> subscribe() throws Exception {
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                .sendAsync(HttpRequest.newBuilder(URI.create(STREAM_URL)).build(), HttpResponse.BodyHandlers.ofLines())
+                .get(10, TimeUnit.SECONDS);
+        stream = response.body();
+
+        BlockingQueue<JsonNode> changes = new LinkedBlockingQueue<>();
+        CompletableFuture.runAsync(() -> stream
+                .filter(line -> line.startsWith(DATA_PREFIX))
+                .forEach(line -> changes.add(readTree(line.substring(DATA_PREFIX.length())))));
+        return changes;
+    }
+
+    private JsonNode nextCreated(BlockingQueue<JsonNode> changes, Set<Long> eventIds, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            JsonNode change = changes.poll(remaining, TimeUnit.NANOSECONDS);
+            if (Objects.nonNull(change) && EventChangeType.CREATED.name().equals(change.get("type").asText())
+                    && eventIds.contains(change.get("eventId").asLong())) {
+                return change;
+            }
+        }
+        return null;
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Event buildEvent() {
+        return Event.builder()
+                .subject("Subject")
+                .date(LocalDate.of(2222, 1, 1))
+                .time(LocalTime.of(0, 0, 0))
+                .plannerFullName("Full Name")
+                .venue("Venue")
+                .build();
+    }
+
+}
\ No newline at end of file
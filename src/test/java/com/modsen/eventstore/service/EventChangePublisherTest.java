@@ -0,0 +1,86 @@
+package com.modsen.eventstore.service;
+
+import com.modsen.eventstore.dto.event.EventChange;
+import com.modsen.eventstore.dto.event.EventChangeType;
+import com.modsen.eventstore.repository.EventChangeRepository;
+import com.modsen.eventstore.service.impl.EventChangePublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventChangePublisherTest {
+
+    @Mock
+    private EventChangeService eventChangeService;
+
+    @Mock
+    private EventChangeRepository eventChangeRepository;
+
+    private EventChangePublisher underTest;
+    private AutoCloseable autoCloseable;
+
+
+    @BeforeEach
+    void setUp() {
+        autoCloseable = MockitoAnnotations.openMocks(this);
+        underTest = new EventChangePublisher(eventChangeService, eventChangeRepository);
+        ReflectionTestUtils.setField(underTest, "replayLimit", 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        autoCloseable.close();
+    }
+
+    @Test
+    void itShouldSkipChangesMadeBeforeStartup_WhenPublishingForFirstTime() {
+        //when
+        underTest.publishUpTo(5L);
+
+        //then
+        verify(eventChangeService).publish(List.of(), 5L);
+        verify(eventChangeRepository, never()).findAllAfter(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void itShouldPublishChangesInPages_WhenMoreChangesThanReplayLimitAreSettled() {
+        //given
+        List<EventChange> firstPage = List.of(
+                new EventChange(6L, 1L, EventChangeType.CREATED),
+                new EventChange(7L, 2L, EventChangeType.UPDATED)
+        );
+        List<EventChange> secondPage = List.of(new EventChange(9L, 1L, EventChangeType.DELETED));
+        when(eventChangeRepository.findAllAfter(5L, 10L, 2)).thenReturn(firstPage);
+        when(eventChangeRepository.findAllAfter(7L, 10L, 2)).thenReturn(secondPage);
+        when(eventChangeRepository.findAllAfter(10L, 12L, 2)).thenReturn(List.of());
+        underTest.publishUpTo(5L);
+
+        //when
+        underTest.publishUpTo(10L);
+        underTest.publishUpTo(12L);
+
+        //then
+        InOrder inOrder = inOrder(eventChangeService);
+        inOrder.verify(eventChangeService).publish(List.of(), 5L);
+        inOrder.verify(eventChangeService).publish(firstPage, 10L);
+        inOrder.verify(eventChangeService).publish(secondPage, 10L);
+        inOrder.verify(eventChangeService).publish(List.of(), 12L);
+    }
+
+}
\ No newline at end of file
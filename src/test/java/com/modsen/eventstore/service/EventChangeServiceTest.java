@@ -0,0 +1,116 @@
+package com.modsen.eventstore.service;
+
+import com.modsen.eventstore.dto.event.EventChange;
+import com.modsen.eventstore.dto.event.EventChangeType;
+import com.modsen.eventstore.repository.EventChangeRepository;
+import com.modsen.eventstore.service.impl.EventChangeServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventChangeServiceTest {
+
+    @Mock
+    private EventChangeRepository eventChangeRepository;
+
+    private EventChangeServiceImpl underTest;
+    private AutoCloseable autoCloseable;
+
+    private static final int replayLimit = 10;
+
+
+    @BeforeEach
+    void setUp() {
+        autoCloseable = MockitoAnnotations.openMocks(this);
+        underTest = new EventChangeServiceImpl(eventChangeRepository, 1, Duration.ofMinutes(1), 16, replayLimit);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        underTest.shutdown();
+        autoCloseable.close();
+    }
+
+    @Test
+    void itShouldRegisterSubscriber_WhenSubscribing() {
+        //when
+        SseEmitter result = underTest.subscribe(null);
+
+        //then
+        assertThat(result).isNotNull();
+        assertThat(underTest.getSubscriberCount()).isEqualTo(1);
+        verify(eventChangeRepository, never()).findAllAfter(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void itShouldReplayMissedChanges_WhenLastEventIdIsSpecified() {
+        //given
+        List<EventChange> missed = List.of(
+                new EventChange(6L, 1L, EventChangeType.UPDATED),
+                new EventChange(7L, 2L, EventChangeType.DELETED)
+        );
+        underTest.publish(List.of(), 7L);
+        when(eventChangeRepository.findAllAfter(5L, 7L, replayLimit + 1)).thenReturn(missed);
+
+        //when
+        underTest.subscribe(5L);
+
+        //then
+        verify(eventChangeRepository).findAllAfter(5L, 7L, replayLimit + 1);
+        assertThat(underTest.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void itShouldReplayOnlyPublishedChanges_WhenLaterChangesAreNotSettled() {
+        //given
+        underTest.publish(List.of(new EventChange(3L, 1L, EventChangeType.CREATED)), 4L);
+
+        //when
+        underTest.subscribe(2L);
+
+        //then
+        verify(eventChangeRepository).findAllAfter(2L, 4L, replayLimit + 1);
+    }
+
+    @Test
+    void itShouldKeepSubscribers_WhenChangeIsPublished() {
+        //given
+        underTest.subscribe(null);
+        underTest.subscribe(null);
+
+        //when
+        underTest.publish(List.of(new EventChange(1L, 1L, EventChangeType.CREATED)), 1L);
+
+        //then
+        assertThat(underTest.getSubscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void itShouldRemoveSubscribers_WhenServiceIsShutDown() {
+        //given
+        underTest.subscribe(null);
+
+        //when
+        underTest.shutdown();
+
+        //then
+        assertThat(underTest.getSubscriberCount()).isZero();
+    }
+
+}
\ No newline at end of file
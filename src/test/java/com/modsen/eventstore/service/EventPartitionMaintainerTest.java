@@ -0,0 +1,124 @@
+package com.modsen.eventstore.service;
+
+import com.modsen.eventstore.repository.EventPartitionRepository;
+import com.modsen.eventstore.service.impl.EventPartitionMaintainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventPartitionMaintainerTest {
+
+    @Mock
+    private EventPartitionRepository eventPartitionRepository;
+
+    private EventPartitionMaintainer underTest;
+    private AutoCloseable autoCloseable;
+
+
+    @BeforeEach
+    void setUp() {
+        autoCloseable = MockitoAnnotations.openMocks(this);
+        underTest = new EventPartitionMaintainer(eventPartitionRepository);
+        ReflectionTestUtils.setField(underTest, "monthsAhead", 2);
+        ReflectionTestUtils.setField(underTest, "retentionMonths", 0);
+        ReflectionTestUtils.setField(underTest, "dropExpired", false);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        autoCloseable.close();
+    }
+
+    @Test
+    void canCreateMissingMonthlyPartitions() {
+        //given
+        YearMonth currentMonth = YearMonth.now();
+        when(eventPartitionRepository.tryLockMaintenance()).thenReturn(true);
+        when(eventPartitionRepository.findMonthlyPartitions()).thenReturn(List.of(currentMonth));
+
+        //when
+        underTest.maintainPartitions();
+
+        //then
+        verify(eventPartitionRepository, never()).createMonthlyPartition(currentMonth);
+        verify(eventPartitionRepository).createMonthlyPartition(currentMonth.plusMonths(1));
+        verify(eventPartitionRepository).createMonthlyPartition(currentMonth.plusMonths(2));
+        verify(eventPartitionRepository, never()).createMonthlyPartition(currentMonth.plusMonths(3));
+        verify(eventPartitionRepository, never()).detachMonthlyPartition(any());
+        verify(eventPartitionRepository, never()).dropMonthlyPartition(any());
+    }
+
+    @Test
+    void canDetachExpiredMonthlyPartitions() {
+        //given
+        YearMonth currentMonth = YearMonth.now();
+        ReflectionTestUtils.setField(underTest, "retentionMonths", 1);
+        when(eventPartitionRepository.tryLockMaintenance()).thenReturn(true);
+        when(eventPartitionRepository.findMonthlyPartitions()).thenReturn(List.of(
+                currentMonth.minusMonths(2),
+                currentMonth.minusMonths(1),
+                currentMonth,
+                currentMonth.plusMonths(1),
+                currentMonth.plusMonths(2)
+        ));
+
+        //when
+        underTest.maintainPartitions();
+
+        //then
+        verify(eventPartitionRepository).detachMonthlyPartition(currentMonth.minusMonths(2));
+        verify(eventPartitionRepository, never()).detachMonthlyPartition(currentMonth.minusMonths(1));
+        verify(eventPartitionRepository, never()).dropMonthlyPartition(any());
+        verify(eventPartitionRepository, never()).createMonthlyPartition(any());
+    }
+
+    @Test
+    void canDropExpiredMonthlyPartitionsWhenConfigured() {
+        //given
+        YearMonth currentMonth = YearMonth.now();
+        ReflectionTestUtils.setField(underTest, "retentionMonths", 1);
+        ReflectionTestUtils.setField(underTest, "dropExpired", true);
+        when(eventPartitionRepository.tryLockMaintenance()).thenReturn(true);
+        when(eventPartitionRepository.findMonthlyPartitions()).thenReturn(List.of(
+                currentMonth.minusMonths(3),
+                currentMonth,
+                currentMonth.plusMonths(1),
+                currentMonth.plusMonths(2)
+        ));
+
+        //when
+        underTest.maintainPartitions();
+
+        //then
+        verify(eventPartitionRepository).dropMonthlyPartition(currentMonth.minusMonths(3));
+        verify(eventPartitionRepository, never()).detachMonthlyPartition(any());
+    }
+
+    @Test
+    void willSkipMaintenanceWhenLockIsHeldElsewhere() {
+        //given
+        when(eventPartitionRepository.tryLockMaintenance()).thenReturn(false);
+
+        //when
+        underTest.maintainPartitions();
+
+        //then
+        verify(eventPartitionRepository, never()).findMonthlyPartitions();
+        verify(eventPartitionRepository, never()).createMonthlyPartition(any());
+    }
+
+}
\ No newline at end of file
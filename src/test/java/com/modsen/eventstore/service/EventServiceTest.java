@@ -1,12 +1,20 @@
 package com.modsen.eventstore.service;
 
+import com.modsen.eventstore.dto.batch.BatchError;
+import com.modsen.eventstore.dto.batch.BatchResult;
+import com.modsen.eventstore.dto.criteria.CountMode;
 import com.modsen.eventstore.dto.criteria.PaginationCriteria;
 import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventChangeToken;
 import com.modsen.eventstore.dto.criteria.event.EventCriteria;
 import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
 import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
 import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.dto.event.EventDelta;
 import com.modsen.eventstore.dto.event.EventResponse;
+import com.modsen.eventstore.dto.event.EventResponseField;
+import com.modsen.eventstore.dto.event.EventView;
+import com.modsen.eventstore.dto.page.PageResult;
 import com.modsen.eventstore.exception.NotExistEntityException;
 import com.modsen.eventstore.model.Event;
 import com.modsen.eventstore.repository.EventRepository;
@@ -18,15 +26,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -86,6 +100,27 @@ class EventServiceTest {
                 .hasMessageContaining("The entity being saved cannot be null.");
     }
 
+    @Test
+    void itShouldSaveOnlyValidEventsOfBatch_WhenSomeDatesAreBeforeToday() {
+        //given
+        LocalDate today = LocalDate.now();
+        Event valid = new Event(null, subject, description, plannerFullName, today, time, venue);
+        Event invalid = new Event(null, subject, description, plannerFullName, today.minusDays(1), time, venue);
+        Event saved = new Event(id, subject, description, plannerFullName, today, time, venue);
+
+        when(eventRepository.saveAll(List.of(valid))).thenReturn(List.of(saved));
+
+        //when
+        BatchResult<Event> result = underTest.createAll(List.of(invalid, valid));
+
+        //then
+        verify(eventRepository).saveAll(List.of(valid));
+        assertThat(result.getProcessed()).containsExactly(saved);
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getIndex()).isZero();
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("The date must be present or future.");
+    }
+
     @Test
     void itShouldThrowException_WhenReadingIdIsNull() {
         //when
@@ -151,6 +186,28 @@ class EventServiceTest {
                 .hasMessageContaining("The entity being updated cannot be null.");
     }
 
+    @Test
+    void itShouldUpdateOnlyExistingEventsOfBatch_WhenSomeEventsDoNotExist() {
+        //given
+        Event existing = createEvent(id);
+        Event missing = createEvent(2L);
+
+        Event current = createEvent(id);
+
+        when(eventRepository.findAllById(Set.of(id, 2L))).thenReturn(List.of(current));
+        when(eventRepository.updateAll(List.of(existing), List.of(current))).thenReturn(List.of(existing));
+
+        //when
+        BatchResult<Event> result = underTest.updateAll(List.of(existing, missing));
+
+        //then
+        verify(eventRepository).updateAll(List.of(existing), List.of(current));
+        verify(eventRepository, never()).findExistingIds(any());
+        assertThat(result.getProcessed()).containsExactly(existing);
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getIndex()).isEqualTo(1);
+    }
+
     @Test
     void itShouldDeleteEvent_WhenDataIsCorrect() {
         //when
@@ -170,6 +227,21 @@ class EventServiceTest {
                 .hasMessageContaining("The event entity being deleted can't have a null id.");
     }
 
+    @Test
+    void itShouldDeleteOnlyExistingEventsOfBatch_WhenSomeEventsDoNotExist() {
+        //given
+        when(eventRepository.findExistingIds(Set.of(id, 2L))).thenReturn(List.of(id));
+
+        //when
+        BatchResult<Long> result = underTest.deleteAll(List.of(2L, id));
+
+        //then
+        verify(eventRepository).deleteAll(List.of(id));
+        assertThat(result.getProcessed()).containsExactly(id);
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getIndex()).isZero();
+    }
+
     @Test
     void itShouldReadAllEvents_WhenTheyAreExisting() {
         //given
@@ -240,6 +312,228 @@ class EventServiceTest {
                 .containsExactly(event1, event2);
     }
 
+    @Test
+    void itShouldReadAllEventProjectionsByCriteria_WhenDataIsCorrect() {
+        //given
+        EventView event1 = EventView.builder().id(1L).subject("Subject1").build();
+        EventView event2 = EventView.builder().id(2L).subject("Subject2").build();
+        EventCriteria criteria = EventCriteria.builder()
+                .pagination(new PaginationCriteria(1, 2))
+                .build();
+
+        when(eventRepository.findAllProjections(criteria)).thenReturn(List.of(event1, event2));
+
+        //when
+        List<EventView> result = underTest.readAllProjections(criteria);
+
+        //then
+        verify(eventRepository).findAllProjections(criteria);
+        assertThat(result).containsExactly(event1, event2);
+    }
+
+    @Test
+    void itShouldThrowException_WhenTryReadEventProjectionsWithNullCriteria() {
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.readAllProjections(null));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The criteria for finding values can't be null");
+    }
+
+    @Test
+    void itShouldReadPageOfEventProjections_WhenDataIsCorrect() {
+        //given
+        EventView event = EventView.builder().id(1L).subject(subject).build();
+        EventCriteria criteria = EventCriteria.builder()
+                .pagination(new PaginationCriteria(1, 1))
+                .countMode(CountMode.EXACT)
+                .build();
+        PageResult<EventView> expected = new PageResult<>(List.of(event), 5L);
+
+        when(eventRepository.findProjectionPage(criteria)).thenReturn(expected);
+
+        //when
+        PageResult<EventView> result = underTest.readProjectionPage(criteria);
+
+        //then
+        verify(eventRepository).findProjectionPage(criteria);
+        assertThat(result.getContent()).containsExactly(event);
+        assertThat(result.getTotalCount()).isEqualTo(5L);
+    }
+
+    @Test
+    void itShouldThrowException_WhenTryReadPageOfEventProjectionsWithNullCriteria() {
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.readProjectionPage(null));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The criteria for finding values can't be null");
+    }
+
+    @Test
+    void itShouldDeleteEventsByCriteria_WhenCriteriaIsNotNull() {
+        //given
+        EventCriteria criteria = EventCriteria.of(null, List.of(new EventFilterCriteria(EventCriteriaField.SUBJECT, subject)), null);
+
+        when(eventRepository.deleteAllByCriteria(criteria)).thenReturn(2);
+
+        //when
+        int result = underTest.deleteAllByCriteria(criteria);
+
+        //then
+        verify(eventRepository).deleteAllByCriteria(criteria);
+        assertThat(result).isEqualTo(2);
+    }
+
+    @Test
+    void itShouldThrowException_WhenTryDeleteEventsWithNullCriteria() {
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.deleteAllByCriteria(null));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The criteria for deleting values can't be null.");
+    }
+
+    @Test
+    void itShouldPatchEvent_WhenDataIsCorrect() {
+        //given
+        Event event = Event.builder().id(id).subject(subject).build();
+        Set<String> fieldNames = Set.of("subject");
+
+        //when
+        underTest.patch(event, fieldNames);
+
+        //then
+        verify(eventRepository).patch(event, fieldNames);
+    }
+
+    @Test
+    void itShouldThrowException_WhenPatchedEventIsNull() {
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.patch(null, Set.of("subject")));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The entity being patched cannot be null.");
+    }
+
+    @Test
+    void itShouldReadProjectionWithRequestedFields_WhenEntityExists() {
+        //given
+        Set<EventResponseField> fields = Set.of(EventResponseField.SUBJECT);
+        EventView expected = EventView.builder().id(1L).subject(subject).build();
+
+        when(eventRepository.findProjectionById(1L, fields)).thenReturn(Optional.of(expected));
+
+        //when
+        EventView result = underTest.readProjection(1L, fields);
+
+        //then
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void itShouldThrowException_WhenReadProjectionDoesNotExist() {
+        //given
+        Set<EventResponseField> fields = Set.of(EventResponseField.SUBJECT);
+
+        when(eventRepository.findProjectionById(100L, fields)).thenReturn(Optional.empty());
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.readProjection(100L, fields));
+
+        //then
+        assertThat(thrown).isInstanceOf(NotExistEntityException.class)
+                .hasMessageContaining("Event entity with id = 100 does not exist in the data base.");
+    }
+
+    @Test
+    void itShouldReadProjectionsInRequestOrderAndReportMissingIds_WhenSomeIdsDoNotExist() {
+        //given
+        EventView event1 = EventView.builder().id(1L).subject(subject).build();
+        EventView event2 = EventView.builder().id(2L).subject(subject).build();
+        List<Long> ids = new ArrayList<>(List.of(2L, 100L, 1L));
+        ids.add(null);
+
+        when(eventRepository.findAllProjectionsById(Set.of(1L, 2L, 100L))).thenReturn(List.of(event1, event2));
+
+        //when
+        BatchResult<EventView> result = underTest.readAllProjectionsById(ids);
+
+        //then
+        assertThat(result.getProcessed()).containsExactly(event2, event1);
+        assertThat(result.getErrors()).extracting(BatchError::getIndex).containsExactly(1, 3);
+        assertThat(result.getErrors().get(0).getMessage())
+                .isEqualTo("Event entity with id = 100 does not exist in the data base.");
+    }
+
+    @Test
+    void itShouldThrowException_WhenTryReadProjectionsWithNullIds() {
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.readAllProjectionsById(null));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The ids to search for the event entities cannot be null.");
+    }
+
+    @Test
+    void itShouldReadChanges_WhenTokenIsNotExpired() {
+        //given
+        EventCriteria criteria = EventCriteria.builder().build();
+        EventChangeToken token = EventChangeToken.complete(10L, System.currentTimeMillis());
+        EventDelta<EventView> expected = new EventDelta<>(List.of(), List.of(1L), "token", false);
+        ReflectionTestUtils.setField(underTest, "tombstoneRetention", Duration.ofDays(1));
+
+        when(eventRepository.findChanges(criteria, token, 100)).thenReturn(expected);
+
+        //when
+        EventDelta<EventView> result = underTest.readChanges(criteria, token, 100);
+
+        //then
+        assertThat(result).isSameAs(expected);
+    }
+
+    @Test
+    void itShouldThrowException_WhenChangeTokenIsExpired() {
+        //given
+        EventChangeToken token = EventChangeToken.complete(10L, System.currentTimeMillis() - Duration.ofDays(2).toMillis());
+        ReflectionTestUtils.setField(underTest, "tombstoneRetention", Duration.ofDays(1));
+
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.readChanges(EventCriteria.builder().build(), token, 100));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The change token has expired, a full sync without a token is required.");
+    }
+
+    @Test
+    void itShouldExportEvents_WhenConsumerIsNotNull() {
+        //given
+        Consumer<Event> consumer = event -> {
+        };
+
+        //when
+        underTest.exportAll(consumer);
+
+        //then
+        verify(eventRepository).scrollAll(consumer);
+    }
+
+    @Test
+    void itShouldThrowException_WhenExportConsumerIsNull() {
+        //when
+        Throwable thrown = catchThrowable(() -> underTest.exportAll(null));
+
+        //then
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("The consumer of the exported events can't be null.");
+    }
+
     private Event createEvent(Long id) {
         return new Event(id, subject, description, plannerFullName, date, time, venue);
     }
@@ -0,0 +1,67 @@
+package com.modsen.eventstore.validator;
+
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import com.modsen.eventstore.validator.provider.EventCriteriaProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventCriteriaValidatorTest {
+
+    private final Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final EventCriteriaValidator underTest = new EventCriteriaValidator();
+
+    @ParameterizedTest
+    @ArgumentsSource(EventCriteriaProvider.class)
+    void itShouldFindSameViolationsAsBeanValidation(EventCriteria criteria) {
+        //given
+        Set<String> expected = beanValidator.validate(criteria).stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toSet());
+
+        //when
+        Optional<String> result = underTest.findViolations(criteria);
+
+        //then
+        assertThat(result.isPresent()).isEqualTo(!expected.isEmpty());
+        expected.forEach(message -> assertThat(result).get().asString().contains(message));
+    }
+
+    @Test
+    void itShouldFindAllViolations_WhenSeveralCriteriaAreInvalid() {
+        //given
+        EventCriteria criteria = EventCriteria.of(
+                List.of(new EventSortingCriteria(EventCriteriaField.DATE, null)), null, new PaginationCriteria(0, 0)
+        );
+
+        //when
+        Optional<String> result = underTest.findViolations(criteria);
+
+        //then
+        assertThat(result).get().asString()
+                .startsWith("The sorting field and the sorting direction cannot be null")
+                .endsWith("it must be combined either with a page number not less than 1 or with a cursor.");
+    }
+
+    @Test
+    void itShouldThrowException_WhenCriteriaIsNull() {
+        //then
+        assertThatThrownBy(() -> underTest.findViolations(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
\ No newline at end of file
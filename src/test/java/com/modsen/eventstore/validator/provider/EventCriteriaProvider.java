@@ -0,0 +1,75 @@
+package com.modsen.eventstore.validator.provider;
+
+import com.modsen.eventstore.dto.criteria.FilterOperator;
+import com.modsen.eventstore.dto.criteria.PaginationCriteria;
+import com.modsen.eventstore.dto.criteria.SortingDirection;
+import com.modsen.eventstore.dto.criteria.event.EventCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventCriteriaField;
+import com.modsen.eventstore.dto.criteria.event.EventFilterCriteria;
+import com.modsen.eventstore.dto.criteria.event.EventSortingCriteria;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class EventCriteriaProvider implements ArgumentsProvider {
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext extensionContext) {
+        return Stream.of(
+                Arguments.of(EventCriteria.of(null, null, null)),
+                Arguments.of(EventCriteria.of(
+                        List.of(new EventSortingCriteria(EventCriteriaField.DATE, SortingDirection.ASC)),
+                        List.of(
+                                new EventFilterCriteria(EventCriteriaField.SUBJECT, "Subject"),
+                                new EventFilterCriteria(EventCriteriaField.PLANNER, "Full Name"),
+                                new EventFilterCriteria(EventCriteriaField.DATE, "01.01.2222"),
+                                new EventFilterCriteria(EventCriteriaField.TIME, "10:00")
+                        ),
+                        new PaginationCriteria(1, 10)
+                )),
+                Arguments.of(EventCriteria.of(null, null, new PaginationCriteria(null, 10, "cursor"))),
+                Arguments.of(EventCriteria.of(
+                        List.of(new EventSortingCriteria(EventCriteriaField.DATE, null)), null, null
+                )),
+                Arguments.of(EventCriteria.of(
+                        null, List.of(new EventFilterCriteria(EventCriteriaField.SUBJECT, "Su")), null
+                )),
+                Arguments.of(EventCriteria.of(
+                        null, List.of(new EventFilterCriteria(EventCriteriaField.TIME, "10-00")), null
+                )),
+                Arguments.of(EventCriteria.of(
+                        null, List.of(new EventFilterCriteria(null, "Subject")), new PaginationCriteria(0, 10)
+                )),
+                Arguments.of(EventCriteria.of(null, null, new PaginationCriteria(1, 10, "cursor"))),
+                Arguments.of(EventCriteria.of(null, null, new PaginationCriteria(1, null))),
+                Arguments.of(EventCriteria.of(null, null, null, "concert")),
+                Arguments.of(EventCriteria.of(null, List.of(
+                        new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.BETWEEN, "01.01.2000;31.12.2000"),
+                        new EventFilterCriteria(EventCriteriaField.PLANNER, FilterOperator.IN, "Full Name;Other Name"),
+                        new EventFilterCriteria(EventCriteriaField.SUBJECT, FilterOperator.PREFIX, "S")
+                ), null)),
+                Arguments.of(EventCriteria.of(null, List.of(
+                        new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.BETWEEN, "01.01.2000")
+                ), null)),
+                Arguments.of(EventCriteria.of(null, List.of(
+                        new EventFilterCriteria(EventCriteriaField.DATE, FilterOperator.PREFIX, "01")
+                ), null)),
+                Arguments.of(EventCriteria.of(null, List.of(
+                        new EventFilterCriteria(EventCriteriaField.STARTS_AT, FilterOperator.GTE, "18.10.2026 14:00")
+                ), null)),
+                Arguments.of(EventCriteria.of(null, List.of(
+                        new EventFilterCriteria(EventCriteriaField.STARTS_AT, FilterOperator.GTE, "18.10.2026")
+                ), null)),
+                Arguments.of(EventCriteria.of(null, List.of(
+                        new EventFilterCriteria(EventCriteriaField.PLANNER, FilterOperator.IN, "Full Name;abc")
+                ), null)),
+                Arguments.of(EventCriteria.of(null, List.of(
+                        new EventFilterCriteria(EventCriteriaField.TIME, null, "10:00")
+                ), null)),
+                Arguments.of(EventCriteria.of(null, null, null, " ")),
+                Arguments.of(EventCriteria.of(null, null, null, "a".repeat(201)))
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+INSERT INTO events (id, subject, description, planner_full_name, date, time, venue)
+VALUES (1, 'Rock concert', 'Open air concert of local bands', 'Full Name', '2000-01-01', '00:00:00', 'City park');
+INSERT INTO events (id, subject, description, planner_full_name, date, time, venue)
+VALUES (2, 'Team meeting', 'Weekly planning meeting', 'Full Name', '2000-01-02', '00:00:00', 'Concert hall');
+INSERT INTO events (id, subject, description, planner_full_name, date, time, venue)
+VALUES (3, 'Workshop', 'Java workshop for beginners', 'Full Name', '2000-01-03', '00:00:00', 'Office');
\ No newline at end of file